@@ -3,10 +3,14 @@ package com.edu.addressservice.config;
 import java.util.Arrays;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
+import com.edu.addressservice.importer.AddressCsvImporter;
+import com.edu.addressservice.index.AddressSnapshotStore;
 import com.edu.addressservice.model.Address;
 import com.edu.addressservice.repository.AddressRepository;
+import com.edu.addressservice.service.AddressDataVersion;
 
 import jakarta.annotation.PostConstruct;
 
@@ -14,13 +18,32 @@ import jakarta.annotation.PostConstruct;
 public class DataSetup {
     @Autowired
     private AddressRepository addressRepository;
+    @Autowired
+    private AddressCsvImporter addressCsvImporter;
+    @Autowired
+    private AddressDataVersion addressDataVersion;
+    // Present only with addresses.snapshot.path
+    @Autowired(required = false)
+    private AddressSnapshotStore addressSnapshotStore;
+    // CSV dataset to bulk load instead of the sample addresses, see AddressCsvImporter
+    @Value("${addresses.import.location:}")
+    private String importLocation;
     @PostConstruct
     public void setupData() {
+        // lookups are served from the mapped snapshot, nothing to load
+        if (addressSnapshotStore != null && addressSnapshotStore.snapshot() != null) {
+            return;
+        }
+        if (!importLocation.isBlank()) {
+            addressCsvImporter.importCsv(importLocation);
+            return;
+        }
         addressRepository.saveAll(Arrays.asList(
                 Address.builder().id(1).postalCode("1000001").state("Tokyo").city("Chiyoda")
                         .build(),
                 Address.builder().id(2).postalCode("1100000").state("Tokyo").city("Taito").build(),
                 Address.builder().id(3).postalCode("2100001").state("Kanagawa").city("Kawasaki")
                         .build()));
+        addressDataVersion.markModified();
     }
 }
@@ -0,0 +1,67 @@
+package com.edu.addressservice.config;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+// -------------------------------------------------------------------------
+// Hibernate second-level and query cache (JCache on Caffeine)
+//
+// spring.jpa.properties.hibernate.cache.* turns the caches on; this class
+// provides the bounded regions they are stored in, one Caffeine cache per
+// addresses.entity-cache.regions entry (maximum size + TTL). A region used by
+// an entity or a query but not configured fails startup instead of being
+// created unbounded (missing_cache_strategy=fail).
+//
+// Writes made through JPA invalidate the entity region and, through the
+// update timestamps region, the cached queries on that table. The JDBC bulk
+// import bypasses Hibernate and evicts the regions itself.
+//
+// Each application context gets its own CacheManager, so test contexts
+// sharing a JVM do not share cached entities.
+// -------------------------------------------------------------------------
+@Configuration
+public class HibernateCacheConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(HibernateCacheConfig.class);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(EntityCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        properties.getRegions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+            if (!region.getTtl().isZero()) {
+                configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+            }
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+            log.info("Hibernate cache region created. region={}, maximumSize={}, ttl={}",
+                    name, region.getMaximumSize(), region.getTtl());
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
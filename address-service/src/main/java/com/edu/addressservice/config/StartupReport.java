@@ -0,0 +1,84 @@
+package com.edu.addressservice.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.edu.addressservice.importer.AddressCsvImporter;
+import com.edu.addressservice.index.AddressIndex;
+import com.edu.addressservice.index.AddressSnapshotStore;
+import com.edu.addressservice.repository.AddressRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+// -------------------------------------------------------------------------
+// Startup timing report
+//
+// Logged once the application is ready (after the address index and
+// snapshot, if any, have been loaded):
+//
+//   Startup report. ready=8412ms, addresses=1000000, import=6120ms (1000000 rows, 0 rejected), index=910ms
+//
+// and published as address.startup.duration{phase=ready|import|index|snapshot}, so
+// startup time with a given dataset is a tracked number. Spring Boot's own
+// application.ready.time does not include the index load.
+// -------------------------------------------------------------------------
+@Configuration
+public class StartupReport {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReport.class);
+
+    @Autowired
+    private AddressRepository addressRepository;
+    @Autowired
+    private AddressCsvImporter addressCsvImporter;
+    @Autowired(required = false)
+    private AddressIndex addressIndex;
+    @Autowired(required = false)
+    private AddressSnapshotStore addressSnapshotStore;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void report(ApplicationReadyEvent event) {
+        long readyMillis = event.getTimeTaken() == null ? 0 : event.getTimeTaken().toMillis();
+        register("ready", readyMillis);
+
+        StringBuilder report = new StringBuilder("Startup report. ready=").append(readyMillis).append("ms")
+                .append(", addresses=").append(addressRepository.count());
+
+        AddressCsvImporter.ImportResult imported = addressCsvImporter.lastResult();
+        if (imported != null) {
+            register("import", imported.durationMillis());
+            report.append(", import=").append(imported.durationMillis()).append("ms (")
+                    .append(imported.imported()).append(" rows, ")
+                    .append(imported.rejected()).append(" rejected)");
+        }
+        if (addressIndex != null && addressIndex.lastLoadMillis() >= 0) {
+            register("index", addressIndex.lastLoadMillis());
+            report.append(", index=").append(addressIndex.lastLoadMillis()).append("ms");
+        }
+        if (addressSnapshotStore != null && addressSnapshotStore.lastLoadMillis() >= 0) {
+            register("snapshot", addressSnapshotStore.lastLoadMillis());
+            report.append(", snapshot=").append(addressSnapshotStore.lastLoadMillis()).append("ms (")
+                    .append(addressSnapshotStore.snapshot().size()).append(" addresses)");
+        }
+        log.info(report.toString());
+    }
+
+    private void register(String phase, long millis) {
+        TimeGauge.builder("address.startup.duration", () -> millis, TimeUnit.MILLISECONDS)
+                .tag("phase", phase)
+                .description("Time spent in each startup phase")
+                .register(meterRegistry);
+    }
+}
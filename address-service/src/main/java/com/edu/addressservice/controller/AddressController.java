@@ -1,24 +1,156 @@
 package com.edu.addressservice.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.edu.addressservice.index.AddressLookup;
 import com.edu.addressservice.model.Address;
+import com.edu.addressservice.service.AddressDataVersion;
 import com.edu.addressservice.service.AddressService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("addresses")
 public class AddressController {
     @Autowired
     private AddressService addressService;
+    @Autowired
+    private AddressDataVersion addressDataVersion;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${addresses.batch.max-size:500}")
+    private int batchMaxSize;
+    @Value("${addresses.http-cache.max-age:60s}")
+    private Duration httpCacheMaxAge;
+    // A matching If-None-Match (or If-Modified-Since) is answered with a
+    // bodiless 304 by Spring before the address is serialized. Postal codes
+    // found in the snapshot or index are written straight from the lookup's
+    // columns (null return = response already written), no Address is built
     @GetMapping("/{postalCode}")
-    public Address getAddressByPostalCode(@PathVariable("postalCode") String postalCode) throws InterruptedException {
+    public ResponseEntity<Address> getAddressByPostalCode(@PathVariable("postalCode") String postalCode,
+                                                          ServletWebRequest request) throws InterruptedException, IOException {
         //Thread.sleep(30000);
-        return addressService.getAddressByPostalCode(postalCode);
+        AddressLookup lookup = addressService.lookup();
+        int row = lookup == null ? -1 : lookup.rowOf(postalCode);
+        if (row >= 0) {
+            writeAddress(lookup, row, postalCode, request);
+            return null;
+        }
+        Address address = addressService.getAddressByPostalCode(postalCode);
+        return ResponseEntity.ok()
+                .eTag(etag(address))
+                .lastModified(addressDataVersion.lastModified())
+                .cacheControl(CacheControl.maxAge(httpCacheMaxAge))
+                .body(address);
+    }
+    // Resolves many postal codes with a single IN query, unknown codes are omitted.
+    // Codes found in the snapshot or index are written from the columns, in
+    // request order, followed by those read from the database
+    @PostMapping("/batch")
+    public ResponseEntity<List<Address>> getAddressesByPostalCodes(@RequestBody List<String> postalCodes,
+                                                                   HttpServletResponse response) throws IOException {
+        if (postalCodes.size() > batchMaxSize) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Batch size " + postalCodes.size() + " exceeds the maximum of " + batchMaxSize);
+        }
+        AddressLookup lookup = addressService.lookup();
+        if (lookup == null) {
+            return ResponseEntity.ok(addressService.getAddressesByPostalCodes(postalCodes));
+        }
+
+        Set<String> distinct = new LinkedHashSet<>(postalCodes);
+        List<String> found = new ArrayList<>(distinct.size());
+        int[] rows = new int[distinct.size()];
+        List<String> missing = new ArrayList<>();
+        for (String postalCode : distinct) {
+            int row = lookup.rowOf(postalCode);
+            if (row >= 0) {
+                rows[found.size()] = row;
+                found.add(postalCode);
+            } else {
+                missing.add(postalCode);
+            }
+        }
+        List<Address> queried = missing.isEmpty() ? List.of() : addressService.getAddressesByPostalCodes(missing);
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            json.writeStartArray();
+            for (int i = 0; i < found.size(); i++) {
+                writeAddress(json, lookup.id(rows[i]), found.get(i), lookup.state(rows[i]), lookup.city(rows[i]));
+            }
+            for (Address address : queried) {
+                objectMapper.writeValue(json, address);
+            }
+            json.writeEndArray();
+        }
+        return null;
+    }
+    // Same headers and 304 handling as the ResponseEntity of the database path
+    private void writeAddress(AddressLookup lookup, int row, String postalCode, ServletWebRequest request) throws IOException {
+        int id = lookup.id(row);
+        String state = lookup.state(row);
+        String city = lookup.city(row);
+        HttpServletResponse response = request.getResponse();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(httpCacheMaxAge).getHeaderValue());
+        if (request.checkNotModified(etag(String.valueOf(id), postalCode, state, city),
+                addressDataVersion.lastModified().toEpochMilli())) {
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            writeAddress(json, id, postalCode, state, city);
+        }
+    }
+    // The fields of a serialized Address, in the same order
+    private static void writeAddress(JsonGenerator json, int id, String postalCode, String state, String city) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", id);
+        json.writeStringField("postalCode", postalCode);
+        json.writeStringField("state", state);
+        json.writeStringField("city", city);
+        json.writeEndObject();
+    }
+    static String etag(Address address) {
+        return etag(String.valueOf(address.getId()), address.getPostalCode(), address.getState(), address.getCity());
+    }
+    // Strong validator: 64-bit FNV-1a over every serialized field, so it
+    // changes with the JSON body and is the same on every instance
+    static String etag(String id, String postalCode, String state, String city) {
+        long hash = 0xcbf29ce484222325L;
+        String[] fields = {id, postalCode, state, city};
+        for (String field : fields) {
+            byte[] bytes = String.valueOf(field).getBytes(StandardCharsets.UTF_8);
+            for (byte b : bytes) {
+                hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+            }
+            // field separator, so ("ab", "c") and ("a", "bc") differ
+            hash = (hash ^ 0xff) * 0x100000001b3L;
+        }
+        return '"' + Long.toHexString(hash) + '"';
     }
 }
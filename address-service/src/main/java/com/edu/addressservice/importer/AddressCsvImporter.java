@@ -0,0 +1,251 @@
+package com.edu.addressservice.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import com.edu.addressservice.model.Address;
+import com.edu.addressservice.service.AddressDataVersion;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+
+// -------------------------------------------------------------------------
+// Bulk address import from CSV
+//
+// addresses.import.location=file:/data/postal-codes.csv.gz
+//
+// The file is streamed line by line (gzip when the name ends with .gz) and
+// inserted with JDBC batches of addresses.import.batch-size rows, committed
+// batch by batch: no entity, no persistence context, no per-row round trip.
+// The Hibernate address and query cache regions are evicted afterwards
+// and the Last-Modified of address responses moves to the import time.
+//
+// The first line is a header naming the columns, in any order:
+//
+//   postal_code,state,city
+//
+// Fields may be quoted ("Kita-ku, Sapporo"). Lines with a missing postal
+// code or the wrong number of fields are skipped and counted as rejected.
+//
+// Metrics:
+//   address.import.rows{result=imported|rejected}
+//   address.import.batch      (time per JDBC batch)
+//   address.import.duration   (whole import)
+// -------------------------------------------------------------------------
+@Component
+public class AddressCsvImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(AddressCsvImporter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO addresses (postal_code, state, city) VALUES (?, ?, ?)";
+
+    public record ImportResult(String location, long imported, long rejected, long batches, long durationNanos) {
+        public long durationMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ResourceLoader resourceLoader;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private AddressDataVersion addressDataVersion;
+    @Value("${addresses.import.batch-size:1000}")
+    private int batchSize;
+    @Value("${addresses.import.progress-interval:100000}")
+    private long progressInterval;
+
+    private volatile ImportResult lastResult;
+
+    public ImportResult importCsv(String location) {
+        Resource resource = resourceLoader.getResource(location);
+        log.info("Address import started. location={}, batchSize={}", location, batchSize);
+
+        Counter importedRows = meterRegistry.counter("address.import.rows", "result", "imported");
+        Counter rejectedRows = meterRegistry.counter("address.import.rows", "result", "rejected");
+        Timer batchTimer = meterRegistry.timer("address.import.batch");
+
+        long start = System.nanoTime();
+        long imported = 0;
+        long rejected = 0;
+        long batches = 0;
+        long lineNumber = 1;
+
+        try (BufferedReader reader = open(resource);
+             Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                int[] columns = columns(reader.readLine(), location);
+                int pending = 0;
+
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    List<String> fields = split(line);
+                    String postalCode = fields.size() == 3 ? fields.get(columns[0]).trim() : "";
+                    if (postalCode.isEmpty()) {
+                        rejected++;
+                        rejectedRows.increment();
+                        log.debug("Rejected address line. line={}, content={}", lineNumber, line);
+                        continue;
+                    }
+
+                    insert.setString(1, postalCode);
+                    insert.setString(2, fields.get(columns[1]).trim());
+                    insert.setString(3, fields.get(columns[2]).trim());
+                    insert.addBatch();
+
+                    if (++pending == batchSize) {
+                        executeBatch(connection, insert, batchTimer);
+                        imported += pending;
+                        importedRows.increment(pending);
+                        batches++;
+                        pending = 0;
+                        if (imported % progressInterval < batchSize) {
+                            logProgress(imported, rejected, start);
+                        }
+                    }
+                }
+                if (pending > 0) {
+                    executeBatch(connection, insert, batchTimer);
+                    imported += pending;
+                    importedRows.increment(pending);
+                    batches++;
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (IOException | SQLException e) {
+            throw new IllegalStateException("Address import failed at line " + lineNumber + " of " + location, e);
+        }
+
+        // the rows were inserted behind Hibernate's back: drop what it has cached
+        entityManagerFactory.getCache().evict(Address.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        addressDataVersion.markModified();
+
+        long durationNanos = System.nanoTime() - start;
+        meterRegistry.timer("address.import.duration").record(durationNanos, TimeUnit.NANOSECONDS);
+
+        ImportResult result = new ImportResult(location, imported, rejected, batches, durationNanos);
+        lastResult = result;
+        log.info("Address import finished. imported={}, rejected={}, batches={}, took={}ms, rate={}/s",
+                imported, rejected, batches, result.durationMillis(), rate(imported, durationNanos));
+        return result;
+    }
+
+    // Null when nothing has been imported since startup
+    public ImportResult lastResult() {
+        return lastResult;
+    }
+
+    private void executeBatch(Connection connection, PreparedStatement insert, Timer batchTimer) throws SQLException {
+        long start = System.nanoTime();
+        insert.executeBatch();
+        connection.commit();
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void logProgress(long imported, long rejected, long start) {
+        log.info("Address import progress. imported={}, rejected={}, rate={}/s",
+                imported, rejected, rate(imported, System.nanoTime() - start));
+    }
+
+    private static long rate(long rows, long nanos) {
+        return nanos == 0 ? 0 : rows * TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    private static BufferedReader open(Resource resource) throws IOException {
+        InputStream in = resource.getInputStream();
+        String name = resource.getFilename();
+        if (name != null && name.endsWith(".gz")) {
+            in = new GZIPInputStream(in, 64 * 1024);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    // Positions of postal_code, state and city in the header
+    private static int[] columns(String header, String location) {
+        if (header == null) {
+            throw new IllegalStateException("Address file is empty: " + location);
+        }
+        int[] columns = {-1, -1, -1};
+        List<String> names = split(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            switch (names.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "")) {
+                case "postalcode" -> columns[0] = i;
+                case "state" -> columns[1] = i;
+                case "city" -> columns[2] = i;
+                default -> {
+                }
+            }
+        }
+        if (names.size() != 3 || columns[0] < 0 || columns[1] < 0 || columns[2] < 0) {
+            throw new IllegalStateException(
+                    "Address file header must be postal_code,state,city (any order): " + header);
+        }
+        return columns;
+    }
+
+    // Comma separated fields, double quotes around a field and "" inside quotes
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
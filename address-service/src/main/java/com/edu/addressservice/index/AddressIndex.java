@@ -0,0 +1,109 @@
+package com.edu.addressservice.index;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.edu.addressservice.repository.AddressRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// -------------------------------------------------------------------------
+// In-memory address index (opt-in)
+//
+// addresses.index.enabled=true
+//
+// Loads every address into an AddressTable once the application is ready
+// and answers postal code lookups from it, without a query or a managed
+// entity per request. JPA stays the source of truth:
+//
+//   - reload() rebuilds the table from the database and swaps it in, the
+//     previous table keeps serving lookups until the new one is complete
+//   - addresses.index.reload-interval > 0 reloads on a fixed delay
+//   - lookups missing from the table still fall back to the repository
+//     (see AddressServiceImpl), so rows added since the last reload are found
+//
+// Rows are read in pages of addresses.index.page-size, in id order.
+// -------------------------------------------------------------------------
+@Component
+@ConditionalOnProperty(name = "addresses.index.enabled", havingValue = "true")
+public class AddressIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AddressIndex.class);
+
+    @Autowired
+    private AddressRepository addressRepository;
+    @Value("${addresses.index.page-size:10000}")
+    private int pageSize;
+    @Value("${addresses.index.reload-interval:0s}")
+    private Duration reloadInterval;
+
+    private volatile AddressTable table;
+    private volatile long lastLoadMillis = -1;
+    private ScheduledExecutorService reloader;
+
+    // before the other ready listeners, so the startup report includes the load
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void loadOnStartup() {
+        reload();
+        if (!reloadInterval.isZero()) {
+            reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "address-index-reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reloader.scheduleWithFixedDelay(this::reloadQuietly,
+                    reloadInterval.toMillis(), reloadInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void reload() {
+        long start = System.nanoTime();
+        AddressTable.Builder builder = AddressTable.builder();
+
+        addressRepository.forEachInIdOrder(pageSize, builder::add);
+
+        AddressTable loaded = builder.build();
+        table = loaded;
+        lastLoadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Address index loaded. addresses={}, dictionary={}, arrayBytes={}, took={}ms",
+                loaded.size(), loaded.dictionarySize(), loaded.arrayBytes(), lastLoadMillis);
+    }
+
+    // Null until the first load has completed
+    public AddressTable table() {
+        return table;
+    }
+
+    // Duration of the last completed load, -1 before the first one
+    public long lastLoadMillis() {
+        return lastLoadMillis;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Address index reload failed, keeping the previous table. reason={}", e.toString());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.edu.addressservice.index;
+
+import com.edu.addressservice.model.Address;
+
+// Read-only postal code lookup served without a database query
+//
+// A hit is a primitive row handle whose columns are read one by one, so
+// serving an address from a lookup builds no Address (see AddressController)
+public interface AddressLookup {
+    // The row of that postal code, or -1 when it is unknown
+    int rowOf(String postalCode);
+
+    int id(int row);
+
+    String state(int row);
+
+    String city(int row);
+
+    // Detached Address copy of that postal code, or null when it is unknown;
+    // for callers that need the entity, responses are written from the row
+    default Address find(String postalCode) {
+        int row = rowOf(postalCode);
+        if (row < 0) {
+            return null;
+        }
+        return Address.builder()
+                .id(id(row))
+                .postalCode(postalCode)
+                .state(state(row))
+                .city(city(row))
+                .build();
+    }
+}
@@ -0,0 +1,306 @@
+package com.edu.addressservice.index;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+import com.edu.addressservice.model.Address;
+
+// -------------------------------------------------------------------------
+// Memory-mapped binary address snapshot
+//
+// Written once from the database, then mapped read-only: lookups read the
+// mapped file directly (binary search), so opening a snapshot costs the
+// same whatever the number of addresses, and several instances on a host
+// share the OS page cache instead of each holding a heap copy. Only the
+// state/city dictionary is decoded on the heap.
+//
+// Layout (big-endian):
+//
+//   header      int magic "ADRS", int version,
+//               int numericCount, int otherCount, int dictionaryCount, int 0,
+//               long numericOffset, long otherOffset, long dictionaryOffset
+//   numeric     numericCount x (long key, int id, int stateId, int cityId)
+//               sorted by key, key = AddressTable.encode(postalCode)
+//   other       otherCount x (int keyOffset, int keyLength, int id, int stateId, int cityId)
+//               sorted by UTF-8 bytes of the postal code, then the key bytes
+//   dictionary  dictionaryCount x (int offset, int length), then the UTF-8
+//               bytes; length -1 = null
+//
+// A postal code present twice keeps its first row. A single mapping is
+// limited to 2 GB, i.e. roughly 100M numeric postal codes.
+// -------------------------------------------------------------------------
+public final class AddressSnapshot implements AddressLookup {
+
+    private static final int MAGIC = 0x41445253;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 48;
+    private static final int NUMERIC_ROW_BYTES = 20;
+    private static final int OTHER_ROW_BYTES = 20;
+
+    private final ByteBuffer buffer;
+    private final int numericCount;
+    private final int otherCount;
+    private final int numericOffset;
+    private final int otherOffset;
+    private final String[] dictionary;
+
+    private AddressSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not an address snapshot (version " + VERSION + ")");
+        }
+        this.numericCount = buffer.getInt(8);
+        this.otherCount = buffer.getInt(12);
+        int dictionaryCount = buffer.getInt(16);
+        this.numericOffset = Math.toIntExact(buffer.getLong(24));
+        this.otherOffset = Math.toIntExact(buffer.getLong(32));
+        int dictionaryOffset = Math.toIntExact(buffer.getLong(40));
+
+        this.dictionary = new String[dictionaryCount];
+        int bytesOffset = dictionaryOffset + dictionaryCount * 8;
+        for (int i = 0; i < dictionaryCount; i++) {
+            int offset = buffer.getInt(dictionaryOffset + i * 8);
+            int length = buffer.getInt(dictionaryOffset + i * 8 + 4);
+            dictionary[i] = length < 0 ? null : string(bytesOffset + offset, length);
+        }
+    }
+
+    public static AddressSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new AddressSnapshot(mapped);
+        }
+    }
+
+    // The row is the offset of the (id, stateId, cityId) columns in the file
+    @Override
+    public int rowOf(String postalCode) {
+        if (postalCode == null) {
+            return -1;
+        }
+        long key = AddressTable.encode(postalCode);
+        return key == AddressTable.NOT_ENCODABLE ? findOther(postalCode) : findNumeric(key);
+    }
+
+    @Override
+    public int id(int row) {
+        return buffer.getInt(row);
+    }
+
+    @Override
+    public String state(int row) {
+        return dictionary[buffer.getInt(row + 4)];
+    }
+
+    @Override
+    public String city(int row) {
+        return dictionary[buffer.getInt(row + 8)];
+    }
+
+    public int size() {
+        return numericCount + otherCount;
+    }
+
+    public int dictionarySize() {
+        return dictionary.length;
+    }
+
+    public long fileBytes() {
+        return buffer.capacity();
+    }
+
+    // Offset of the id of that key's row, -1 when absent
+    private int findNumeric(long key) {
+        int low = 0;
+        int high = numericCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int row = numericOffset + mid * NUMERIC_ROW_BYTES;
+            long candidate = buffer.getLong(row);
+            if (candidate < key) {
+                low = mid + 1;
+            } else if (candidate > key) {
+                high = mid - 1;
+            } else {
+                return row + 8;
+            }
+        }
+        return -1;
+    }
+
+    private int findOther(String postalCode) {
+        byte[] key = postalCode.getBytes(StandardCharsets.UTF_8);
+        int keysOffset = otherOffset + otherCount * OTHER_ROW_BYTES;
+        int low = 0;
+        int high = otherCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int row = otherOffset + mid * OTHER_ROW_BYTES;
+            int cmp = compare(keysOffset + buffer.getInt(row), buffer.getInt(row + 4), key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return row + 8;
+            }
+        }
+        return -1;
+    }
+
+    private int compare(int offset, int length, byte[] key) {
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(offset + i), key[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private String string(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static Writer writer() {
+        return new Writer();
+    }
+
+    // Collects the rows (packed, not the entities), then writes the file
+    public static final class Writer {
+        private final List<NumericRow> numeric = new ArrayList<>();
+        private final List<OtherRow> other = new ArrayList<>();
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> dictionaryValues = new ArrayList<>();
+
+        private Writer() {
+        }
+
+        public Writer add(Address address) {
+            if (address.getPostalCode() == null) {
+                return this;
+            }
+            int id = address.getId() == null ? 0 : address.getId();
+            int stateId = intern(address.getState());
+            int cityId = intern(address.getCity());
+            long key = AddressTable.encode(address.getPostalCode());
+            if (key == AddressTable.NOT_ENCODABLE) {
+                other.add(new OtherRow(address.getPostalCode().getBytes(StandardCharsets.UTF_8), id, stateId, cityId));
+            } else {
+                numeric.add(new NumericRow(key, id, stateId, cityId));
+            }
+            return this;
+        }
+
+        // Written to a temporary file moved over `path` once complete, so a
+        // reader never maps a partial snapshot
+        public void write(Path path) throws IOException {
+            // stable sorts: the first row of a duplicated postal code stays first
+            numeric.sort(Comparator.comparingLong(NumericRow::key));
+            other.sort((a, b) -> Arrays.compareUnsigned(a.key(), b.key()));
+            List<NumericRow> numericRows = distinct(numeric, (a, b) -> a.key() == b.key());
+            List<OtherRow> otherRows = distinct(other, (a, b) -> Arrays.equals(a.key(), b.key()));
+
+            long numericOffset = HEADER_BYTES;
+            long otherOffset = numericOffset + (long) numericRows.size() * NUMERIC_ROW_BYTES;
+            long otherKeyBytes = otherRows.stream().mapToLong(row -> row.key().length).sum();
+            long dictionaryOffset = otherOffset + (long) otherRows.size() * OTHER_ROW_BYTES + otherKeyBytes;
+
+            Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(numericRows.size());
+                out.writeInt(otherRows.size());
+                out.writeInt(dictionaryValues.size());
+                out.writeInt(0);
+                out.writeLong(numericOffset);
+                out.writeLong(otherOffset);
+                out.writeLong(dictionaryOffset);
+
+                for (NumericRow row : numericRows) {
+                    out.writeLong(row.key());
+                    out.writeInt(row.id());
+                    out.writeInt(row.stateId());
+                    out.writeInt(row.cityId());
+                }
+
+                int keyOffset = 0;
+                for (OtherRow row : otherRows) {
+                    out.writeInt(keyOffset);
+                    out.writeInt(row.key().length);
+                    out.writeInt(row.id());
+                    out.writeInt(row.stateId());
+                    out.writeInt(row.cityId());
+                    keyOffset += row.key().length;
+                }
+                for (OtherRow row : otherRows) {
+                    out.write(row.key());
+                }
+
+                List<byte[]> values = new ArrayList<>(dictionaryValues.size());
+                int valueOffset = 0;
+                for (String value : dictionaryValues) {
+                    byte[] bytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+                    values.add(bytes);
+                    out.writeInt(valueOffset);
+                    out.writeInt(bytes == null ? -1 : bytes.length);
+                    valueOffset += bytes == null ? 0 : bytes.length;
+                }
+                for (byte[] bytes : values) {
+                    if (bytes != null) {
+                        out.write(bytes);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private int intern(String value) {
+            return dictionary.computeIfAbsent(value, ignored -> {
+                dictionaryValues.add(value);
+                return dictionaryValues.size() - 1;
+            });
+        }
+
+        private static <T> List<T> distinct(List<T> sorted, BiPredicate<T, T> sameKey) {
+            List<T> distinct = new ArrayList<>(sorted.size());
+            for (T row : sorted) {
+                if (distinct.isEmpty() || !sameKey.test(distinct.get(distinct.size() - 1), row)) {
+                    distinct.add(row);
+                }
+            }
+            return distinct;
+        }
+    }
+
+    private record NumericRow(long key, int id, int stateId, int cityId) {
+    }
+
+    private record OtherRow(byte[] key, int id, int stateId, int cityId) {
+    }
+}
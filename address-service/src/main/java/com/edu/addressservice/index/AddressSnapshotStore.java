@@ -0,0 +1,106 @@
+package com.edu.addressservice.index;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.edu.addressservice.repository.AddressRepository;
+
+import jakarta.annotation.PostConstruct;
+
+// -------------------------------------------------------------------------
+// Address snapshot file (opt-in)
+//
+// addresses.snapshot.path=/data/addresses.snapshot
+//
+//   - file exists  → mapped during startup, before the database is filled:
+//                    DataSetup then skips the import / sample rows and
+//                    lookups are served from the snapshot
+//   - file missing → the database is filled as usual, and once the
+//                    application is ready the snapshot is written from it
+//                    and mapped, so the next start is near-instant
+//
+// write() rewrites the file from the database after the data has changed.
+// Lookups missing from the snapshot still fall back to the repository.
+// -------------------------------------------------------------------------
+@Component
+@ConditionalOnProperty(name = "addresses.snapshot.path")
+public class AddressSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(AddressSnapshotStore.class);
+
+    @Autowired
+    private AddressRepository addressRepository;
+    @Value("${addresses.snapshot.path}")
+    private Path path;
+    @Value("${addresses.index.page-size:10000}")
+    private int pageSize;
+
+    private volatile AddressSnapshot snapshot;
+    private volatile long lastLoadMillis = -1;
+
+    @PostConstruct
+    public void openExisting() {
+        if (Files.exists(path)) {
+            open();
+        }
+    }
+
+    // after the address index, and only when nothing was mapped at startup
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void writeOnStartup() {
+        if (snapshot == null) {
+            write();
+        }
+    }
+
+    public synchronized void write() {
+        long start = System.nanoTime();
+        AddressSnapshot.Writer writer = AddressSnapshot.writer();
+        addressRepository.forEachInIdOrder(pageSize, writer::add);
+        try {
+            writer.write(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write address snapshot " + path, e);
+        }
+        log.info("Address snapshot written. path={}, took={}ms",
+                path, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        open();
+        lastLoadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    // Null until a snapshot has been mapped
+    public AddressSnapshot snapshot() {
+        return snapshot;
+    }
+
+    // Duration of the last open (or write + open), -1 before the first one
+    public long lastLoadMillis() {
+        return lastLoadMillis;
+    }
+
+    private void open() {
+        long start = System.nanoTime();
+        try {
+            snapshot = AddressSnapshot.open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map address snapshot " + path, e);
+        }
+        lastLoadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Address snapshot mapped. path={}, addresses={}, dictionary={}, bytes={}, took={}ms",
+                path, snapshot.size(), snapshot.dictionarySize(), snapshot.fileBytes(), lastLoadMillis);
+    }
+}
@@ -0,0 +1,215 @@
+package com.edu.addressservice.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.edu.addressservice.model.Address;
+
+// -------------------------------------------------------------------------
+// Read-only, array-backed address table
+//
+// Rows are stored column by column in primitive arrays:
+//
+//   ids[row]       address id
+//   stateIds[row]  index into `dictionary` (state names are interned)
+//   cityIds[row]   index into `dictionary` (city names are interned)
+//
+// Lookup is an open-addressing hash table (linear probing, load factor
+// <= 0.5) from the encoded postal code to the row:
+//
+//   keys[slot]  postal code as a primitive long, 0 = empty slot
+//   rows[slot]  row of that postal code
+//
+// Numeric postal codes of up to 18 digits are encoded as "1" followed by
+// the digits ("0123" → 10123), so leading zeros are kept and 0 is never a
+// valid key. Other postal codes go to a plain map, they are expected to be
+// rare. A table is immutable once built; reloading builds a new one.
+// -------------------------------------------------------------------------
+public final class AddressTable implements AddressLookup {
+
+    public static final AddressTable EMPTY = new Builder().build();
+
+    static final long NOT_ENCODABLE = 0L;
+    private static final int MAX_DIGITS = 18;
+
+    private final long[] keys;
+    private final int[] rows;
+    private final int mask;
+    private final Map<String, Integer> otherRows;
+
+    private final int[] ids;
+    private final int[] stateIds;
+    private final int[] cityIds;
+    private final String[] dictionary;
+    private final int size;
+
+    private AddressTable(Builder builder) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.stateIds = Arrays.copyOf(builder.stateIds, size);
+        this.cityIds = Arrays.copyOf(builder.cityIds, size);
+        this.dictionary = new String[builder.dictionary.size()];
+        for (Map.Entry<String, Integer> entry : builder.dictionary.entrySet()) {
+            dictionary[entry.getValue()] = entry.getKey();
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(builder.numericKeys, 1) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.rows = new int[capacity];
+        this.mask = capacity - 1;
+        this.otherRows = new HashMap<>();
+
+        for (int row = 0; row < size; row++) {
+            long key = builder.encodedKeys[row];
+            if (key == NOT_ENCODABLE) {
+                otherRows.putIfAbsent(builder.otherKeys.get(row), row);
+                continue;
+            }
+            int slot = slot(key);
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            // duplicated postal code: the first row added wins
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                rows[slot] = row;
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean contains(String postalCode) {
+        return rowOf(postalCode) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int dictionarySize() {
+        return dictionary.length;
+    }
+
+    // Approximate heap footprint of the arrays (dictionary strings excluded)
+    public long arrayBytes() {
+        return (long) keys.length * Long.BYTES
+                + (long) rows.length * Integer.BYTES
+                + (long) size * Integer.BYTES * 3
+                + (long) dictionary.length * 8;
+    }
+
+    @Override
+    public int rowOf(String postalCode) {
+        if (postalCode == null) {
+            return -1;
+        }
+        long key = encode(postalCode);
+        if (key == NOT_ENCODABLE) {
+            Integer row = otherRows.get(postalCode);
+            return row == null ? -1 : row;
+        }
+        int slot = slot(key);
+        long candidate;
+        while ((candidate = keys[slot]) != 0) {
+            if (candidate == key) {
+                return rows[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public int id(int row) {
+        return ids[row];
+    }
+
+    @Override
+    public String state(int row) {
+        return dictionary[stateIds[row]];
+    }
+
+    @Override
+    public String city(int row) {
+        return dictionary[cityIds[row]];
+    }
+
+    private int slot(long key) {
+        // murmur3 fmix64, the low bits of consecutive codes are too regular
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    // Also used as the key of the binary snapshot, see AddressSnapshot
+    static long encode(String postalCode) {
+        int length = postalCode.length();
+        if (length == 0 || length > MAX_DIGITS) {
+            return NOT_ENCODABLE;
+        }
+        long key = 1;
+        for (int i = 0; i < length; i++) {
+            char c = postalCode.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_ENCODABLE;
+            }
+            key = key * 10 + (c - '0');
+        }
+        return key;
+    }
+
+    public static final class Builder {
+        private long[] encodedKeys = new long[16];
+        private int[] ids = new int[16];
+        private int[] stateIds = new int[16];
+        private int[] cityIds = new int[16];
+        private final Map<Integer, String> otherKeys = new HashMap<>();
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private int numericKeys;
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder add(Address address) {
+            if (address.getPostalCode() == null) {
+                return this;
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                encodedKeys = Arrays.copyOf(encodedKeys, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+                stateIds = Arrays.copyOf(stateIds, capacity);
+                cityIds = Arrays.copyOf(cityIds, capacity);
+            }
+
+            long key = encode(address.getPostalCode());
+            if (key == NOT_ENCODABLE) {
+                otherKeys.put(size, address.getPostalCode());
+            } else {
+                numericKeys++;
+            }
+            encodedKeys[size] = key;
+            ids[size] = address.getId() == null ? 0 : address.getId();
+            stateIds[size] = intern(address.getState());
+            cityIds[size] = intern(address.getCity());
+            size++;
+            return this;
+        }
+
+        public AddressTable build() {
+            return new AddressTable(this);
+        }
+
+        private int intern(String value) {
+            return dictionary.computeIfAbsent(value, ignored -> dictionary.size());
+        }
+    }
+}
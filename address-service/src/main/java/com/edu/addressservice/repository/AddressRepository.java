@@ -1,13 +1,48 @@
 package com.edu.addressservice.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.edu.addressservice.model.Address;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface AddressRepository extends JpaRepository<Address, Integer> {
+    // Result rows are kept in the "address-queries" region, invalidated by writes to addresses
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "address-queries")
+    })
     Optional<Address> findByPostalCode(String postalCode);
+    List<Address> findByPostalCodeIn(Collection<String> postalCodes);
+    // Keyset pagination in id order, used to load the whole table page by page;
+    // the rows read are not put in the second-level cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    Slice<Address> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+    // Every address in id order, read pageSize rows per query
+    default void forEachInIdOrder(int pageSize, Consumer<Address> action) {
+        Slice<Address> page = findByIdGreaterThanOrderByIdAsc(0, PageRequest.of(0, pageSize));
+        while (true) {
+            Integer lastId = null;
+            for (Address address : page) {
+                action.accept(address);
+                lastId = address.getId();
+            }
+            if (!page.hasNext() || lastId == null) {
+                return;
+            }
+            page = findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, pageSize));
+        }
+    }
 }
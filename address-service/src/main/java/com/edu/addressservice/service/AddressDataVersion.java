@@ -0,0 +1,26 @@
+package com.edu.addressservice.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.stereotype.Component;
+
+// -------------------------------------------------------------------------
+// When the address data of this instance last changed
+//
+// Addresses carry no modification time of their own, so the Last-Modified
+// of an address response is the time its dataset was loaded: the sample
+// rows, a CSV import or a mapped snapshot. It never claims a date older
+// than the data, the ETag is what tells one address version from another.
+// -------------------------------------------------------------------------
+@Component
+public class AddressDataVersion {
+    // HTTP dates have a one second resolution
+    private volatile Instant lastModified = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    public void markModified() {
+        lastModified = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+    public Instant lastModified() {
+        return lastModified;
+    }
+}
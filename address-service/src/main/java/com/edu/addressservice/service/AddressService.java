@@ -1,7 +1,13 @@
 package com.edu.addressservice.service;
 
+import java.util.List;
+
+import com.edu.addressservice.index.AddressLookup;
 import com.edu.addressservice.model.Address;
 
 public interface AddressService {
     Address getAddressByPostalCode(String postalCode);
+    List<Address> getAddressesByPostalCodes(List<String> postalCodes);
+    // The snapshot or index serving postal codes without a query, null = database only
+    AddressLookup lookup();
 }
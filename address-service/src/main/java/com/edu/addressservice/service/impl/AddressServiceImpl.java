@@ -1,8 +1,16 @@
 package com.edu.addressservice.service.impl;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.edu.addressservice.index.AddressIndex;
+import com.edu.addressservice.index.AddressLookup;
+import com.edu.addressservice.index.AddressSnapshotStore;
 import com.edu.addressservice.model.Address;
 import com.edu.addressservice.repository.AddressRepository;
 import com.edu.addressservice.service.AddressService;
@@ -11,8 +19,55 @@ import com.edu.addressservice.service.AddressService;
 public class AddressServiceImpl implements AddressService {
     @Autowired
     private AddressRepository addressRepository;
+    // Present only with addresses.index.enabled=true
+    @Autowired(required = false)
+    private AddressIndex addressIndex;
+    // Present only with addresses.snapshot.path
+    @Autowired(required = false)
+    private AddressSnapshotStore addressSnapshotStore;
     public Address getAddressByPostalCode(String postalCode) {
+        AddressLookup lookup = lookup();
+        if (lookup != null) {
+            Address address = lookup.find(postalCode);
+            if (address != null) {
+                return address;
+            }
+        }
         return addressRepository.findByPostalCode(postalCode)
                 .orElseThrow(() -> new RuntimeException("Address Not Found: " + postalCode));
     }
+    // Unknown postal codes are left out of the result instead of failing the whole batch
+    public List<Address> getAddressesByPostalCodes(List<String> postalCodes) {
+        if (postalCodes.isEmpty()) {
+            return List.of();
+        }
+        Set<String> distinct = new LinkedHashSet<>(postalCodes);
+        AddressLookup lookup = lookup();
+        if (lookup == null) {
+            return addressRepository.findByPostalCodeIn(distinct);
+        }
+
+        // codes missing from the index are looked up with a single IN query
+        List<Address> addresses = new ArrayList<>(distinct.size());
+        Set<String> missing = new LinkedHashSet<>();
+        for (String postalCode : distinct) {
+            Address address = lookup.find(postalCode);
+            if (address != null) {
+                addresses.add(address);
+            } else {
+                missing.add(postalCode);
+            }
+        }
+        if (!missing.isEmpty()) {
+            addresses.addAll(addressRepository.findByPostalCodeIn(missing));
+        }
+        return addresses;
+    }
+    // The mapped snapshot first, then the in-memory index, null = database only
+    public AddressLookup lookup() {
+        if (addressSnapshotStore != null && addressSnapshotStore.snapshot() != null) {
+            return addressSnapshotStore.snapshot();
+        }
+        return addressIndex == null ? null : addressIndex.table();
+    }
 }
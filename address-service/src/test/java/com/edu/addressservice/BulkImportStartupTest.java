@@ -0,0 +1,73 @@
+package com.edu.addressservice;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.edu.addressservice.repository.AddressRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// -------------------------------------------------------------------------
+// Startup time with a 1M-row postal code dataset
+//
+// Runs only with -DloadTests=true:
+//
+//   ./mvnw test -Dtest=BulkImportStartupTest -DloadTests=true
+//
+// Generates a gzipped CSV of one million addresses, starts address-service
+// on it (bulk import + address index) and prints the startup report phases
+// published as address.startup.duration.
+// -------------------------------------------------------------------------
+@EnabledIfSystemProperty(named = "loadTests", matches = "true")
+class BulkImportStartupTest {
+
+    private static final int ROWS = 1_000_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldStartWithOneMillionAddresses() throws Exception {
+        Path dataset = tempDir.resolve("postal-codes.csv.gz");
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(dataset)), StandardCharsets.UTF_8))) {
+            writer.write("postal_code,state,city\n");
+            for (int i = 0; i < ROWS; i++) {
+                writer.write(String.format("%07d", i) + ",State" + (i % 47) + ",City" + (i % 1900) + "\n");
+            }
+        }
+
+        // passed as command line arguments so they override application.yaml
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AddressServiceApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:address-bulk-import",
+                        "--addresses.import.location=" + dataset.toUri(),
+                        "--addresses.index.enabled=true",
+                        "--addresses.index.page-size=50000"
+                )) {
+
+            assertThat(context.getBean(AddressRepository.class).count()).isEqualTo(ROWS);
+
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            System.out.println("phase    duration(ms)");
+            for (String phase : new String[]{"ready", "import", "index"}) {
+                System.out.printf("%-8s %12.0f%n", phase, meterRegistry.get("address.startup.duration")
+                        .tag("phase", phase).timeGauge().value(TimeUnit.MILLISECONDS));
+            }
+        }
+    }
+}
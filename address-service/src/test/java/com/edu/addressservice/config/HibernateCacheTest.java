@@ -0,0 +1,84 @@
+package com.edu.addressservice.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.edu.addressservice.importer.AddressCsvImporter;
+import com.edu.addressservice.repository.AddressRepository;
+import com.edu.addressservice.service.AddressService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class HibernateCacheTest {
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private AddressCsvImporter addressCsvImporter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TempDir
+    Path tempDir;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void removeImportedAddresses() {
+        addressRepository.findByPostalCode("9300001").ifPresent(addressRepository::delete);
+    }
+
+    @Test
+    void repeatedLookupsShouldNotQueryTheDatabase() {
+        addressService.getAddressByPostalCode("1100000");
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(addressService.getAddressByPostalCode("1100000").getCity()).isEqualTo("Taito");
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsBefore);
+        assertThat(meterRegistry.get("hibernate.cache.query.requests").tag("result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(1_000);
+    }
+
+    @Test
+    void bulkImportShouldInvalidateCachedLookups() throws IOException {
+        // an empty result is cached too
+        assertThat(addressRepository.findByPostalCode("9300001")).isEmpty();
+        assertThat(addressRepository.findByPostalCode("9300001")).isEmpty();
+
+        Path csv = tempDir.resolve("addresses.csv");
+        Files.writeString(csv, "postal_code,state,city\n9300001,Toyama,Toyama\n");
+        addressCsvImporter.importCsv(csv.toUri().toString());
+
+        assertThat(addressService.getAddressByPostalCode("9300001").getState()).isEqualTo("Toyama");
+    }
+}
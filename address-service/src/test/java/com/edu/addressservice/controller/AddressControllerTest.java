@@ -0,0 +1,89 @@
+package com.edu.addressservice.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AddressControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldReturnAddressByPostalCode() throws Exception {
+        mockMvc.perform(get("/addresses/1000001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("Tokyo"))
+                .andExpect(jsonPath("$.city").value("Chiyoda"));
+    }
+
+    @Test
+    void shouldReturnCacheHeadersWithAddress() throws Exception {
+        String etag = mockMvc.perform(get("/addresses/1000001"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(etag).matches("\"[0-9a-f]+\"");
+        mockMvc.perform(get("/addresses/1000001"))
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/addresses/1100000"))
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void shouldReturnNotModifiedWithoutBodyWhenEtagMatches() throws Exception {
+        String etag = mockMvc.perform(get("/addresses/1000001"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/addresses/1000001").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/addresses/1000001").header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.city").value("Chiyoda"));
+    }
+
+    @Test
+    void shouldReturnKnownAddressesForBatch() throws Exception {
+        mockMvc.perform(post("/addresses/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"1000001\", \"2100001\", \"1000001\", \"9999999\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[?(@.postalCode == '1000001')].city").value("Chiyoda"))
+                .andExpect(jsonPath("$[?(@.postalCode == '2100001')].city").value("Kawasaki"));
+    }
+
+    @Test
+    void shouldRejectBatchLargerThanMaximum() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i <= 500; i++) {
+            body.append(i == 0 ? "" : ",").append('"').append(i).append('"');
+        }
+        body.append(']');
+
+        mockMvc.perform(post("/addresses/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.toString()))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,110 @@
+package com.edu.addressservice.importer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.edu.addressservice.model.Address;
+import com.edu.addressservice.repository.AddressRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "addresses.import.batch-size=2")
+class AddressCsvImporterTest {
+
+    @Autowired
+    private AddressCsvImporter importer;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void removeImportedAddresses() {
+        addressRepository.deleteAll(addressRepository.findAll().stream()
+                .filter(address -> address.getPostalCode().startsWith("9"))
+                .toList());
+    }
+
+    @Test
+    void shouldImportCsvInBatches() throws IOException {
+        Path csv = tempDir.resolve("addresses.csv");
+        Files.writeString(csv, """
+                city,postal_code,state
+                Sapporo,9000001,Hokkaido
+                "Kita-ku, Sapporo",9000002,Hokkaido
+                "The ""Old"" Town",9000003,Aomori
+
+                Nowhere,,Aomori
+                too,many,fields,here
+                Sendai,9000004,Miyagi
+                """);
+        double rejectedBefore = rejectedRows();
+
+        AddressCsvImporter.ImportResult result = importer.importCsv(csv.toUri().toString());
+
+        assertThat(result.imported()).isEqualTo(4);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.batches()).isEqualTo(2);
+        assertThat(importer.lastResult()).isEqualTo(result);
+        assertThat(rejectedRows()).isEqualTo(rejectedBefore + 2);
+
+        assertThat(addressRepository.findByPostalCode("9000002"))
+                .get()
+                .extracting(Address::getCity, Address::getState)
+                .containsExactly("Kita-ku, Sapporo", "Hokkaido");
+        assertThat(addressRepository.findByPostalCode("9000003").map(Address::getCity))
+                .contains("The \"Old\" Town");
+    }
+
+    @Test
+    void shouldImportGzippedCsv() throws IOException {
+        Path gz = tempDir.resolve("addresses.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz));
+             Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            writer.write("postal_code,state,city\n");
+            for (int i = 0; i < 25; i++) {
+                writer.write("91000" + String.format("%02d", i) + ",Akita,Akita\n");
+            }
+        }
+
+        AddressCsvImporter.ImportResult result = importer.importCsv(gz.toUri().toString());
+
+        assertThat(result.imported()).isEqualTo(25);
+        assertThat(addressRepository.findByPostalCodeIn(List.of("9100000", "9100024"))).hasSize(2);
+    }
+
+    @Test
+    void shouldRejectFileWithoutExpectedHeader() throws IOException {
+        Path csv = tempDir.resolve("no-header.csv");
+        Files.writeString(csv, "9200001,Iwate,Morioka\n");
+
+        assertThatThrownBy(() -> importer.importCsv(csv.toUri().toString()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("header");
+    }
+
+    private double rejectedRows() {
+        return meterRegistry.counter("address.import.rows", "result", "rejected").count();
+    }
+}
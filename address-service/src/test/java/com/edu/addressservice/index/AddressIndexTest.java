@@ -0,0 +1,119 @@
+package com.edu.addressservice.index;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.edu.addressservice.model.Address;
+import com.edu.addressservice.repository.AddressRepository;
+import com.edu.addressservice.service.AddressService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "addresses.index.enabled=true")
+@AutoConfigureMockMvc
+class AddressIndexTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private AddressIndex addressIndex;
+
+    @SpyBean
+    private AddressRepository addressRepository;
+
+    @AfterEach
+    void removeAddedAddresses() {
+        addressRepository.findByPostalCode("3000001").ifPresent(addressRepository::delete);
+        addressIndex.reload();
+    }
+
+    @Test
+    void shouldServeKnownPostalCodesWithoutQuery() {
+        clearInvocations(addressRepository);
+
+        assertThat(addressService.getAddressByPostalCode("1000001").getCity()).isEqualTo("Chiyoda");
+        assertThat(addressService.getAddressesByPostalCodes(List.of("1100000", "2100001", "1100000")))
+                .extracting(Address::getCity)
+                .containsExactly("Taito", "Kawasaki");
+
+        verify(addressRepository, never()).findByPostalCode(anyString());
+        verify(addressRepository, never()).findByPostalCodeIn(any());
+    }
+
+    @Test
+    void shouldFallBackToRepositoryUntilReloaded() {
+        addressRepository.save(Address.builder().postalCode("3000001").state("Ibaraki").city("Mito").build());
+        assertThat(addressIndex.table().contains("3000001")).isFalse();
+
+        assertThat(addressService.getAddressByPostalCode("3000001").getCity()).isEqualTo("Mito");
+        assertThat(addressService.getAddressesByPostalCodes(List.of("1000001", "3000001", "9999999")))
+                .extracting(Address::getCity)
+                .containsExactly("Chiyoda", "Mito");
+
+        addressIndex.reload();
+
+        assertThat(addressIndex.table().contains("3000001")).isTrue();
+        clearInvocations(addressRepository);
+        assertThat(addressService.getAddressByPostalCode("3000001").getState()).isEqualTo("Ibaraki");
+        verify(addressRepository, never()).findByPostalCode(anyString());
+    }
+
+    @Test
+    void shouldWriteIndexedAddressesWithTheEntityFieldsAndHeaders() throws Exception {
+        Address chiyoda = addressRepository.findByPostalCode("1000001").orElseThrow();
+        clearInvocations(addressRepository);
+
+        String etag = mockMvc.perform(get("/addresses/1000001"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"id\":" + chiyoda.getId()
+                        + ",\"postalCode\":\"1000001\",\"state\":\"Tokyo\",\"city\":\"Chiyoda\"}", true))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/addresses/1000001").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        verify(addressRepository, never()).findByPostalCode(anyString());
+    }
+
+    @Test
+    void shouldWriteIndexedAndQueriedAddressesInOneBatch() throws Exception {
+        addressRepository.save(Address.builder().postalCode("3000001").state("Ibaraki").city("Mito").build());
+
+        mockMvc.perform(post("/addresses/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"3000001\", \"1000001\", \"9999999\", \"1000001\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].city").value("Chiyoda"))
+                .andExpect(jsonPath("$[1].city").value("Mito"))
+                .andExpect(jsonPath("$[1].id").isNumber());
+    }
+}
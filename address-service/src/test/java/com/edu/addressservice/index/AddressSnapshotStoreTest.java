@@ -0,0 +1,52 @@
+package com.edu.addressservice.index;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.edu.addressservice.AddressServiceApplication;
+import com.edu.addressservice.repository.AddressRepository;
+import com.edu.addressservice.service.AddressService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AddressSnapshotStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldWriteSnapshotOnFirstStartAndServeFromItOnNextStart() {
+        Path snapshot = tempDir.resolve("addresses.snapshot");
+
+        try (ConfigurableApplicationContext first = start("address-snapshot-first", snapshot)) {
+            assertThat(Files.exists(snapshot)).isTrue();
+            assertThat(first.getBean(AddressRepository.class).count()).isEqualTo(3);
+        }
+
+        try (ConfigurableApplicationContext second = start("address-snapshot-second", snapshot)) {
+            // the sample rows were not inserted, lookups come from the mapped file
+            assertThat(second.getBean(AddressRepository.class).count()).isZero();
+            AddressService addressService = second.getBean(AddressService.class);
+            assertThat(addressService.getAddressByPostalCode("1000001").getCity()).isEqualTo("Chiyoda");
+            assertThat(addressService.getAddressesByPostalCodes(List.of("2100001", "9999999")))
+                    .singleElement()
+                    .satisfies(address -> assertThat(address.getCity()).isEqualTo("Kawasaki"));
+        }
+    }
+
+    // passed as command line arguments so they override application.yaml
+    private static ConfigurableApplicationContext start(String database, Path snapshot) {
+        return new SpringApplicationBuilder(AddressServiceApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + database,
+                        "--addresses.snapshot.path=" + snapshot
+                );
+    }
+}
@@ -0,0 +1,126 @@
+package com.edu.addressservice.index;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.edu.addressservice.model.Address;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AddressSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldFindEveryWrittenPostalCode() throws IOException {
+        AddressSnapshot.Writer writer = AddressSnapshot.writer();
+        // written in reverse order, the snapshot sorts the keys
+        for (int i = 9_999; i >= 0; i--) {
+            writer.add(address(i + 1, String.format("%07d", i * 7), "State" + (i % 47), "City" + (i % 1000)));
+        }
+        Path path = tempDir.resolve("addresses.snapshot");
+        writer.write(path);
+
+        AddressSnapshot snapshot = AddressSnapshot.open(path);
+
+        assertThat(snapshot.size()).isEqualTo(10_000);
+        assertThat(snapshot.dictionarySize()).isEqualTo(47 + 1000);
+        for (int i = 0; i < 10_000; i++) {
+            Address address = snapshot.find(String.format("%07d", i * 7));
+            assertThat(address.getId()).isEqualTo(i + 1);
+            assertThat(address.getState()).isEqualTo("State" + (i % 47));
+            assertThat(address.getCity()).isEqualTo("City" + (i % 1000));
+        }
+        assertThat(snapshot.find("0000001")).isNull();
+        assertThat(snapshot.find("99999999")).isNull();
+    }
+
+    @Test
+    void shouldFindNonNumericPostalCodesAndNullValues() throws IOException {
+        Path path = tempDir.resolve("addresses.snapshot");
+        AddressSnapshot.writer()
+                .add(address(1, "SW1A 1AA", "England", "London"))
+                .add(address(2, "EC1A 1BB", "England", "London"))
+                .add(address(3, "Ñ-001", "Navarra", null))
+                .add(address(4, "0123", "Zero", "Leading"))
+                .write(path);
+
+        AddressSnapshot snapshot = AddressSnapshot.open(path);
+
+        assertThat(snapshot.find("SW1A 1AA").getId()).isEqualTo(1);
+        assertThat(snapshot.find("EC1A 1BB").getId()).isEqualTo(2);
+        assertThat(snapshot.find("Ñ-001").getCity()).isNull();
+        assertThat(snapshot.find("0123").getCity()).isEqualTo("Leading");
+        assertThat(snapshot.find("123")).isNull();
+        assertThat(snapshot.find("SW1A")).isNull();
+    }
+
+    @Test
+    void shouldReadColumnsOfTheRow() throws IOException {
+        Path path = tempDir.resolve("addresses.snapshot");
+        AddressSnapshot.writer()
+                .add(address(7, "1000001", "Tokyo", "Chiyoda"))
+                .add(address(8, "SW1A 1AA", "England", null))
+                .write(path);
+
+        AddressSnapshot snapshot = AddressSnapshot.open(path);
+
+        int numeric = snapshot.rowOf("1000001");
+        assertThat(snapshot.id(numeric)).isEqualTo(7);
+        assertThat(snapshot.state(numeric)).isEqualTo("Tokyo");
+        assertThat(snapshot.city(numeric)).isEqualTo("Chiyoda");
+        int other = snapshot.rowOf("SW1A 1AA");
+        assertThat(snapshot.id(other)).isEqualTo(8);
+        assertThat(snapshot.city(other)).isNull();
+        assertThat(snapshot.rowOf("1000002")).isEqualTo(-1);
+        assertThat(snapshot.rowOf(null)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldKeepFirstRowOfDuplicatedPostalCode() throws IOException {
+        Path path = tempDir.resolve("addresses.snapshot");
+        AddressSnapshot.writer()
+                .add(address(1, "1000001", "Tokyo", "Chiyoda"))
+                .add(address(2, "1000001", "Tokyo", "Minato"))
+                .add(address(3, "N1 9GU", "England", "London"))
+                .add(address(4, "N1 9GU", "England", "Islington"))
+                .write(path);
+
+        AddressSnapshot snapshot = AddressSnapshot.open(path);
+
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.find("1000001").getCity()).isEqualTo("Chiyoda");
+        assertThat(snapshot.find("N1 9GU").getCity()).isEqualTo("London");
+    }
+
+    @Test
+    void emptySnapshotShouldFindNothing() throws IOException {
+        Path path = tempDir.resolve("empty.snapshot");
+        AddressSnapshot.writer().write(path);
+
+        AddressSnapshot snapshot = AddressSnapshot.open(path);
+
+        assertThat(snapshot.size()).isZero();
+        assertThat(snapshot.find("1000001")).isNull();
+        assertThat(snapshot.find("SW1A 1AA")).isNull();
+    }
+
+    @Test
+    void shouldRejectOtherFiles() throws IOException {
+        Path path = tempDir.resolve("addresses.csv");
+        Files.writeString(path, "postal_code,state,city\n1000001,Tokyo,Chiyoda\n");
+
+        assertThatThrownBy(() -> AddressSnapshot.open(path))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Address address(int id, String postalCode, String state, String city) {
+        return Address.builder().id(id).postalCode(postalCode).state(state).city(city).build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.edu.addressservice.index;
+
+import org.junit.jupiter.api.Test;
+
+import com.edu.addressservice.model.Address;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AddressTableTest {
+
+    @Test
+    void shouldFindEveryAddedPostalCode() {
+        AddressTable.Builder builder = AddressTable.builder();
+        for (int i = 0; i < 10_000; i++) {
+            builder.add(address(i + 1, String.format("%07d", i * 7), "State" + (i % 47), "City" + (i % 1000)));
+        }
+        AddressTable table = builder.build();
+
+        assertThat(table.size()).isEqualTo(10_000);
+        // states and cities share one dictionary
+        assertThat(table.dictionarySize()).isEqualTo(47 + 1000);
+        for (int i = 0; i < 10_000; i++) {
+            Address address = table.find(String.format("%07d", i * 7));
+            assertThat(address.getId()).isEqualTo(i + 1);
+            assertThat(address.getState()).isEqualTo("State" + (i % 47));
+            assertThat(address.getCity()).isEqualTo("City" + (i % 1000));
+        }
+        assertThat(table.find("0000001")).isNull();
+    }
+
+    @Test
+    void shouldKeepLeadingZerosApart() {
+        AddressTable table = AddressTable.builder()
+                .add(address(1, "0123", "A", "a"))
+                .add(address(2, "123", "B", "b"))
+                .build();
+
+        assertThat(table.find("0123").getId()).isEqualTo(1);
+        assertThat(table.find("123").getId()).isEqualTo(2);
+        assertThat(table.find("00123")).isNull();
+    }
+
+    @Test
+    void shouldFindNonNumericPostalCodes() {
+        AddressTable table = AddressTable.builder()
+                .add(address(1, "SW1A 1AA", "England", "London"))
+                .add(address(2, "1234567890123456789", "Long", "Code"))
+                .build();
+
+        assertThat(table.find("SW1A 1AA").getCity()).isEqualTo("London");
+        assertThat(table.find("1234567890123456789").getCity()).isEqualTo("Code");
+        assertThat(table.find("SW1A 1AB")).isNull();
+        assertThat(table.find("")).isNull();
+    }
+
+    @Test
+    void shouldKeepFirstRowOfDuplicatedPostalCode() {
+        AddressTable table = AddressTable.builder()
+                .add(address(1, "1000001", "Tokyo", "Chiyoda"))
+                .add(address(2, "1000001", "Tokyo", "Minato"))
+                .build();
+
+        assertThat(table.find("1000001").getCity()).isEqualTo("Chiyoda");
+    }
+
+    @Test
+    void shouldReadColumnsOfTheRow() {
+        AddressTable table = AddressTable.builder()
+                .add(address(7, "1000001", "Tokyo", "Chiyoda"))
+                .add(address(8, "SW1A 1AA", "England", "London"))
+                .build();
+
+        int row = table.rowOf("SW1A 1AA");
+        assertThat(table.id(row)).isEqualTo(8);
+        assertThat(table.state(row)).isEqualTo("England");
+        assertThat(table.city(row)).isEqualTo("London");
+        assertThat(table.rowOf("1000002")).isEqualTo(-1);
+        assertThat(table.rowOf(null)).isEqualTo(-1);
+    }
+
+    @Test
+    void emptyTableShouldFindNothing() {
+        assertThat(AddressTable.EMPTY.size()).isZero();
+        assertThat(AddressTable.EMPTY.find("1000001")).isNull();
+    }
+
+    private static Address address(int id, String postalCode, String state, String city) {
+        return Address.builder().id(id).postalCode(postalCode).state(state).city(city).build();
+    }
+}
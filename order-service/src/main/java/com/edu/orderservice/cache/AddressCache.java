@@ -0,0 +1,226 @@
+package com.edu.orderservice.cache;
+
+import com.edu.orderservice.config.AddressServiceProperties;
+import com.edu.orderservice.config.OrderMetrics;
+import com.edu.orderservice.dto.AddressDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+// -------------------------------------------------------------------------
+// Near-cache of postal code → address
+//
+// Entry lifecycle (age = time since the entry was loaded):
+//
+//   age < ttl                          → FRESH: served, no remote call
+//   ttl <= age < ttl + swr             → STALE: served, one background refresh
+//   ttl + swr <= age < max-stale       → EXPIRED: remote call on the request path,
+//                                        but still usable when the circuit is OPEN
+//   age >= max-stale                   → dropped by Caffeine
+//
+// The cache itself is bounded by maximum-size (Caffeine W-TinyLFU eviction).
+// -------------------------------------------------------------------------
+public class AddressCache implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AddressCache.class);
+
+    private final AddressServiceProperties.Cache properties;
+    private final OrderMetrics orderMetrics;
+    private final Ticker ticker;
+    private final long ttlNanos;
+    private final long revalidateUntilNanos;
+    private final Cache<String, Entry> entries;
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private record Entry(AddressDTO address, long loadedAtNanos, AtomicBoolean refreshing) {
+    }
+
+    public AddressCache(AddressServiceProperties.Cache properties, OrderMetrics orderMetrics, Ticker ticker) {
+        this.properties = properties;
+        this.orderMetrics = orderMetrics;
+        this.ticker = ticker;
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.revalidateUntilNanos = ttlNanos + properties.getStaleWhileRevalidate().toNanos();
+
+        Duration maxStale = properties.getMaxStale().toNanos() < revalidateUntilNanos
+                ? Duration.ofNanos(revalidateUntilNanos)
+                : properties.getMaxStale();
+
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(maxStale)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .evictionListener((String key, Entry value, RemovalCause cause) ->
+                        orderMetrics.incrementAddressCacheEviction())
+                .build();
+
+        this.refreshExecutor = new ThreadPoolExecutor(
+                1, 2,
+                30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(100),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "address-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+
+        orderMetrics.registerAddressCacheSizeGauge(entries, Cache::estimatedSize);
+    }
+
+    // ---------------------------------------------------------------------
+    // loader    → called on the request path (miss / expired entry)
+    // refresher → called on a background thread (stale entry), it must apply
+    //             its own protection since it runs outside the caller's
+    //             resilience decorators
+    // ---------------------------------------------------------------------
+    public AddressDTO get(
+            String postalCode,
+            Function<String, AddressDTO> loader,
+            Function<String, AddressDTO> refresher
+    ) {
+        if (!properties.isEnabled()) {
+            return loader.apply(postalCode);
+        }
+
+        Entry entry = entries.getIfPresent(postalCode);
+        if (entry != null) {
+            long age = ticker.read() - entry.loadedAtNanos();
+
+            if (age < ttlNanos) {
+                orderMetrics.incrementAddressCacheHit();
+                return entry.address();
+            }
+
+            if (age < revalidateUntilNanos) {
+                orderMetrics.incrementAddressCacheHit();
+                orderMetrics.incrementAddressCacheStaleWhileRevalidate();
+                scheduleRefresh(postalCode, entry, refresher);
+                return entry.address();
+            }
+        }
+
+        orderMetrics.incrementAddressCacheMiss();
+        AddressDTO address = loader.apply(postalCode);
+        put(postalCode, address);
+        return address;
+    }
+
+    // ---------------------------------------------------------------------
+    // Bulk variant of get(): fresh and stale entries are answered from the
+    // cache, all remaining postal codes are handed to bulkLoader in ONE call.
+    // Postal codes unknown to the loader are absent from the result.
+    // ---------------------------------------------------------------------
+    public Map<String, AddressDTO> getAll(
+            Collection<String> postalCodes,
+            Function<Collection<String>, Map<String, AddressDTO>> bulkLoader,
+            Function<String, AddressDTO> refresher
+    ) {
+        Map<String, AddressDTO> result = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+
+        for (String postalCode : new LinkedHashSet<>(postalCodes)) {
+            Entry entry = properties.isEnabled() ? entries.getIfPresent(postalCode) : null;
+            long age = entry == null ? Long.MAX_VALUE : ticker.read() - entry.loadedAtNanos();
+
+            if (age < ttlNanos) {
+                orderMetrics.incrementAddressCacheHit();
+                result.put(postalCode, entry.address());
+            } else if (age < revalidateUntilNanos) {
+                orderMetrics.incrementAddressCacheHit();
+                orderMetrics.incrementAddressCacheStaleWhileRevalidate();
+                scheduleRefresh(postalCode, entry, refresher);
+                result.put(postalCode, entry.address());
+            } else {
+                missing.add(postalCode);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            if (properties.isEnabled()) {
+                missing.forEach(postalCode -> orderMetrics.incrementAddressCacheMiss());
+            }
+            Map<String, AddressDTO> loaded = bulkLoader.apply(missing);
+            if (properties.isEnabled()) {
+                loaded.forEach(this::put);
+            }
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    // Any entry still held (up to max-stale), used when the circuit is OPEN
+    public Optional<AddressDTO> getStale(String postalCode) {
+        if (!properties.isEnabled() || !properties.isServeStaleOnCircuitOpen()) {
+            return Optional.empty();
+        }
+
+        Optional<AddressDTO> address = Optional.ofNullable(entries.getIfPresent(postalCode))
+                .map(Entry::address);
+        address.ifPresent(a -> orderMetrics.incrementAddressCacheStaleOnCircuitOpen());
+        return address;
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void put(String postalCode, AddressDTO address) {
+        // empty bodies are not cached, the next call asks again
+        if (address != null) {
+            entries.put(postalCode, new Entry(address, ticker.read(), new AtomicBoolean()));
+        }
+    }
+
+    private void scheduleRefresh(String postalCode, Entry entry, Function<String, AddressDTO> refresher) {
+        if (!entry.refreshing().compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    put(postalCode, refresher.apply(postalCode));
+                    log.debug("Address cache refreshed. postalCode={}", postalCode);
+                } catch (RuntimeException e) {
+                    log.warn(
+                            "Address cache refresh failed. postalCode={}, reason={}",
+                            postalCode,
+                            e.getClass().getSimpleName()
+                    );
+                } finally {
+                    entry.refreshing().set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing().set(false);
+        }
+    }
+}
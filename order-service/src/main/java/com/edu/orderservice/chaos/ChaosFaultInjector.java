@@ -1,85 +1,462 @@
 package com.edu.orderservice.chaos;
 
+import com.edu.orderservice.config.OrderMetrics;
 import com.edu.orderservice.service.impl.OrderServiceImpl;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
 
 import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
+// -------------------------------------------------------------------------
+// Fault injection in front of every Address Service call
+//
+// Each call draws its own faults:
+//
+//   latency-probability              → delay drawn from latency-distribution
+//   timeout-probability              → ResourceAccessException (timeout)
+//   connection-error-probability     → ResourceAccessException (connection)
+//   http500-probability              → HttpServerErrorException 500
+//
+// The three errors are exclusive: one draw, at most one error per call,
+// so their probabilities add up (keep the sum <= 1). The boolean switches
+// (timeout, connection-error, http500, latency) are probability 1.
+//
+// schedule: faults are injected only inside the listed windows, measured
+// from startup (start, duration, every = repeat period). A window may
+// override the probabilities; no schedule = always.
+//
+// The random numbers come from ThreadLocalRandom: no shared state, no
+// contention between request threads. Injections are logged at debug
+// level only, count them with the metrics below.
+//
+// Settings can change while calls are running (see ResilienceTuningEndpoint).
+// The setters publish an immutable Settings snapshot through a volatile
+// field, and each call reads it once. A call sees either all of a change
+// made with update() or none of it.
+//
+// Metrics:
+//   chaos.fault.injected.total{fault}  (LATENCY, TIMEOUT, CONNECTION_ERROR, HTTP_500)
+//   chaos.fault.latency                (injected delays)
+//   chaos.fault.active                 (1 while faults may be injected)
+// -------------------------------------------------------------------------
 @Component
 @ConfigurationProperties(prefix = "fault")
 public class ChaosFaultInjector {
 
     private static final Logger log = LoggerFactory.getLogger(ChaosFaultInjector.class);
 
+    public enum Fault {
+        LATENCY,
+        TIMEOUT,
+        CONNECTION_ERROR,
+        HTTP_500
+    }
+
+    private record Injection(long latencyMS, Fault error) {
+    }
+
+    private static final Injection NONE = new Injection(0, null);
+
+    private record Settings(
+            boolean enabled,
+            boolean timeout,
+            boolean connectionError,
+            boolean http500,
+            boolean latency,
+            long latencyMS,
+            double timeoutProbability,
+            double connectionErrorProbability,
+            double http500Probability,
+            double latencyProbability,
+            LatencyDistribution latencyDistribution,
+            long latencyMaxMS,
+            double latencySigma,
+            double latencyShape,
+            List<Window> schedule
+    ) {
+    }
+
+    @Autowired
+    private OrderMetrics orderMetrics;
+
+    private final LongSupplier nanoTime;
+    private final Supplier<RandomGenerator> random;
+    private final long startNanos;
+
+    // what the calls read; the fields below are only the setters' side
+    private volatile Settings settings;
+    private boolean updating;
+
     private boolean enabled;
     private boolean timeout;
     private boolean connectionError;
     private boolean http500;
     private boolean latency;
-    public long latencyMS;
+    private long latencyMS;
+
+    private double timeoutProbability;
+    private double connectionErrorProbability;
+    private double http500Probability;
+    private double latencyProbability;
+    private LatencyDistribution latencyDistribution = LatencyDistribution.FIXED;
+    private long latencyMaxMS;
+    private double latencySigma = 1.0;
+    private double latencyShape = 1.16;
+    private List<Window> schedule = new ArrayList<>();
+
+    public ChaosFaultInjector() {
+        this(null, System::nanoTime, ThreadLocalRandom::current);
+    }
+
+    ChaosFaultInjector(OrderMetrics orderMetrics, LongSupplier nanoTime, Supplier<RandomGenerator> random) {
+        this.orderMetrics = orderMetrics;
+        this.nanoTime = nanoTime;
+        this.random = random;
+        this.startNanos = nanoTime.getAsLong();
+        publish();
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        orderMetrics.registerChaosActiveGauge(this, injector -> injector.isActive() ? 1 : 0);
+    }
 
     public void inject() {
-        if (!enabled) {
+        Injection injection = draw();
+        if (injection == NONE) {
             return;
         }
 
-        if (latency && latencyMS > 0) {
+        if (injection.latencyMS() > 0) {
             try {
-                log.warn("Injecting latency {}ms", latencyMS);
-                Thread.sleep(latencyMS);
+                log.debug("Injecting latency {}ms", injection.latencyMS());
+                Thread.sleep(injection.latencyMS());
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
         }
 
-        if (timeout) {
-            log.warn("CHAOS: Injecting TIMEOUT");
-            throw new ResourceAccessException("Injected timeout fault");
+        throwFault(injection.error());
+    }
+
+    // Non-blocking variant: latency is a timer, not a sleeping thread
+    public Mono<Void> injectReactive() {
+        Injection injection = draw();
+        if (injection == NONE) {
+            return Mono.empty();
+        }
+
+        Mono<Void> delay = Mono.empty();
+        if (injection.latencyMS() > 0) {
+            delay = Mono.delay(Duration.ofMillis(injection.latencyMS()))
+                    .doOnSubscribe(s -> log.debug("Injecting latency {}ms", injection.latencyMS()))
+                    .then();
+        }
+
+        return delay.then(Mono.fromRunnable(() -> throwFault(injection.error())));
+    }
+
+    // True while faults may be injected: enabled and inside a scheduled window
+    public boolean isActive() {
+        Settings current = settings;
+        return current.enabled() && activeWindow(current) != null;
+    }
+
+    // ---------------------------------------------------------------------
+    // Several changes published as one: callers never see half of them.
+    // When a change fails (invalid value), the previous settings are
+    // restored and the exception is rethrown.
+    // ---------------------------------------------------------------------
+    public synchronized void update(Consumer<ChaosFaultInjector> changes) {
+        Settings previous = settings;
+        updating = true;
+        try {
+            changes.accept(this);
+        } catch (RuntimeException e) {
+            restore(previous);
+            throw e;
+        } finally {
+            updating = false;
+        }
+        publish();
+    }
+
+    private Injection draw() {
+        Settings s = settings;
+        if (!s.enabled()) {
+            return NONE;
+        }
+        Window window = activeWindow(s);
+        if (window == null) {
+            return NONE;
+        }
+        RandomGenerator rng = random.get();
+
+        long delay = 0;
+        double latencyChance = s.latency() ? 1.0 : window.probability(window.latencyProbability, s.latencyProbability());
+        if (s.latencyMS() > 0 && latencyChance > 0 && (latencyChance >= 1.0 || rng.nextDouble() < latencyChance)) {
+            delay = s.latencyDistribution().sampleMillis(
+                    rng, s.latencyMS(), s.latencyMaxMS(), s.latencySigma(), s.latencyShape());
+        }
+
+        // one draw for the exclusive errors, in this order
+        double timeoutChance = s.timeout()
+                ? 1.0 : window.probability(window.timeoutProbability, s.timeoutProbability());
+        double connectionChance = s.connectionError()
+                ? 1.0 : window.probability(window.connectionErrorProbability, s.connectionErrorProbability());
+        double http500Chance = s.http500()
+                ? 1.0 : window.probability(window.http500Probability, s.http500Probability());
+
+        Fault error = null;
+        if (timeoutChance + connectionChance + http500Chance > 0) {
+            double r = rng.nextDouble();
+            if (r < timeoutChance) {
+                error = Fault.TIMEOUT;
+            } else if (r < timeoutChance + connectionChance) {
+                error = Fault.CONNECTION_ERROR;
+            } else if (r < timeoutChance + connectionChance + http500Chance) {
+                error = Fault.HTTP_500;
+            }
+        }
+
+        if (delay == 0 && error == null) {
+            return NONE;
+        }
+        if (delay > 0) {
+            orderMetrics.recordChaosLatency(delay);
+        }
+        if (error != null) {
+            orderMetrics.incrementChaosFault(error);
+        }
+        return new Injection(delay, error);
+    }
+
+    // Window the current call falls in, Window.ALWAYS without schedule, null outside
+    private Window activeWindow(Settings current) {
+        if (current.schedule().isEmpty()) {
+            return Window.ALWAYS;
+        }
+        long elapsed = nanoTime.getAsLong() - startNanos;
+        for (Window window : current.schedule()) {
+            if (window.contains(elapsed)) {
+                return window;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void publish() {
+        if (updating) {
+            return;
         }
+        settings = new Settings(enabled, timeout, connectionError, http500, latency, latencyMS,
+                timeoutProbability, connectionErrorProbability, http500Probability, latencyProbability,
+                latencyDistribution, latencyMaxMS, latencySigma, latencyShape, List.copyOf(schedule));
+    }
+
+    private void restore(Settings previous) {
+        enabled = previous.enabled();
+        timeout = previous.timeout();
+        connectionError = previous.connectionError();
+        http500 = previous.http500();
+        latency = previous.latency();
+        latencyMS = previous.latencyMS();
+        timeoutProbability = previous.timeoutProbability();
+        connectionErrorProbability = previous.connectionErrorProbability();
+        http500Probability = previous.http500Probability();
+        latencyProbability = previous.latencyProbability();
+        latencyDistribution = previous.latencyDistribution();
+        latencyMaxMS = previous.latencyMaxMS();
+        latencySigma = previous.latencySigma();
+        latencyShape = previous.latencyShape();
+        schedule = new ArrayList<>(previous.schedule());
+    }
 
-        if (connectionError) {
-            log.warn("CHAOS: Injecting CONNECTION FAILURE");
-            throw new ResourceAccessException("Injected connection error");
+    private static double probability(double probability) {
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("Expected a probability between 0 and 1, got " + probability);
         }
+        return probability;
+    }
 
-        if (http500) {
-            log.warn("CHAOS: Injecting HTTP 500");
-            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+    private static long millis(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Expected a latency >= 0, got " + millis);
         }
+        return millis;
     }
 
-    public boolean isLatency() {
-        return latency;
+    private void throwFault(Fault error) {
+        if (error == null) {
+            return;
+        }
+        switch (error) {
+            case TIMEOUT -> {
+                log.debug("CHAOS: Injecting TIMEOUT");
+                throw new ResourceAccessException("Injected timeout fault");
+            }
+            case CONNECTION_ERROR -> {
+                log.debug("CHAOS: Injecting CONNECTION FAILURE");
+                throw new ResourceAccessException("Injected connection error");
+            }
+            case HTTP_500 -> {
+                log.debug("CHAOS: Injecting HTTP 500");
+                throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+            default -> {
+            }
+        }
     }
 
-    public void setLatency(boolean latency) {
-        this.latency = latency;
+    // ---------------------------------------------------------------------
+    // One scheduled window, offsets measured from startup:
+    //
+    //   start: 5m, duration: 2m               → from 5m to 7m
+    //   start: 1m, duration: 30s, every: 10m  → 1m-1m30s, 11m-11m30s, ...
+    //
+    // No duration = until shutdown. A probability left empty falls back to
+    // the top-level fault.*-probability.
+    // ---------------------------------------------------------------------
+    public static class Window {
+
+        static final Window ALWAYS = new Window();
+
+        private Duration start = Duration.ZERO;
+        private Duration duration;
+        private Duration every;
+        private Double timeoutProbability;
+        private Double connectionErrorProbability;
+        private Double http500Probability;
+        private Double latencyProbability;
+
+        boolean contains(long elapsedNanos) {
+            long offset = elapsedNanos - start.toNanos();
+            if (offset < 0) {
+                return false;
+            }
+            if (every != null && !every.isZero()) {
+                offset %= every.toNanos();
+            }
+            return duration == null || offset < duration.toNanos();
+        }
+
+        double probability(Double override, double fallback) {
+            return override != null ? override : fallback;
+        }
+
+        public Duration getStart() { return start; }
+        public void setStart(Duration start) { this.start = start; }
+
+        public Duration getDuration() { return duration; }
+        public void setDuration(Duration duration) { this.duration = duration; }
+
+        public Duration getEvery() { return every; }
+        public void setEvery(Duration every) { this.every = every; }
+
+        public Double getTimeoutProbability() { return timeoutProbability; }
+        public void setTimeoutProbability(Double timeoutProbability) { this.timeoutProbability = timeoutProbability; }
+
+        public Double getConnectionErrorProbability() { return connectionErrorProbability; }
+        public void setConnectionErrorProbability(Double connectionErrorProbability) {
+            this.connectionErrorProbability = connectionErrorProbability;
+        }
+
+        public Double getHttp500Probability() { return http500Probability; }
+        public void setHttp500Probability(Double http500Probability) { this.http500Probability = http500Probability; }
+
+        public Double getLatencyProbability() { return latencyProbability; }
+        public void setLatencyProbability(Double latencyProbability) { this.latencyProbability = latencyProbability; }
     }
 
-    public long getLatencyMS() {
-        return latencyMS;
+    public synchronized boolean isLatency() { return latency; }
+    public synchronized void setLatency(boolean latency) { this.latency = latency; publish(); }
+
+    public synchronized long getLatencyMS() { return latencyMS; }
+    public synchronized void setLatencyMS(long latencyMS) { this.latencyMS = millis(latencyMS); publish(); }
+
+    public synchronized boolean isEnabled() { return enabled; }
+    public synchronized void setEnabled(boolean enabled) { this.enabled = enabled; publish(); }
+
+    public synchronized boolean isTimeout() { return timeout; }
+    public synchronized void setTimeout(boolean timeout) { this.timeout = timeout; publish(); }
+
+    public synchronized boolean isConnectionError() { return connectionError; }
+    public synchronized void setConnectionError(boolean connectionError) {
+        this.connectionError = connectionError;
+        publish();
     }
 
-    public void setLatencyMS(long latencyMS) {
-        this.latencyMS = latencyMS;
+    public synchronized boolean isHttp500() { return http500; }
+    public synchronized void setHttp500(boolean http500) { this.http500 = http500; publish(); }
+
+    public synchronized double getTimeoutProbability() { return timeoutProbability; }
+    public synchronized void setTimeoutProbability(double timeoutProbability) {
+        this.timeoutProbability = probability(timeoutProbability);
+        publish();
     }
 
-    public boolean isEnabled() { return enabled; }
-    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public synchronized double getConnectionErrorProbability() { return connectionErrorProbability; }
+    public synchronized void setConnectionErrorProbability(double connectionErrorProbability) {
+        this.connectionErrorProbability = probability(connectionErrorProbability);
+        publish();
+    }
 
-    public boolean isTimeout() { return timeout; }
-    public void setTimeout(boolean timeout) { this.timeout = timeout; }
+    public synchronized double getHttp500Probability() { return http500Probability; }
+    public synchronized void setHttp500Probability(double http500Probability) {
+        this.http500Probability = probability(http500Probability);
+        publish();
+    }
+
+    public synchronized double getLatencyProbability() { return latencyProbability; }
+    public synchronized void setLatencyProbability(double latencyProbability) {
+        this.latencyProbability = probability(latencyProbability);
+        publish();
+    }
+
+    public synchronized LatencyDistribution getLatencyDistribution() { return latencyDistribution; }
+    public synchronized void setLatencyDistribution(LatencyDistribution latencyDistribution) {
+        this.latencyDistribution = latencyDistribution;
+        publish();
+    }
+
+    public synchronized long getLatencyMaxMS() { return latencyMaxMS; }
+    public synchronized void setLatencyMaxMS(long latencyMaxMS) { this.latencyMaxMS = millis(latencyMaxMS); publish(); }
 
-    public boolean isConnectionError() { return connectionError; }
-    public void setConnectionError(boolean connectionError) { this.connectionError = connectionError; }
+    public synchronized double getLatencySigma() { return latencySigma; }
+    public synchronized void setLatencySigma(double latencySigma) {
+        if (latencySigma < 0) {
+            throw new IllegalArgumentException("Expected latency-sigma >= 0, got " + latencySigma);
+        }
+        this.latencySigma = latencySigma;
+        publish();
+    }
+
+    public synchronized double getLatencyShape() { return latencyShape; }
+    public synchronized void setLatencyShape(double latencyShape) {
+        if (latencyShape <= 0) {
+            throw new IllegalArgumentException("Expected latency-shape > 0, got " + latencyShape);
+        }
+        this.latencyShape = latencyShape;
+        publish();
+    }
 
-    public boolean isHttp500() { return http500; }
-    public void setHttp500(boolean http500) { this.http500 = http500; }
-}
\ No newline at end of file
+    public synchronized List<Window> getSchedule() { return schedule; }
+    public synchronized void setSchedule(List<Window> schedule) { this.schedule = schedule; publish(); }
+}
@@ -0,0 +1,62 @@
+package com.edu.orderservice.chaos;
+
+import java.util.random.RandomGenerator;
+
+// -------------------------------------------------------------------------
+// Shape of the injected latency
+//
+// latencyMS is the scale of every distribution:
+//
+//   FIXED       always latencyMS
+//   UNIFORM     between latencyMS and latencyMaxMS
+//   LOG_NORMAL  median latencyMS, spread sigma (1.0 → p99 ≈ 10 x median)
+//   PARETO      at least latencyMS, tail index shape (lower = heavier tail,
+//               1.16 → the slowest 20% take 80% of the injected time)
+//
+// latencyMaxMS > 0 caps every distribution, so a heavy tail cannot exceed
+// the client timeouts by orders of magnitude.
+// -------------------------------------------------------------------------
+public enum LatencyDistribution {
+
+    FIXED {
+        @Override
+        double sample(RandomGenerator random, long latencyMS, long latencyMaxMS, double sigma, double shape) {
+            return latencyMS;
+        }
+    },
+
+    UNIFORM {
+        @Override
+        double sample(RandomGenerator random, long latencyMS, long latencyMaxMS, double sigma, double shape) {
+            if (latencyMaxMS <= latencyMS) {
+                return latencyMS;
+            }
+            return latencyMS + random.nextDouble() * (latencyMaxMS - latencyMS);
+        }
+    },
+
+    LOG_NORMAL {
+        @Override
+        double sample(RandomGenerator random, long latencyMS, long latencyMaxMS, double sigma, double shape) {
+            return latencyMS * Math.exp(sigma * random.nextGaussian());
+        }
+    },
+
+    PARETO {
+        @Override
+        double sample(RandomGenerator random, long latencyMS, long latencyMaxMS, double sigma, double shape) {
+            // inverse transform, 1 - u is in (0, 1] so never divides by zero
+            return latencyMS / Math.pow(1.0 - random.nextDouble(), 1.0 / shape);
+        }
+    };
+
+    abstract double sample(RandomGenerator random, long latencyMS, long latencyMaxMS, double sigma, double shape);
+
+    public long sampleMillis(RandomGenerator random, long latencyMS, long latencyMaxMS, double sigma, double shape) {
+        double millis = sample(random, latencyMS, latencyMaxMS, sigma, shape);
+        if (latencyMaxMS > 0) {
+            millis = Math.min(millis, latencyMaxMS);
+        }
+        return Math.max(0, Math.round(millis));
+    }
+}
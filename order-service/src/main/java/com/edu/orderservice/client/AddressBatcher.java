@@ -0,0 +1,235 @@
+package com.edu.orderservice.client;
+
+import com.edu.orderservice.config.OrderMetrics;
+import com.edu.orderservice.dto.AddressDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// -------------------------------------------------------------------------
+// Micro-batcher for address lookups (POST /addresses/batch)
+//
+// Lookups are queued and sent together when either:
+//   - the queue reaches max-batch-size → flushed by the caller that filled it
+//   - linger has elapsed since the first queued lookup → flushed on a
+//     virtual thread started by the timer
+//
+// Each caller gets its own future, completed with its postal code's address
+// or with the exception of the batch call, so retry / circuit breaker see
+// the usual exceptions. A code address-service does not know fails with a
+// 500, as its single GET answers.
+//
+// The timer thread only schedules: the blocking POST of a linger flush
+// never runs on it, so a slow batch call cannot hold back the next timer.
+//
+// max-batch-size must be between 1 and server-max-size, address-service's
+// addresses.batch.max-size, which rejects larger batches with a 400.
+// -------------------------------------------------------------------------
+public class AddressBatcher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AddressBatcher.class);
+
+    private static final ParameterizedTypeReference<List<AddressDTO>> ADDRESS_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final RestTemplate restTemplate;
+    private final String batchUrl;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final OrderMetrics orderMetrics;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService flusher;
+
+    private final Object lock = new Object();
+    private List<PendingLookup> pending = new ArrayList<>();
+    private ScheduledFuture<?> lingerTimer;
+
+    private record PendingLookup(String postalCode, long enqueuedAtNanos, CompletableFuture<AddressDTO> result) {
+    }
+
+    public AddressBatcher(
+            RestTemplate restTemplate,
+            String batchUrl,
+            int maxBatchSize,
+            int serverMaxSize,
+            Duration linger,
+            OrderMetrics orderMetrics
+    ) {
+        if (maxBatchSize < 1 || maxBatchSize > serverMaxSize) {
+            throw new IllegalArgumentException(
+                    "Expected 1 <= max-batch-size <= " + serverMaxSize + " (server-max-size), got " + maxBatchSize);
+        }
+        this.restTemplate = restTemplate;
+        this.batchUrl = batchUrl;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = linger.toNanos();
+        this.orderMetrics = orderMetrics;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "address-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("address-batcher-flush-", 0).factory());
+    }
+
+    // Blocking lookup, the exception of a failed batch call is rethrown as-is
+    public AddressDTO lookup(String postalCode) {
+        try {
+            return submit(postalCode).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<AddressDTO> submit(String postalCode) {
+        PendingLookup lookup = new PendingLookup(postalCode, System.nanoTime(), new CompletableFuture<>());
+        List<PendingLookup> fullBatch = null;
+
+        synchronized (lock) {
+            pending.add(lookup);
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = drain();
+            } else if (pending.size() == 1) {
+                lingerTimer = scheduler.schedule(() -> flusher.execute(this::flushOnLinger),
+                        lingerNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (fullBatch != null) {
+            flush(fullBatch, "SIZE");
+        }
+        return lookup.result();
+    }
+
+    // Direct lookup of a known set of postal codes (no queueing), split into
+    // calls of at most max-batch-size codes. Unknown codes are absent from the map.
+    public Map<String, AddressDTO> lookupAll(Collection<String> postalCodes) {
+        List<String> distinct = postalCodes.stream().distinct().toList();
+        Map<String, AddressDTO> byPostalCode = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += maxBatchSize) {
+            List<String> chunk = distinct.subList(from, Math.min(from + maxBatchSize, distinct.size()));
+            orderMetrics.recordAddressBatch(chunk.size(), chunk.size(), "SIZE");
+            byPostalCode.putAll(fetchBatch(chunk));
+        }
+        return byPostalCode;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        flusher.shutdownNow();
+    }
+
+    private List<PendingLookup> drain() {
+        List<PendingLookup> batch = pending;
+        pending = new ArrayList<>();
+        if (lingerTimer != null) {
+            lingerTimer.cancel(false);
+            lingerTimer = null;
+        }
+        return batch;
+    }
+
+    private void flushOnLinger() {
+        List<PendingLookup> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = drain();
+        }
+        flush(batch, "LINGER");
+    }
+
+    private void flush(List<PendingLookup> batch, String trigger) {
+        long flushedAt = System.nanoTime();
+        for (PendingLookup lookup : batch) {
+            orderMetrics.recordAddressBatchLinger(flushedAt - lookup.enqueuedAtNanos());
+        }
+
+        List<String> postalCodes = batch.stream()
+                .map(PendingLookup::postalCode)
+                .distinct()
+                .toList();
+        orderMetrics.recordAddressBatch(batch.size(), postalCodes.size(), trigger);
+
+        log.debug("Calling Address Service batch. url={}, lookups={}, postalCodes={}, trigger={}",
+                batchUrl, batch.size(), postalCodes.size(), trigger);
+
+        try {
+            Map<String, AddressDTO> byPostalCode = fetchBatch(postalCodes);
+            for (PendingLookup lookup : batch) {
+                AddressDTO address = byPostalCode.get(lookup.postalCode());
+                if (address != null) {
+                    lookup.result().complete(address);
+                } else {
+                    lookup.result().completeExceptionally(notFound(lookup.postalCode()));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Address Service batch failed. lookups={}, reason={}", batch.size(), e.getClass().getSimpleName());
+            for (PendingLookup lookup : batch) {
+                lookup.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    // What RestTemplate throws for the 500 of GET /addresses/{unknown code}
+    private static HttpServerErrorException notFound(String postalCode) {
+        return HttpServerErrorException.create(
+                "Address Not Found: " + postalCode,
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
+                HttpHeaders.EMPTY,
+                null,
+                null
+        );
+    }
+
+    private Map<String, AddressDTO> fetchBatch(List<String> postalCodes) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        ResponseEntity<List<AddressDTO>> response = restTemplate.exchange(
+                batchUrl,
+                HttpMethod.POST,
+                new HttpEntity<>(postalCodes, headers),
+                ADDRESS_LIST
+        );
+
+        Map<String, AddressDTO> byPostalCode = new HashMap<>();
+        if (response.getBody() != null) {
+            for (AddressDTO address : response.getBody()) {
+                byPostalCode.put(address.getPostalCode(), address);
+            }
+        }
+        return byPostalCode;
+    }
+}
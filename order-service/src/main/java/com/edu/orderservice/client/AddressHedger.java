@@ -0,0 +1,150 @@
+package com.edu.orderservice.client;
+
+import com.edu.orderservice.config.OrderMetrics;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// -------------------------------------------------------------------------
+// Hedged address lookups
+//
+// The call is started on a virtual thread; when it has not answered after
+// the hedge delay, an identical second call is started and the first
+// successful answer is returned. A failed call only fails the lookup when
+// the other one failed too (or was never started), so retry and circuit
+// breaker see the usual exceptions. The slower call is left to finish on
+// its own, bounded by the HTTP read timeout.
+//
+// Hedge delay = the configured percentile of the latencies of the last
+// `window` calls, at least min-delay; recomputed every window / 10 calls.
+// No call is hedged before the window holds MIN_SAMPLES latencies.
+//
+// Metrics:
+//   address.hedge.total{result=PRIMARY_WON|HEDGE_WON}  (hedged calls only)
+//   address.hedge.delay
+// -------------------------------------------------------------------------
+public class AddressHedger implements AutoCloseable {
+
+    static final int MIN_SAMPLES = 20;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final OrderMetrics orderMetrics;
+    private final ExecutorService executor;
+
+    private final long[] latencies;
+    private final int recomputeEvery;
+    private long samples;
+    private volatile long delayNanos = Long.MAX_VALUE;
+
+    private record Answer<T>(T value, boolean hedge) {
+    }
+
+    public AddressHedger(boolean enabled, double percentile, Duration minDelay, int window, OrderMetrics orderMetrics) {
+        if (percentile <= 0 || percentile > 1 || window < MIN_SAMPLES) {
+            throw new IllegalArgumentException("Expected 0 < percentile <= 1 and window >= " + MIN_SAMPLES);
+        }
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.orderMetrics = orderMetrics;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.latencies = new long[window];
+        this.recomputeEvery = Math.max(1, window / 10);
+        orderMetrics.registerAddressHedgeDelayGauge(this, AddressHedger::delaySeconds);
+    }
+
+    public <T> T call(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        CompletableFuture<Answer<T>> answer = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger();
+        start(call, false, answer, running);
+
+        long delay = delayNanos;
+        if (delay == Long.MAX_VALUE) {
+            return await(answer).value();
+        }
+        try {
+            return answer.get(delay, TimeUnit.NANOSECONDS).value();
+        } catch (TimeoutException e) {
+            start(call, true, answer, running);
+            Answer<T> first = await(answer);
+            orderMetrics.incrementAddressHedge(first.hedge());
+            return first.value();
+        } catch (ExecutionException e) {
+            // failed before the hedge delay: rethrown by await
+            return await(answer).value();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the address lookup", e);
+        }
+    }
+
+    // Current hedge delay, Long.MAX_VALUE while no call is hedged yet
+    public long delayNanos() {
+        return delayNanos;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> void start(Supplier<T> call, boolean hedge, CompletableFuture<Answer<T>> answer, AtomicInteger running) {
+        running.incrementAndGet();
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                T value = call.get();
+                record(System.nanoTime() - start);
+                answer.complete(new Answer<>(value, hedge));
+            } catch (RuntimeException e) {
+                // the last running call reports its failure
+                if (running.decrementAndGet() == 0) {
+                    answer.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    // The exception of a failed lookup is rethrown as-is
+    private static <T> Answer<T> await(CompletableFuture<Answer<T>> answer) {
+        try {
+            return answer.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private synchronized void record(long nanos) {
+        latencies[(int) (samples % latencies.length)] = nanos;
+        samples++;
+        if (samples >= MIN_SAMPLES && samples % recomputeEvery == 0) {
+            long[] sorted = Arrays.copyOf(latencies, (int) Math.min(samples, latencies.length));
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile * sorted.length) - 1;
+            delayNanos = Math.max(minDelayNanos, sorted[Math.max(rank, 0)]);
+        }
+    }
+
+    private double delaySeconds() {
+        long delay = delayNanos;
+        return delay == Long.MAX_VALUE ? Double.NaN : delay / 1e9;
+    }
+}
@@ -0,0 +1,135 @@
+package com.edu.orderservice.concurrency;
+
+import com.edu.orderservice.config.ConcurrencyLimitProperties;
+import com.edu.orderservice.config.OrderMetrics;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// -------------------------------------------------------------------------
+// Adaptive max-concurrent-calls for a resilience4j semaphore bulkhead
+//
+// orders.concurrency-limit.mode=ADAPTIVE
+//
+// The @Bulkhead itself is unchanged: it still rejects with
+// BulkheadFullException (→ BULKHEAD_FULL) and keeps its events, metrics
+// and health. Only its max-concurrent-calls is moved at runtime:
+//
+//   - callers report the latency of each address-service call (onSample)
+//     and each timeout / connection failure (onDrop)
+//   - every update-interval an AimdLimit turns the interval's mean
+//     latency into a new limit, applied with Bulkhead.changeConfig
+//
+// Near-cache hits make no sample, the limit follows the remote latency
+// only. changeConfig blocks until enough permits are free when the limit
+// shrinks, so it runs on the updater thread, never on a caller holding one.
+// -------------------------------------------------------------------------
+public class AdaptiveBulkhead implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveBulkhead.class);
+
+    private final Bulkhead bulkhead;
+    private final AimdLimit limit;
+    private final LongAdder rttNanos = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicBoolean dropped = new AtomicBoolean();
+    private final ScheduledExecutorService updater;
+
+    public AdaptiveBulkhead(Bulkhead bulkhead, ConcurrencyLimitProperties properties, OrderMetrics orderMetrics) {
+        this.bulkhead = bulkhead;
+        this.limit = new AimdLimit(
+                properties.getInitialLimit(),
+                properties.getMinLimit(),
+                properties.getMaxLimit(),
+                properties.getLatencyTarget().toNanos(),
+                properties.getBackoffRatio()
+        );
+        apply(limit.limit());
+
+        long intervalNanos = properties.getUpdateInterval().toNanos();
+        this.updater = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "concurrency-limit-" + bulkhead.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        updater.scheduleWithFixedDelay(this::update, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+
+        orderMetrics.registerConcurrencyLimitGauges(bulkhead.getName(), this);
+    }
+
+    // Latency of one successful remote call, measured while holding a permit
+    public void onSample(long nanos) {
+        rttNanos.add(nanos);
+        samples.increment();
+        int inFlight = inFlight();
+        peakInFlight.accumulateAndGet(inFlight, Math::max);
+    }
+
+    // A remote call timed out or could not connect
+    public void onDrop() {
+        dropped.set(true);
+    }
+
+    public int limit() {
+        return bulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+    }
+
+    public int inFlight() {
+        Bulkhead.Metrics metrics = bulkhead.getMetrics();
+        return Math.max(0, metrics.getMaxAllowedConcurrentCalls() - metrics.getAvailableConcurrentCalls());
+    }
+
+    public double rttSeconds() {
+        return limit.rttNanos() / 1e9;
+    }
+
+    public double smoothedRttSeconds() {
+        return limit.smoothedRttNanos() / 1e9;
+    }
+
+    void update() {
+        try {
+            long count = samples.sumThenReset();
+            long total = rttNanos.sumThenReset();
+            int peak = peakInFlight.getAndSet(0);
+
+            if (dropped.getAndSet(false)) {
+                apply(limit.drop());
+            } else if (count > 0) {
+                apply(limit.update((double) total / count, peak));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Concurrency limit update failed. bulkhead={}, reason={}", bulkhead.getName(), e.toString());
+        }
+    }
+
+    private void apply(int newLimit) {
+        int current = limit();
+        if (newLimit == current) {
+            return;
+        }
+        log.debug("Concurrency limit changed. bulkhead={}, limit={}, previous={}", bulkhead.getName(), newLimit, current);
+        bulkhead.changeConfig(BulkheadConfig.from(bulkhead.getBulkheadConfig())
+                .maxConcurrentCalls(newLimit)
+                .build());
+    }
+
+    @Override
+    public void close() {
+        updater.shutdownNow();
+        try {
+            updater.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
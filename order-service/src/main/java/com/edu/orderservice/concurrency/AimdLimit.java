@@ -0,0 +1,82 @@
+package com.edu.orderservice.concurrency;
+
+// -------------------------------------------------------------------------
+// AIMD concurrency limit driven by latency
+//
+// Each update looks at the mean latency of the last interval:
+//
+//   latency > latency-target, or a timeout / connection failure
+//       → limit x backoff-ratio   (multiplicative decrease)
+//   latency <= latency-target and the permits were actually used
+//       → limit + 1               (additive increase)
+//
+// For a backend that queues beyond C concurrent calls of latency L0, the
+// limit settles around C x latency-target / L0: higher when address-service
+// is fast, lower as soon as it slows down. While fewer than half of the
+// permits are in use the latency says nothing about a larger limit, it is
+// kept as is.
+// -------------------------------------------------------------------------
+public class AimdLimit {
+
+    // weight of the latest interval in the smoothed latency
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTargetNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private double rttNanos;
+    private double smoothedRttNanos;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, long latencyTargetNanos, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Expected 1 <= minLimit <= maxLimit, got " + minLimit + ".." + maxLimit);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be in (0, 1), got " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = clamp(initialLimit);
+    }
+
+    // meanRttNanos: mean latency of the interval, peakInFlight: most concurrent calls in it
+    public synchronized int update(double meanRttNanos, int peakInFlight) {
+        rttNanos = meanRttNanos;
+        smoothedRttNanos = smoothedRttNanos == 0
+                ? meanRttNanos
+                : smoothedRttNanos + SMOOTHING * (meanRttNanos - smoothedRttNanos);
+
+        if (meanRttNanos > latencyTargetNanos) {
+            limit = clamp(limit * backoffRatio);
+        } else if (peakInFlight >= limit / 2) {
+            limit = clamp(limit + 1);
+        }
+        return limit();
+    }
+
+    public synchronized int drop() {
+        limit = clamp(limit * backoffRatio);
+        return limit();
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized double rttNanos() {
+        return rttNanos;
+    }
+
+    public synchronized double smoothedRttNanos() {
+        return smoothedRttNanos;
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,127 @@
+package com.edu.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "address-service")
+public class AddressServiceProperties {
+
+    // Base URL of the address lookup, the postal code is appended to it
+    private String url = "http://localhost:9093/addresses/";
+
+    // Concurrent lookups of the same postal code share one in-flight call
+    private boolean coalesceRequests = true;
+
+    private HttpClient httpClient = new HttpClient();
+
+    private Cache cache = new Cache();
+
+    private Batch batch = new Batch();
+
+    private Hedge hedge = new Hedge();
+
+    public enum Mode {
+        // JDK HttpURLConnection, no pooling (previous behavior)
+        SIMPLE,
+        // Apache HttpClient 5 with a keep-alive connection pool
+        POOLED
+    }
+
+    @Data
+    public static class HttpClient {
+
+        private Mode mode = Mode.SIMPLE;
+
+        // Time to establish the TCP connection
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        // Time waiting for data after the connection is established
+        private Duration readTimeout = Duration.ofSeconds(3);
+
+        // POOLED only: time waiting for a free connection from the pool
+        private Duration connectionRequestTimeout = Duration.ofMillis(500);
+
+        // POOLED only: pool sizing
+        private int maxTotal = 50;
+        private int maxPerRoute = 20;
+
+        // POOLED only: how long an idle connection may be kept alive
+        // when the server does not send a Keep-Alive header
+        private Duration keepAlive = Duration.ofSeconds(30);
+
+        // POOLED only: idle connections older than this are closed by a background evictor
+        private Duration evictIdleAfter = Duration.ofSeconds(30);
+
+        // POOLED only: reuse responses for their Cache-Control max-age and
+        // revalidate them with If-None-Match once stale
+        private boolean cacheEnabled = true;
+
+        // POOLED only: maximum number of responses kept by that HTTP cache
+        private int cacheMaxEntries = 10_000;
+    }
+
+    @Data
+    public static class Cache {
+
+        // Near-cache of postal code → address in front of the remote call
+        private boolean enabled = false;
+
+        // Maximum number of postal codes kept in memory
+        private long maximumSize = 10_000;
+
+        // Entries younger than this are served without any remote call
+        private Duration ttl = Duration.ofMinutes(10);
+
+        // After ttl, entries are still served for this long while a
+        // background refresh fetches a new value (stale-while-revalidate)
+        private Duration staleWhileRevalidate = Duration.ofMinutes(1);
+
+        // Entries are dropped completely after this age
+        private Duration maxStale = Duration.ofHours(1);
+
+        // When the circuit breaker is OPEN, answer with a stale entry (up to
+        // max-stale) instead of the CIRCUIT_OPEN failure
+        private boolean serveStaleOnCircuitOpen = true;
+    }
+
+    @Data
+    public static class Batch {
+
+        // Send lookups through POST {url}batch instead of one GET per postal code
+        private boolean enabled = false;
+
+        // Path appended to url for the batch endpoint
+        private String path = "batch";
+
+        // A batch is sent as soon as it holds this many lookups...
+        private int maxBatchSize = 50;
+
+        // addresses.batch.max-size of address-service, larger batches are
+        // rejected there with a 400: max-batch-size may not exceed it
+        private int serverMaxSize = 500;
+
+        // ...or when the first queued lookup has waited this long
+        private Duration linger = Duration.ofMillis(5);
+    }
+
+    @Data
+    public static class Hedge {
+
+        // Send a second GET when the first one is slow, keep the first answer
+        private boolean enabled = false;
+
+        // The second GET is sent after this percentile of recent latencies...
+        private double percentile = 0.95;
+
+        // ...but never sooner than this
+        private Duration minDelay = Duration.ofMillis(20);
+
+        // Number of recent latencies the percentile is computed from
+        private int window = 1000;
+    }
+}
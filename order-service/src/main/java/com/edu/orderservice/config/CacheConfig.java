@@ -0,0 +1,25 @@
+package com.edu.orderservice.config;
+
+import com.edu.orderservice.cache.AddressCache;
+import com.edu.orderservice.cache.SingleFlight;
+import com.edu.orderservice.dto.AddressDTO;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public AddressCache addressCache(AddressServiceProperties properties, OrderMetrics orderMetrics) {
+        return new AddressCache(properties.getCache(), orderMetrics, Ticker.systemTicker());
+    }
+
+    @Bean
+    public SingleFlight<String, AddressDTO> addressLookups(OrderMetrics orderMetrics) {
+        SingleFlight<String, AddressDTO> addressLookups =
+                new SingleFlight<>(orderMetrics::incrementAddressLookupCoalesced);
+        orderMetrics.registerAddressLookupInFlightGauge(addressLookups, SingleFlight::inFlight);
+        return addressLookups;
+    }
+}
@@ -0,0 +1,27 @@
+package com.edu.orderservice.config;
+
+import com.edu.orderservice.concurrency.AdaptiveBulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    // ---------------------------------------------------------------------
+    // orders.concurrency-limit.mode=ADAPTIVE drives max-concurrent-calls of
+    // the "order-service" bulkhead (the one of @Bulkhead in OrderServiceImpl
+    // and of the reactive flow) from the observed address-service latency.
+    // FIXED leaves it untouched.
+    // ---------------------------------------------------------------------
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "orders.concurrency-limit.mode", havingValue = "ADAPTIVE")
+    public AdaptiveBulkhead adaptiveBulkhead(
+            BulkheadRegistry bulkheadRegistry,
+            ConcurrencyLimitProperties properties,
+            OrderMetrics orderMetrics
+    ) {
+        return new AdaptiveBulkhead(bulkheadRegistry.bulkhead("order-service"), properties, orderMetrics);
+    }
+}
@@ -0,0 +1,38 @@
+package com.edu.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "orders.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    public enum Mode {
+        // resilience4j.bulkhead max-concurrent-calls, never changed at runtime
+        FIXED,
+        // max-concurrent-calls follows the address-service latency, see AdaptiveBulkhead
+        ADAPTIVE
+    }
+
+    private Mode mode = Mode.FIXED;
+
+    // Limit applied at startup, before any latency has been observed
+    private int initialLimit = 10;
+
+    // Bounds of the adaptive limit
+    private int minLimit = 2;
+    private int maxLimit = 200;
+
+    // Mean address-service latency above which the limit shrinks
+    private Duration latencyTarget = Duration.ofMillis(250);
+
+    // Limit multiplier when the latency is above target or a call timed out
+    private double backoffRatio = 0.9;
+
+    // How often the limit is recomputed from the latencies of that interval
+    private Duration updateInterval = Duration.ofMillis(500);
+}
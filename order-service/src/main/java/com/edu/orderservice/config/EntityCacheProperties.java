@@ -0,0 +1,29 @@
+package com.edu.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "orders.entity-cache")
+public class EntityCacheProperties {
+
+    // Hibernate second-level / query cache regions, by region name.
+    // Every region used by an entity or a cacheable query must be listed.
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+
+        // Maximum number of entries kept in the region
+        private long maximumSize = 10_000;
+
+        // Entries are dropped this long after they were written, 0 = never
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
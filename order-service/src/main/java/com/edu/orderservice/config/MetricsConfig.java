@@ -3,15 +3,23 @@ package com.edu.orderservice.config;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.Counter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class MetricsConfig {
 
     @Bean
-    public OrderMetrics orderMetrics(MeterRegistry meterRegistry) {
-        return new OrderMetrics(meterRegistry);
+    public OrderMetrics orderMetrics(
+            MeterRegistry meterRegistry,
+            @Value("${orders.metrics.postal-codes.top-n:10}") int postalCodeTopN,
+            @Value("${orders.metrics.postal-codes.capacity:100}") int postalCodeCapacity,
+            @Value("${orders.metrics.postal-codes.publish-interval:10s}") Duration postalCodePublishInterval
+    ) {
+        return new OrderMetrics(meterRegistry, postalCodeTopN, postalCodeCapacity, postalCodePublishInterval);
     }
 }
 
@@ -1,18 +1,131 @@
 package com.edu.orderservice.config;
 
+import com.edu.orderservice.chaos.ChaosFaultInjector;
+import com.edu.orderservice.concurrency.AdaptiveBulkhead;
+import com.edu.orderservice.partition.PartitionedResilience;
+import com.edu.orderservice.retry.RetryBudget;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.cache.CacheResponseStatus;
+import org.apache.hc.core5.pool.ConnPoolControl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
 
 public class OrderMetrics {
 
+    // Failure reasons produced by the order flows, registered up front
+    public static final List<String> FAILURE_REASONS = List.of(
+            "CIRCUIT_OPEN",
+            "BULKHEAD_FULL",
+            "RATE_LIMIT",
+            "RETRY_EXHAUSTED",
+            "ORDER_NOT_FOUND",
+            "ADDRESS_NOT_FOUND"
+    );
+
+    static final String OTHER_POSTAL_CODES = "other";
+
+    // Resilience stages timed separately in order.stage.duration
+    public enum Stage {
+        // rate limiter and bulkhead of an order lookup, rejections included
+        ADMISSION,
+        // every attempt and backoff of an address call
+        RETRY,
+        // one attempt through the circuit breaker (and the partition bulkhead)
+        CIRCUIT_BREAKER
+    }
+
+    // Bounds of the percentile histogram buckets, see latencyHistogram()
+    static final Duration LATENCY_MIN_EXPECTED = Duration.ofMillis(1);
+    static final Duration LATENCY_MAX_EXPECTED = Duration.ofSeconds(30);
+
     private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> ordersFailedByReason = new ConcurrentHashMap<>();
+    private final Map<String, Counter> httpClientCacheResponses = new ConcurrentHashMap<>();
+    private final Map<String, Counter> tuningChanges = new ConcurrentHashMap<>();
+    private final StripedSpaceSavingTopK<String> postalCodes;
+    private final MultiGauge ordersByPostalCode;
+    private final int postalCodeTopN;
+    private final long postalCodePublishIntervalNanos;
+    private final AtomicLong nextPostalCodePublishNanos;
     private final Counter ordersProcessedTotal;
     private final Counter ordersSuccessfulTotal;
     private final Timer orderProcessingDuration;
+    private final Counter addressRemoteAttemptSuccess;
+    private final Counter addressRemoteAttemptFailure;
+    private final Timer addressRemoteSuccessDuration;
+    private final Timer addressRemoteFailureDuration;
+    private final Map<Stage, Timer> stageDurations = new EnumMap<>(Stage.class);
+    private final Counter addressCacheHits;
+    private final Counter addressCacheMisses;
+    private final Counter addressCacheEvictions;
+    private final Counter addressCacheStaleWhileRevalidate;
+    private final Counter addressCacheStaleOnCircuitOpen;
+    private final Counter addressLookupsCoalesced;
+    private final DistributionSummary addressBatchSize;
+    private final DistributionSummary addressBatchDistinctPostalCodes;
+    private final Timer addressBatchLinger;
+    private final Counter addressBatchFlushOnSize;
+    private final Counter addressBatchFlushOnLinger;
+    private final Counter rateLimitLeaseGranted;
+    private final Counter rateLimitLeaseExhausted;
+    private final Counter rateLimitLeaseFailed;
+    private final Counter retryBudgetPermitted;
+    private final Counter retryBudgetExhausted;
+    private final Counter addressHedgePrimaryWon;
+    private final Counter addressHedgeHedgeWon;
+    private final Counter partitionsEvicted;
+    private final Counter partitionsOverflowed;
+    private final Map<ChaosFaultInjector.Fault, Counter> chaosFaultsInjected = new EnumMap<>(ChaosFaultInjector.Fault.class);
+    private final Timer chaosLatency;
 
     public OrderMetrics(MeterRegistry meterRegistry) {
+        this(meterRegistry, 10, 100, Duration.ofSeconds(10));
+    }
+
+    // ---------------------------------------------------------------------
+    // postalCodeTopN      → postal codes exposed as their own series
+    // postalCodeCapacity  → postal codes monitored by each stripe of the
+    //                       top-K sketch (striped: orders do not share a lock)
+    // postalCodePublish   → how often the exposed series are refreshed
+    //
+    // order.by.postal.code therefore never has more than topN + 1 series
+    // ("other" holds the rest), whatever the number of postal codes.
+    // ---------------------------------------------------------------------
+    public OrderMetrics(
+            MeterRegistry meterRegistry,
+            int postalCodeTopN,
+            int postalCodeCapacity,
+            Duration postalCodePublishInterval
+    ) {
         this.meterRegistry = meterRegistry;
+        this.postalCodeTopN = postalCodeTopN;
+        this.postalCodes = new StripedSpaceSavingTopK<>(Math.max(postalCodeCapacity, postalCodeTopN));
+        this.postalCodePublishIntervalNanos = postalCodePublishInterval.toNanos();
+        this.nextPostalCodePublishNanos = new AtomicLong(System.nanoTime());
+
+        for (String reason : FAILURE_REASONS) {
+            ordersFailedByReason.put(reason, registerOrdersFailed(reason));
+        }
+
+        this.ordersByPostalCode = MultiGauge.builder("order.by.postal.code")
+                .description("Orders processed for the busiest postal codes (estimated), \"other\" for the rest")
+                .tag("application", "order-service")
+                .register(meterRegistry);
         this.ordersProcessedTotal = Counter.builder("order.processed.total")
                 .description("Total number of orders processed")
                 .tag("application", "order-service")
@@ -23,10 +136,170 @@ public class OrderMetrics {
                 .tag("application", "order-service")
                 .register(meterRegistry);
 
-        this.orderProcessingDuration = Timer.builder("order.processing.duration")
+        this.orderProcessingDuration = latencyHistogram("order.processing.duration")
                 .description("Time taken to process an order")
+                .register(meterRegistry);
+
+        // one per call made to address-service, retries included; compare
+        // with order.processed.total (one per order, whatever the retries)
+        this.addressRemoteAttemptSuccess = Counter.builder("address.remote.attempt.total")
+                .description("Calls made to the Address Service, retries included")
+                .tag("application", "order-service")
+                .tag("result", "SUCCESS")
+                .register(meterRegistry);
+
+        this.addressRemoteAttemptFailure = Counter.builder("address.remote.attempt.total")
+                .description("Calls made to the Address Service, retries included")
+                .tag("application", "order-service")
+                .tag("result", "FAILURE")
+                .register(meterRegistry);
+
+        // same calls as address.remote.attempt.total, with their latency
+        this.addressRemoteSuccessDuration = latencyHistogram("address.remote.duration")
+                .description("Latency of one call to the Address Service, retries excluded")
+                .tag("result", "SUCCESS")
+                .register(meterRegistry);
+
+        this.addressRemoteFailureDuration = latencyHistogram("address.remote.duration")
+                .description("Latency of one call to the Address Service, retries excluded")
+                .tag("result", "FAILURE")
+                .register(meterRegistry);
+
+        // RETRY - CIRCUIT_BREAKER attempts = backoff, CIRCUIT_BREAKER - address.remote.duration = breaker overhead
+        for (Stage stage : Stage.values()) {
+            stageDurations.put(stage, latencyHistogram("order.stage.duration")
+                    .description("Time spent in each resilience stage of an order lookup")
+                    .tag("stage", stage.name())
+                    .register(meterRegistry));
+        }
+
+        this.addressCacheHits = Counter.builder("address.cache.hit.total")
+                .description("Address lookups answered by the near-cache")
+                .tag("application", "order-service")
+                .register(meterRegistry);
+
+        this.addressCacheMisses = Counter.builder("address.cache.miss.total")
+                .description("Address lookups that required a remote call")
+                .tag("application", "order-service")
+                .register(meterRegistry);
+
+        this.addressCacheEvictions = Counter.builder("address.cache.eviction.total")
+                .description("Address cache entries evicted by size or age")
+                .tag("application", "order-service")
+                .register(meterRegistry);
+
+        this.addressCacheStaleWhileRevalidate = Counter.builder("address.cache.stale.served.total")
+                .description("Stale address cache entries served")
+                .tag("application", "order-service")
+                .tag("reason", "REVALIDATE")
+                .register(meterRegistry);
+
+        this.addressCacheStaleOnCircuitOpen = Counter.builder("address.cache.stale.served.total")
+                .description("Stale address cache entries served")
+                .tag("application", "order-service")
+                .tag("reason", "CIRCUIT_OPEN")
+                .register(meterRegistry);
+
+        this.addressLookupsCoalesced = Counter.builder("address.lookup.coalesced.total")
+                .description("Address lookups that joined an in-flight call instead of calling the service")
+                .tag("application", "order-service")
+                .register(meterRegistry);
+
+        // count = batch HTTP calls, total = lookups served → mean = lookups saved per call
+        this.addressBatchSize = DistributionSummary.builder("address.batch.size")
+                .description("Address lookups sent in one batch call")
+                .tag("application", "order-service")
+                .register(meterRegistry);
+
+        this.addressBatchDistinctPostalCodes = DistributionSummary.builder("address.batch.postal.codes")
+                .description("Distinct postal codes sent in one batch call")
+                .tag("application", "order-service")
+                .register(meterRegistry);
+
+        this.addressBatchLinger = Timer.builder("address.batch.linger")
+                .description("Time an address lookup waited in the batch queue")
+                .tag("application", "order-service")
+                .register(meterRegistry);
+
+        this.addressBatchFlushOnSize = Counter.builder("address.batch.flush.total")
+                .description("Address batches flushed")
+                .tag("application", "order-service")
+                .tag("trigger", "SIZE")
+                .register(meterRegistry);
+
+        this.addressBatchFlushOnLinger = Counter.builder("address.batch.flush.total")
+                .description("Address batches flushed")
+                .tag("application", "order-service")
+                .tag("trigger", "LINGER")
+                .register(meterRegistry);
+
+        // one per token store call: requests / calls = tokens served per lease
+        this.rateLimitLeaseGranted = Counter.builder("order.rate.limit.lease.total")
+                .description("Token leases requested from the shared rate limit store")
+                .tag("application", "order-service")
+                .tag("result", "GRANTED")
+                .register(meterRegistry);
+
+        this.rateLimitLeaseExhausted = Counter.builder("order.rate.limit.lease.total")
+                .description("Token leases requested from the shared rate limit store")
+                .tag("application", "order-service")
+                .tag("result", "EXHAUSTED")
+                .register(meterRegistry);
+
+        this.rateLimitLeaseFailed = Counter.builder("order.rate.limit.lease.total")
+                .description("Token leases requested from the shared rate limit store")
+                .tag("application", "order-service")
+                .tag("result", "FAILED")
+                .register(meterRegistry);
+
+        // EXHAUSTED = retries skipped because the budget was spent
+        this.retryBudgetPermitted = Counter.builder("order.retry.budget.total")
+                .description("Retries requested from the retry budget")
+                .tag("application", "order-service")
+                .tag("result", "PERMITTED")
+                .register(meterRegistry);
+
+        this.retryBudgetExhausted = Counter.builder("order.retry.budget.total")
+                .description("Retries requested from the retry budget")
+                .tag("application", "order-service")
+                .tag("result", "EXHAUSTED")
+                .register(meterRegistry);
+
+        // win rate = HEDGE_WON / (PRIMARY_WON + HEDGE_WON)
+        this.addressHedgePrimaryWon = Counter.builder("address.hedge.total")
+                .description("Hedged address lookups by the call that answered first")
+                .tag("application", "order-service")
+                .tag("result", "PRIMARY_WON")
+                .register(meterRegistry);
+
+        this.addressHedgeHedgeWon = Counter.builder("address.hedge.total")
+                .description("Hedged address lookups by the call that answered first")
+                .tag("application", "order-service")
+                .tag("result", "HEDGE_WON")
+                .register(meterRegistry);
+
+        this.partitionsEvicted = Counter.builder("address.partition.evicted.total")
+                .description("Partitions whose circuit breaker and bulkhead were dropped (idle or least recently used)")
+                .tag("application", "order-service")
+                .register(meterRegistry);
+
+        this.partitionsOverflowed = Counter.builder("address.partition.overflow.total")
+                .description("Lookups of a new partition sent to the shared \"other\" partition, max-partitions reached")
+                .tag("application", "order-service")
+                .register(meterRegistry);
+
+        // line up with resilience4j.circuitbreaker.state to see what tripped the breaker
+        for (ChaosFaultInjector.Fault fault : ChaosFaultInjector.Fault.values()) {
+            chaosFaultsInjected.put(fault, Counter.builder("chaos.fault.injected.total")
+                    .description("Faults injected in front of Address Service calls")
+                    .tag("application", "order-service")
+                    .tag("fault", fault.name())
+                    .register(meterRegistry));
+        }
+
+        this.chaosLatency = Timer.builder("chaos.fault.latency")
+                .description("Latency injected in front of Address Service calls")
                 .tag("application", "order-service")
-                .publishPercentiles(0.5, 0.95, 0.99)
                 .register(meterRegistry);
     }
 
@@ -39,21 +312,206 @@ public class OrderMetrics {
     }
 
     public void incrementOrdersFailed(String reason) {
-        Counter.builder("order.failed.total")
+        Counter counter = ordersFailedByReason.get(reason);
+        if (counter == null) {
+            // not a known reason: registered once, then served from the map
+            counter = ordersFailedByReason.computeIfAbsent(reason, this::registerOrdersFailed);
+        }
+        counter.increment();
+    }
+
+    public void incrementOrdersByPostalCode(String postalCode) {
+        postalCodes.add(postalCode);
+
+        // one caller per interval refreshes the exposed series
+        long now = System.nanoTime();
+        long next = nextPostalCodePublishNanos.get();
+        if (now - next >= 0 && nextPostalCodePublishNanos.compareAndSet(next, now + postalCodePublishIntervalNanos)) {
+            publishOrdersByPostalCode();
+        }
+    }
+
+    public void publishOrdersByPostalCode() {
+        SpaceSavingTopK.Snapshot<String> snapshot = postalCodes.snapshot(postalCodeTopN);
+
+        List<MultiGauge.Row<?>> rows = new ArrayList<>(snapshot.top().size() + 1);
+        long reported = 0;
+        for (SpaceSavingTopK.Estimate<String> estimate : snapshot.top()) {
+            rows.add(MultiGauge.Row.of(Tags.of("postal_code", estimate.key()), estimate.count()));
+            reported += estimate.count();
+        }
+        rows.add(MultiGauge.Row.of(Tags.of("postal_code", OTHER_POSTAL_CODES), Math.max(0, snapshot.total() - reported)));
+
+        // overwrite = true → postal codes that left the top N are removed
+        ordersByPostalCode.register(rows, true);
+    }
+
+    private Counter registerOrdersFailed(String reason) {
+        return Counter.builder("order.failed.total")
                 .description("Total number of failed orders")
                 .tag("application", "order-service")
                 .tag("reason", reason)
-                .register(meterRegistry)
-                .increment();
+                .register(meterRegistry);
     }
 
-    public void incrementOrdersByPostalCode(String postalCode) {
-        Counter.builder("order.by.postal.code")
-                .description("Orders processed by postal code")
+    public void recordAddressRemoteAttempt(boolean success, long nanos) {
+        if (success) {
+            addressRemoteAttemptSuccess.increment();
+            addressRemoteSuccessDuration.record(nanos, TimeUnit.NANOSECONDS);
+        } else {
+            addressRemoteAttemptFailure.increment();
+            addressRemoteFailureDuration.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordStageDuration(Stage stage, long nanos) {
+        stageDurations.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void incrementAddressCacheHit() {
+        addressCacheHits.increment();
+    }
+
+    public void incrementAddressCacheMiss() {
+        addressCacheMisses.increment();
+    }
+
+    public void incrementAddressCacheEviction() {
+        addressCacheEvictions.increment();
+    }
+
+    public void incrementAddressCacheStaleWhileRevalidate() {
+        addressCacheStaleWhileRevalidate.increment();
+    }
+
+    public void incrementAddressCacheStaleOnCircuitOpen() {
+        addressCacheStaleOnCircuitOpen.increment();
+    }
+
+    public <T> void registerAddressCacheSizeGauge(T cache, ToDoubleFunction<T> size) {
+        Gauge.builder("address.cache.size", cache, size)
+                .description("Number of postal codes held in the address cache")
+                .tag("application", "order-service")
+                .register(meterRegistry);
+    }
+
+    public void incrementAddressLookupCoalesced() {
+        addressLookupsCoalesced.increment();
+    }
+
+    public <T> void registerAddressLookupInFlightGauge(T singleFlight, ToDoubleFunction<T> inFlight) {
+        Gauge.builder("address.lookup.inflight", singleFlight, inFlight)
+                .description("Distinct postal codes with an address call in flight")
+                .tag("application", "order-service")
+                .register(meterRegistry);
+    }
+
+    public void recordAddressBatch(int lookups, int distinctPostalCodes, String trigger) {
+        addressBatchSize.record(lookups);
+        addressBatchDistinctPostalCodes.record(distinctPostalCodes);
+        if ("SIZE".equals(trigger)) {
+            addressBatchFlushOnSize.increment();
+        } else {
+            addressBatchFlushOnLinger.increment();
+        }
+    }
+
+    public void recordAddressBatchLinger(long nanos) {
+        addressBatchLinger.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void incrementRateLimitLease(boolean granted) {
+        if (granted) {
+            rateLimitLeaseGranted.increment();
+        } else {
+            rateLimitLeaseExhausted.increment();
+        }
+    }
+
+    // the token store threw: the calls of that window are refused
+    public void incrementRateLimitLeaseFailed() {
+        rateLimitLeaseFailed.increment();
+    }
+
+    public void incrementRetryBudget(boolean permitted) {
+        if (permitted) {
+            retryBudgetPermitted.increment();
+        } else {
+            retryBudgetExhausted.increment();
+        }
+    }
+
+    public void registerRetryBudgetGauge(String retry, RetryBudget budget) {
+        Gauge.builder("order.retry.budget.balance", budget, RetryBudget::balance)
+                .description("Retries currently left in the retry budget")
+                .tag("application", "order-service")
+                .tag("retry", retry)
+                .register(meterRegistry);
+    }
+
+    public void incrementAddressHedge(boolean hedgeWon) {
+        if (hedgeWon) {
+            addressHedgeHedgeWon.increment();
+        } else {
+            addressHedgePrimaryWon.increment();
+        }
+    }
+
+    public <T> void registerAddressHedgeDelayGauge(T hedger, ToDoubleFunction<T> delaySeconds) {
+        Gauge.builder("address.hedge.delay", hedger, delaySeconds)
+                .description("Wait before a second address lookup is sent, NaN until enough latencies are known")
+                .tag("application", "order-service")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public void incrementPartitionEvicted() {
+        partitionsEvicted.increment();
+    }
+
+    public void incrementPartitionOverflow() {
+        partitionsOverflowed.increment();
+    }
+
+    // one series per circuit state, whatever the number of partitions
+    public void registerPartitionGauges(PartitionedResilience partitions) {
+        for (CircuitBreaker.State state : List.of(
+                CircuitBreaker.State.CLOSED, CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN)) {
+            Gauge.builder("address.partition.count", partitions, p -> p.countInState(state))
+                    .description("Postal code partitions with their own circuit breaker, by circuit state")
+                    .tag("application", "order-service")
+                    .tag("state", state.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    public void incrementChaosFault(ChaosFaultInjector.Fault fault) {
+        chaosFaultsInjected.get(fault).increment();
+    }
+
+    public void recordChaosLatency(long millis) {
+        chaosFaultsInjected.get(ChaosFaultInjector.Fault.LATENCY).increment();
+        chaosLatency.record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    public <T> void registerChaosActiveGauge(T injector, ToDoubleFunction<T> active) {
+        Gauge.builder("chaos.fault.active", injector, active)
+                .description("1 while faults may be injected (enabled and inside a scheduled window)")
                 .tag("application", "order-service")
-                .tag("postal_code", postalCode)
-                .register(meterRegistry)
-                .increment();
+                .register(meterRegistry);
+    }
+
+    // one per runtime settings change made through the tuning endpoint
+    public void incrementTuningChange(String component, boolean applied) {
+        String result = applied ? "APPLIED" : "REJECTED";
+        tuningChanges.computeIfAbsent(component + ':' + result, key ->
+                Counter.builder("order.tuning.change.total")
+                        .description("Runtime settings changes requested through /actuator/tuning")
+                        .tag("application", "order-service")
+                        .tag("component", component)
+                        .tag("result", result)
+                        .register(meterRegistry)
+        ).increment();
     }
 
     public Timer.Sample startOrderProcessingTimer() {
@@ -63,5 +521,96 @@ public class OrderMetrics {
     public void recordOrderProcessingDuration(Timer.Sample sample) {
         sample.stop(orderProcessingDuration);
     }
-}
 
+    public void recordOrderProcessingDuration(long nanos) {
+        orderProcessingDuration.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // ---------------------------------------------------------------------
+    // Latency timer exported as a Prometheus histogram: cumulative
+    // _bucket{le} series that can be summed across replicas and turned into
+    // any quantile with histogram_quantile(), instead of per-instance
+    // client-side percentiles that cannot be aggregated.
+    //
+    // Buckets are Micrometer's percentile histogram (log-linear, like
+    // HdrHistogram's, between LATENCY_MIN_EXPECTED and LATENCY_MAX_EXPECTED)
+    // plus the SLO boundaries of management.metrics.distribution.slo, which
+    // also override the bounds or turn the percentile buckets off per meter.
+    // ---------------------------------------------------------------------
+    private static Timer.Builder latencyHistogram(String name) {
+        return Timer.builder(name)
+                .tag("application", "order-service")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(LATENCY_MIN_EXPECTED)
+                .maximumExpectedValue(LATENCY_MAX_EXPECTED);
+    }
+
+    public void registerConnectionPoolGauges(String pool, ConnPoolControl<?> connPool) {
+        Gauge.builder("http.client.pool.leased", connPool, p -> p.getTotalStats().getLeased())
+                .description("Connections currently in use")
+                .tag("application", "order-service")
+                .tag("pool", pool)
+                .register(meterRegistry);
+
+        Gauge.builder("http.client.pool.available", connPool, p -> p.getTotalStats().getAvailable())
+                .description("Idle connections kept alive in the pool")
+                .tag("application", "order-service")
+                .tag("pool", pool)
+                .register(meterRegistry);
+
+        Gauge.builder("http.client.pool.pending", connPool, p -> p.getTotalStats().getPending())
+                .description("Requests waiting for a connection")
+                .tag("application", "order-service")
+                .tag("pool", pool)
+                .register(meterRegistry);
+
+        Gauge.builder("http.client.pool.max", connPool, p -> p.getTotalStats().getMax())
+                .description("Maximum number of connections in the pool")
+                .tag("application", "order-service")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    // result: CACHE_HIT (no call), VALIDATED (304 Not Modified), CACHE_MISS,
+    // CACHE_MODULE_RESPONSE (answered by the cache itself) or FAILURE
+    public void incrementHttpClientCache(String pool, CacheResponseStatus status) {
+        httpClientCacheResponses.computeIfAbsent(pool + ':' + status, key ->
+                Counter.builder("http.client.cache.total")
+                        .description("Responses by HTTP cache outcome")
+                        .tag("application", "order-service")
+                        .tag("pool", pool)
+                        .tag("result", status.name())
+                        .register(meterRegistry)
+        ).increment();
+    }
+
+    public void registerConcurrencyLimitGauges(String bulkhead, AdaptiveBulkhead limiter) {
+        Gauge.builder("order.concurrency.limit", limiter, AdaptiveBulkhead::limit)
+                .description("Current adaptive max-concurrent-calls of the bulkhead")
+                .tag("application", "order-service")
+                .tag("bulkhead", bulkhead)
+                .register(meterRegistry);
+
+        Gauge.builder("order.concurrency.inflight", limiter, AdaptiveBulkhead::inFlight)
+                .description("Calls currently holding a bulkhead permit")
+                .tag("application", "order-service")
+                .tag("bulkhead", bulkhead)
+                .register(meterRegistry);
+
+        Gauge.builder("order.concurrency.rtt", limiter, AdaptiveBulkhead::rttSeconds)
+                .description("Mean address-service latency of the last limit update")
+                .tag("application", "order-service")
+                .tag("bulkhead", bulkhead)
+                .tag("window", "interval")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        Gauge.builder("order.concurrency.rtt", limiter, AdaptiveBulkhead::smoothedRttSeconds)
+                .description("Smoothed address-service latency across limit updates")
+                .tag("application", "order-service")
+                .tag("bulkhead", bulkhead)
+                .tag("window", "smoothed")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+}
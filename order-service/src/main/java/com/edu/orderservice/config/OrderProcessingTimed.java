@@ -0,0 +1,13 @@
+package com.edu.orderservice.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Records the whole invocation into order.processing.duration,
+// see OrderProcessingTimingAspect
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OrderProcessingTimed {
+}
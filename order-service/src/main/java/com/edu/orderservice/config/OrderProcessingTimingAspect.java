@@ -0,0 +1,64 @@
+package com.edu.orderservice.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// -------------------------------------------------------------------------
+// Per-call order processing timer
+//
+// Runs OUTSIDE the Resilience4j aspects (highest precedence), so one
+// invocation is one sample:
+//
+//   Timing → RateLimiter → Bulkhead → method
+//                                       → Retry → CircuitBreaker (callAddressService)
+//
+// - retry attempts and backoff, applied in the method body around the
+//   address call, are part of the recorded duration
+// - fallbacks (rate limit, bulkhead, retry exhausted, circuit open) are
+//   recorded too, they return through this aspect
+// - the start time lives on the caller's stack: no shared state, so
+//   concurrent calls for the same order number cannot overwrite each other
+// - a thread-local copy of it lets the method body and the rate limiter /
+//   bulkhead fallbacks, which run on the same thread, time the ADMISSION
+//   stage (see elapsedNanos)
+// -------------------------------------------------------------------------
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OrderProcessingTimingAspect {
+
+    private static final ThreadLocal<Long> callStart = new ThreadLocal<>();
+
+    private final OrderMetrics orderMetrics;
+
+    public OrderProcessingTimingAspect(OrderMetrics orderMetrics) {
+        this.orderMetrics = orderMetrics;
+    }
+
+    @Around("@annotation(com.edu.orderservice.config.OrderProcessingTimed)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Long outer = callStart.get();
+        callStart.set(start);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            orderMetrics.recordOrderProcessingDuration(System.nanoTime() - start);
+            if (outer == null) {
+                callStart.remove();
+            } else {
+                callStart.set(outer);
+            }
+        }
+    }
+
+    // Time since the timed call running on this thread started, -1 outside of one
+    public static long elapsedNanos() {
+        Long start = callStart.get();
+        return start == null ? -1 : System.nanoTime() - start;
+    }
+}
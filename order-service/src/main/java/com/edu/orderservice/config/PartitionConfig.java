@@ -0,0 +1,63 @@
+package com.edu.orderservice.config;
+
+import com.edu.orderservice.partition.PartitionedResilience;
+import com.edu.orderservice.partition.PartitionsHealthIndicator;
+import com.edu.orderservice.partition.PostalCodePartitioner;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "orders.partitions.enabled", havingValue = "true")
+public class PartitionConfig {
+
+    public static final String LOOKUP_BULKHEAD = "partitioned-lookup";
+
+    // ---------------------------------------------------------------------
+    // orders.partitions.enabled=true gives every postal code partition its
+    // own circuit breaker and bulkhead for address lookups (see
+    // PartitionedResilience). Partitions are the first prefix-length
+    // characters of the postal code unless a PostalCodePartitioner bean is
+    // declared.
+    //
+    // The @Bulkhead of a single lookup admits it before its partition is
+    // known: sharing the small "order-service" limit, callers waiting on one
+    // slow partition would hold every slot and stall the other partitions.
+    // Single lookups get their own "partitioned-lookup" bulkhead instead
+    // (OrderServiceImpl.LOOKUP_BULKHEAD), sized for what all partitions may
+    // run together, so the partition bulkheads are what limits their
+    // address calls. Bulk and reactive lookups keep "order-service".
+    // ---------------------------------------------------------------------
+    @Bean(destroyMethod = "close")
+    public PartitionedResilience partitionedResilience(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            PartitionProperties properties,
+            ObjectProvider<PostalCodePartitioner> partitioner,
+            OrderMetrics orderMetrics
+    ) {
+        BulkheadConfig shared = bulkheadRegistry.bulkhead("order-service").getBulkheadConfig();
+        bulkheadRegistry.bulkhead(LOOKUP_BULKHEAD, BulkheadConfig.from(shared)
+                .maxConcurrentCalls(properties.getMaxConcurrentCalls() * (properties.getMaxPartitions() + 1))
+                .build());
+
+        return new PartitionedResilience(
+                circuitBreakerRegistry,
+                bulkheadRegistry,
+                "order-service",
+                partitioner.getIfAvailable(() -> PostalCodePartitioner.prefix(properties.getPrefixLength())),
+                properties,
+                System::nanoTime,
+                orderMetrics
+        );
+    }
+
+    @Bean
+    public PartitionsHealthIndicator addressPartitionsHealthIndicator(PartitionedResilience partitionedResilience) {
+        return new PartitionsHealthIndicator(partitionedResilience);
+    }
+}
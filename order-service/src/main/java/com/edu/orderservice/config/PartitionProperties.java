@@ -0,0 +1,29 @@
+package com.edu.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "orders.partitions")
+public class PartitionProperties {
+
+    // One circuit breaker and bulkhead per postal code partition for address lookups
+    private boolean enabled = false;
+
+    // Default partitioner: the first N characters of the postal code
+    private int prefixLength = 2;
+
+    // Partitions with their own instances; further ones share the "other" partition.
+    // 100 = every numeric prefix of the default prefix-length
+    private int maxPartitions = 100;
+
+    // Concurrent address-service calls per partition
+    private int maxConcurrentCalls = 10;
+
+    // A partition unused for this long (circuit CLOSED, no call in flight) is dropped
+    private Duration idleTimeout = Duration.ofMinutes(10);
+}
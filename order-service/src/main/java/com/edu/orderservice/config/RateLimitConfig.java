@@ -0,0 +1,50 @@
+package com.edu.orderservice.config;
+
+import com.edu.orderservice.ratelimit.DistributedRateLimiter;
+import com.edu.orderservice.ratelimit.InMemoryTokenStore;
+import com.edu.orderservice.ratelimit.TokenStore;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RateLimitConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitConfig.class);
+
+    // ---------------------------------------------------------------------
+    // orders.rate-limit.mode=DISTRIBUTED replaces the "order-service" rate
+    // limiter (the one of @RateLimiter in OrderServiceImpl) with one whose
+    // budget is shared through the TokenStore bean. Without such a bean the
+    // in-memory store is used and the budget stays per replica.
+    // ---------------------------------------------------------------------
+    @Bean
+    @ConditionalOnProperty(name = "orders.rate-limit.mode", havingValue = "DISTRIBUTED")
+    public DistributedRateLimiter distributedRateLimiter(
+            RateLimiterRegistry rateLimiterRegistry,
+            RateLimitProperties properties,
+            ObjectProvider<TokenStore> tokenStore,
+            OrderMetrics orderMetrics
+    ) {
+        RateLimiter local = rateLimiterRegistry.rateLimiter("order-service");
+        DistributedRateLimiter distributed = new DistributedRateLimiter(
+                local.getName(),
+                local.getRateLimiterConfig(),
+                tokenStore.getIfAvailable(() -> {
+                    log.warn("No TokenStore bean, the rate limit budget is not shared between replicas");
+                    return new InMemoryTokenStore();
+                }),
+                properties.getKey(),
+                properties.getLeaseSize(),
+                System::currentTimeMillis,
+                orderMetrics
+        );
+        rateLimiterRegistry.replace(local.getName(), distributed);
+        return distributed;
+    }
+}
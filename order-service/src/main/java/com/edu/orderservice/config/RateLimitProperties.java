@@ -0,0 +1,27 @@
+package com.edu.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "orders.rate-limit")
+public class RateLimitProperties {
+
+    public enum Mode {
+        // resilience4j rate limiter, limit-for-period per replica
+        LOCAL,
+        // limit-for-period shared by all replicas through a TokenStore
+        DISTRIBUTED
+    }
+
+    private Mode mode = Mode.LOCAL;
+
+    // Budget name in the token store, replicas with the same key share it
+    private String key = "order-service";
+
+    // DISTRIBUTED only: tokens taken from the store at once and served locally,
+    // capped at limit-for-period
+    private int leaseSize = 2;
+}
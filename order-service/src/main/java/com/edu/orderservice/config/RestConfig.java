@@ -1,23 +1,182 @@
 package com.edu.orderservice.config;
 
+import com.edu.orderservice.client.AddressBatcher;
+import com.edu.orderservice.client.AddressHedger;
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.cache.HttpCacheContext;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.cache.CacheConfig;
+import org.apache.hc.client5.http.impl.cache.CachingHttpClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class RestConfig {
+
+    // ---------------------------------------------------------------------
+    // address-service.http-client.mode selects the transport:
+    //
+    // - SIMPLE → HttpURLConnection, a new TCP connection may be opened per call
+    // - POOLED → Apache HttpClient 5, connections are kept alive and reused,
+    //            so retries and bursts do not pay a handshake each time
+    //
+    // POOLED with cache-enabled also keeps responses in a private HTTP
+    // cache: a response is reused without a call while its Cache-Control
+    // max-age lasts, then revalidated with If-None-Match, a 304 Not
+    // Modified refreshing the cached copy instead of downloading it again.
+    //
+    // The factory is a separate bean so Spring closes the pool on shutdown.
+    // ---------------------------------------------------------------------
     @Bean
-    public RestTemplate restTemplate() {
+    public ClientHttpRequestFactory addressServiceRequestFactory(
+            AddressServiceProperties properties,
+            OrderMetrics orderMetrics
+    ) {
+        AddressServiceProperties.HttpClient httpClient = properties.getHttpClient();
+        if (httpClient.getMode() == AddressServiceProperties.Mode.POOLED) {
+            return pooledRequestFactory(httpClient, orderMetrics);
+        }
+        return simpleRequestFactory(httpClient);
+    }
 
+    @Bean
+    public RestTemplate restTemplate(ClientHttpRequestFactory addressServiceRequestFactory) {
+        return new RestTemplate(addressServiceRequestFactory);
+    }
+
+    @Bean
+    public AddressBatcher addressBatcher(
+            RestTemplate restTemplate,
+            AddressServiceProperties properties,
+            OrderMetrics orderMetrics
+    ) {
+        AddressServiceProperties.Batch batch = properties.getBatch();
+        return new AddressBatcher(
+                restTemplate,
+                properties.getUrl() + batch.getPath(),
+                batch.getMaxBatchSize(),
+                batch.getServerMaxSize(),
+                batch.getLinger(),
+                orderMetrics
+        );
+    }
+
+    @Bean
+    public AddressHedger addressHedger(AddressServiceProperties properties, OrderMetrics orderMetrics) {
+        AddressServiceProperties.Hedge hedge = properties.getHedge();
+        return new AddressHedger(
+                hedge.isEnabled(),
+                hedge.getPercentile(),
+                hedge.getMinDelay(),
+                hedge.getWindow(),
+                orderMetrics
+        );
+    }
+
+    // ---------------------------------------------------------------------
+    // Non-blocking client used by the reactive order flow. It follows the
+    // same http-client settings as the POOLED RestTemplate transport.
+    // ---------------------------------------------------------------------
+    @Bean
+    public WebClient addressServiceWebClient(WebClient.Builder builder, AddressServiceProperties properties) {
+        AddressServiceProperties.HttpClient httpClient = properties.getHttpClient();
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("address-service")
+                .maxConnections(httpClient.getMaxTotal())
+                .pendingAcquireTimeout(httpClient.getConnectionRequestTimeout())
+                .maxIdleTime(httpClient.getEvictIdleAfter())
+                .evictInBackground(httpClient.getEvictIdleAfter())
+                .build();
+
+        reactor.netty.http.client.HttpClient client = reactor.netty.http.client.HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) httpClient.getConnectTimeout().toMillis())
+                .responseTimeout(httpClient.getReadTimeout());
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(client))
+                .build();
+    }
+
+    static SimpleClientHttpRequestFactory simpleRequestFactory(AddressServiceProperties.HttpClient httpClient) {
         SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout((int) httpClient.getConnectTimeout().toMillis());
+        factory.setReadTimeout((int) httpClient.getReadTimeout().toMillis());
+        return factory;
+    }
 
-        // Time to establish the connection
-        //factory.setConnectTimeout(2_000); // 2 seconds
+    static HttpComponentsClientHttpRequestFactory pooledRequestFactory(
+            AddressServiceProperties.HttpClient httpClient,
+            OrderMetrics orderMetrics
+    ) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(httpClient.getMaxTotal())
+                .setMaxConnPerRoute(httpClient.getMaxPerRoute())
+                .build();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(httpClient.getConnectTimeout().toMillis()))
+                .setResponseTimeout(Timeout.ofMilliseconds(httpClient.getReadTimeout().toMillis()))
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(httpClient.getConnectionRequestTimeout().toMillis()))
+                .setDefaultKeepAlive(httpClient.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+
+        HttpClientBuilder builder = httpClient.isCacheEnabled()
+                ? cachingClientBuilder(httpClient, orderMetrics)
+                : HttpClients.custom();
+
+        // Resilience4j's retry and its budget are the only retry layer: the
+        // client's default strategy would silently resend a reset GET once
+        CloseableHttpClient client = builder
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .disableAutomaticRetries()
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(httpClient.getEvictIdleAfter().toMillis()))
+                .build();
+
+        orderMetrics.registerConnectionPoolGauges("address-service", connectionManager);
+
+        return new HttpComponentsClientHttpRequestFactory(client);
+    }
 
-        // Time waiting for data after connection is established
-        //factory.setReadTimeout(3_000); // 3 seconds
+    // Responses without Cache-Control / Expires are never cached (heuristic
+    // caching stays off), so only what address-service allows is reused
+    private static HttpClientBuilder cachingClientBuilder(
+            AddressServiceProperties.HttpClient httpClient,
+            OrderMetrics orderMetrics
+    ) {
+        CacheConfig cacheConfig = CacheConfig.custom()
+                .setMaxCacheEntries(httpClient.getCacheMaxEntries())
+                .setSharedCache(false)
+                .build();
 
-        return new RestTemplate(factory);
+        return CachingHttpClients.custom()
+                .setCacheConfig(cacheConfig)
+                .addExecInterceptorFirst("cache-metrics", (request, scope, chain) -> {
+                    try {
+                        return chain.proceed(request, scope);
+                    } finally {
+                        HttpCacheContext context = HttpCacheContext.adapt(scope.clientContext);
+                        if (context.getCacheResponseStatus() != null) {
+                            orderMetrics.incrementHttpClientCache("address-service", context.getCacheResponseStatus());
+                        }
+                    }
+                });
     }
 }
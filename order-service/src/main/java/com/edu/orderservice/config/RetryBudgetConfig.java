@@ -0,0 +1,41 @@
+package com.edu.orderservice.config;
+
+import com.edu.orderservice.retry.BudgetedRetry;
+import com.edu.orderservice.retry.RetryBudget;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RetryBudgetConfig {
+
+    // ---------------------------------------------------------------------
+    // orders.retry-budget.enabled=true replaces the "order-service" retry
+    // (retryRegistry.retry(...) in OrderServiceImpl.callAddressService,
+    // RetryOperator in ReactiveOrderServiceImpl)
+    // with one that stops retrying once the budget is spent, so a failing
+    // address-service sees at most `percent` extra load instead of
+    // max-attempts times the traffic.
+    // ---------------------------------------------------------------------
+    @Bean
+    @ConditionalOnProperty(name = "orders.retry-budget.enabled", havingValue = "true")
+    public BudgetedRetry budgetedRetry(
+            RetryRegistry retryRegistry,
+            RetryBudgetProperties properties,
+            OrderMetrics orderMetrics
+    ) {
+        Retry retry = retryRegistry.retry("order-service");
+        RetryBudget budget = new RetryBudget(
+                properties.getPercent() / 100,
+                properties.getMinRetriesPerSecond(),
+                properties.getMaxBalance(),
+                System::nanoTime
+        );
+        BudgetedRetry budgeted = new BudgetedRetry(retry, budget, orderMetrics);
+        retryRegistry.replace(retry.getName(), budgeted);
+        orderMetrics.registerRetryBudgetGauge(retry.getName(), budget);
+        return budgeted;
+    }
+}
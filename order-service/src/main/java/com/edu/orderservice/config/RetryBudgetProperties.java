@@ -0,0 +1,23 @@
+package com.edu.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "orders.retry-budget")
+public class RetryBudgetProperties {
+
+    // Pay every retry of the "order-service" retry from a token bucket
+    private boolean enabled = false;
+
+    // Retries allowed, as a percentage of recent successful calls
+    private double percent = 20;
+
+    // Tokens added per second whatever the traffic, so a quiet service can still retry
+    private double minRetriesPerSecond = 1;
+
+    // Upper bound of the bucket, also its content at startup
+    private double maxBalance = 10;
+}
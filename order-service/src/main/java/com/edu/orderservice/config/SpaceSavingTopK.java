@@ -0,0 +1,187 @@
+package com.edu.orderservice.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// -------------------------------------------------------------------------
+// Heavy-hitter tracker ("space-saving" sketch)
+//
+// At most `capacity` keys are monitored, whatever the number of distinct
+// keys seen:
+//
+//   - monitored key      → its counter is incremented
+//   - new key, free slot → starts at 1
+//   - new key, full      → replaces the key with the smallest count and
+//                          inherits that count + 1 (the inherited part is
+//                          kept as `error`, the maximum overestimation)
+//
+// Any key seen more than total / capacity times is guaranteed to be
+// monitored, so the top of the list is reliable as long as capacity is
+// comfortably larger than the number of keys reported.
+//
+// Counters are kept in buckets of equal count, ordered by count
+// ("stream-summary"), so incrementing a key and replacing the minimum are
+// both O(1): no scan, whatever the capacity.
+// -------------------------------------------------------------------------
+public class SpaceSavingTopK<K> {
+
+    public record Estimate<K>(K key, long count, long error) {
+    }
+
+    public record Snapshot<K>(List<Estimate<K>> top, long total) {
+    }
+
+    private static final class Slot<K> {
+        private K key;
+        private long error;
+        private Bucket<K> bucket;
+        private Slot<K> prev;
+        private Slot<K> next;
+
+        private Slot(K key) {
+            this.key = key;
+        }
+    }
+
+    // all slots with the same count, buckets linked in ascending count
+    private static final class Bucket<K> {
+        private long count;
+        private Slot<K> head;
+        private Bucket<K> prev;
+        private Bucket<K> next;
+
+        private Bucket(long count) {
+            this.count = count;
+        }
+    }
+
+    private final int capacity;
+    private final Map<K, Slot<K>> slots;
+    private Bucket<K> minBucket;
+    private long total;
+
+    public SpaceSavingTopK(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.slots = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void add(K key) {
+        total++;
+
+        Slot<K> slot = slots.get(key);
+        if (slot != null) {
+            increment(slot);
+            return;
+        }
+
+        if (slots.size() < capacity) {
+            slot = new Slot<>(key);
+            slots.put(key, slot);
+            if (minBucket == null || minBucket.count != 1) {
+                Bucket<K> first = new Bucket<>(1);
+                first.next = minBucket;
+                if (minBucket != null) {
+                    minBucket.prev = first;
+                }
+                minBucket = first;
+            }
+            attach(slot, minBucket);
+            return;
+        }
+
+        // full: the new key takes over a slot with the smallest count
+        Slot<K> victim = minBucket.head;
+        slots.remove(victim.key);
+        victim.key = key;
+        victim.error = minBucket.count;
+        slots.put(key, victim);
+        increment(victim);
+    }
+
+    public synchronized Snapshot<K> snapshot(int n) {
+        List<Estimate<K>> estimates = new ArrayList<>(slots.size());
+        for (Slot<K> slot : slots.values()) {
+            estimates.add(new Estimate<>(slot.key, slot.bucket.count, slot.error));
+        }
+        estimates.sort(Comparator.comparingLong(Estimate<K>::count).reversed());
+
+        List<Estimate<K>> top = estimates.size() > n ? List.copyOf(estimates.subList(0, n)) : estimates;
+        return new Snapshot<>(top, total);
+    }
+
+    public synchronized int monitored() {
+        return slots.size();
+    }
+
+    // Most a key that is not monitored can have been added: 0 while slots are
+    // free (it was never added), the smallest count once they are all taken
+    public synchronized long minCount() {
+        return slots.size() < capacity ? 0 : minBucket.count;
+    }
+
+    private void increment(Slot<K> slot) {
+        Bucket<K> bucket = slot.bucket;
+        long count = bucket.count + 1;
+        Bucket<K> next = bucket.next;
+
+        // alone in its bucket and no bucket for count + 1 → bump in place
+        if (bucket.head == slot && slot.next == null && (next == null || next.count != count)) {
+            bucket.count = count;
+            return;
+        }
+
+        if (next == null || next.count != count) {
+            next = new Bucket<>(count);
+            next.prev = bucket;
+            next.next = bucket.next;
+            if (bucket.next != null) {
+                bucket.next.prev = next;
+            }
+            bucket.next = next;
+        }
+
+        detach(slot);
+        attach(slot, next);
+    }
+
+    private void attach(Slot<K> slot, Bucket<K> bucket) {
+        slot.bucket = bucket;
+        slot.prev = null;
+        slot.next = bucket.head;
+        if (bucket.head != null) {
+            bucket.head.prev = slot;
+        }
+        bucket.head = slot;
+    }
+
+    private void detach(Slot<K> slot) {
+        Bucket<K> bucket = slot.bucket;
+        if (slot.prev != null) {
+            slot.prev.next = slot.next;
+        } else {
+            bucket.head = slot.next;
+        }
+        if (slot.next != null) {
+            slot.next.prev = slot.prev;
+        }
+        slot.prev = null;
+        slot.next = null;
+
+        if (bucket.head == null) {
+            if (bucket.prev != null) {
+                bucket.prev.next = bucket.next;
+            } else {
+                minBucket = bucket.next;
+            }
+            if (bucket.next != null) {
+                bucket.next.prev = bucket.prev;
+            }
+        }
+    }
+}
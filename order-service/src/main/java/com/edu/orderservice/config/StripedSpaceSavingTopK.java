@@ -0,0 +1,113 @@
+package com.edu.orderservice.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// -------------------------------------------------------------------------
+// SpaceSavingTopK split into stripes, for keys added from many threads
+//
+// Each add goes to the stripe of the calling thread, so concurrent orders
+// contend on one lock per stripe instead of one for the whole sketch. The
+// stripes are only merged when a snapshot is taken (once per publish
+// interval):
+//
+//   count = sum of the stripe counts, where a stripe that does not
+//           monitor the key contributes its minimum count (the most the
+//           key can have had there)
+//   error = the same sum over the stripe errors and minimums
+//
+// so, as for a single sketch, a count is never underestimated and is
+// overestimated by at most its error. Every stripe monitors up to
+// `capacity` keys.
+// -------------------------------------------------------------------------
+public class StripedSpaceSavingTopK<K> {
+
+    private final SpaceSavingTopK<K>[] stripes;
+    private final int mask;
+
+    public StripedSpaceSavingTopK(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors());
+    }
+
+    @SuppressWarnings("unchecked")
+    public StripedSpaceSavingTopK(int capacity, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be at least 1");
+        }
+        // power of two → the stripe is picked with a mask
+        int count = Integer.highestOneBit(concurrency * 2 - 1);
+        this.stripes = new SpaceSavingTopK[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new SpaceSavingTopK<>(capacity);
+        }
+        this.mask = count - 1;
+    }
+
+    public void add(K key) {
+        stripes[stripe()].add(key);
+    }
+
+    public SpaceSavingTopK.Snapshot<K> snapshot(int n) {
+        Map<K, long[]> merged = new HashMap<>();
+        long total = 0;
+        long minimums = 0;
+
+        for (SpaceSavingTopK<K> stripe : stripes) {
+            SpaceSavingTopK.Snapshot<K> snapshot;
+            long minimum;
+            synchronized (stripe) {
+                snapshot = stripe.snapshot(Integer.MAX_VALUE);
+                minimum = stripe.minCount();
+            }
+            total += snapshot.total();
+
+            // what each key gets from this stripe, minimum by default
+            for (long[] countAndError : merged.values()) {
+                countAndError[0] += minimum;
+                countAndError[1] += minimum;
+            }
+            for (SpaceSavingTopK.Estimate<K> estimate : snapshot.top()) {
+                long[] countAndError = merged.get(estimate.key());
+                if (countAndError == null) {
+                    // earlier stripes did not monitor it either
+                    merged.put(estimate.key(), new long[]{minimums + estimate.count(), minimums + estimate.error()});
+                } else {
+                    countAndError[0] += estimate.count() - minimum;
+                    countAndError[1] += estimate.error() - minimum;
+                }
+            }
+            minimums += minimum;
+        }
+
+        List<SpaceSavingTopK.Estimate<K>> estimates = new ArrayList<>(merged.size());
+        merged.forEach((key, countAndError) ->
+                estimates.add(new SpaceSavingTopK.Estimate<>(key, countAndError[0], countAndError[1])));
+        estimates.sort(Comparator.comparingLong(SpaceSavingTopK.Estimate<K>::count).reversed());
+
+        List<SpaceSavingTopK.Estimate<K>> top = estimates.size() > n ? List.copyOf(estimates.subList(0, n)) : estimates;
+        return new SpaceSavingTopK.Snapshot<>(top, total);
+    }
+
+    // slots in use over all stripes (a key added from several stripes uses
+    // one in each), at most stripes x capacity
+    public int monitored() {
+        int monitored = 0;
+        for (SpaceSavingTopK<K> stripe : stripes) {
+            monitored += stripe.monitored();
+        }
+        return monitored;
+    }
+
+    int stripes() {
+        return stripes.length;
+    }
+
+    // thread ids are sequential: spread them before masking
+    private int stripe() {
+        long id = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) (id >>> 32) & mask;
+    }
+}
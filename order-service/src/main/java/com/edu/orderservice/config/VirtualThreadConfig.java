@@ -0,0 +1,50 @@
+package com.edu.orderservice.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+// -------------------------------------------------------------------------
+// Virtual-thread execution mode (opt-in, JDK 21+)
+//
+// spring.threads.virtual.enabled=true
+//
+// - Tomcat serves every request on its own virtual thread instead of the
+//   bounded platform pool (server.tomcat.threads.max), so a request blocked
+//   in the address-service call or in retry backoff (Thread.sleep) only
+//   parks a virtual thread and releases its carrier thread.
+// - The application task executor also uses virtual threads.
+//
+// Resilience4j is unaffected: the semaphore bulkhead and the rate limiter
+// count calls, not threads, so BULKHEAD_FULL / RATE_LIMIT are produced
+// exactly as in platform-thread mode. Without the property the default
+// Tomcat pool is used.
+//
+// The property name matches the one Spring Boot 3.2+ reads natively.
+// -------------------------------------------------------------------------
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Virtual-thread mode enabled: Tomcat requests run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
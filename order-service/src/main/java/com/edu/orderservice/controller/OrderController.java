@@ -2,15 +2,22 @@ package com.edu.orderservice.controller;
 
 import com.edu.orderservice.model.Failure;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.edu.orderservice.model.Type;
 import com.edu.orderservice.service.OrderService;
+import com.edu.orderservice.service.ReactiveOrderService;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/orders")
@@ -19,6 +26,12 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private ReactiveOrderService reactiveOrderService;
+
+    @Value("${orders.bulk.max-size:100}")
+    private int bulkMaxSize;
+
     @GetMapping
     public ResponseEntity<?> getByOrderNumber(@RequestParam("orderNumber") String orderNumber) {
 
@@ -27,25 +40,67 @@ public class OrderController {
         Type result = orderService.getOrderByPostCode(orderNumber);
 
         if (result instanceof Failure failure) {
+            return failureResponse(failure);
+        }
 
-            return switch (failure.getReason()) {
-                case "CIRCUIT_OPEN" ->
-                        ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(failure);
+        return ResponseEntity.ok(result);
+    }
+
+    // ---------------------------------------------------------------------
+    // Same lookup on the non-blocking flow: the servlet thread is released
+    // while the address call and retry backoff are pending
+    // ---------------------------------------------------------------------
+    @GetMapping("/reactive")
+    public Mono<ResponseEntity<?>> getByOrderNumberReactive(@RequestParam("orderNumber") String orderNumber) {
+        return reactiveOrderService.getOrderByPostCode(orderNumber)
+                .map(result -> result instanceof Failure failure
+                        ? failureResponse(failure)
+                        : ResponseEntity.ok(result));
+    }
 
-                case "BULKHEAD_FULL" ->
-                        ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(failure);
+    // ---------------------------------------------------------------------
+    // Bulk lookup: one rate limiter permit / bulkhead slot per request,
+    // per-order results (order or Failure) in the response body
+    // ---------------------------------------------------------------------
+    @PostMapping("/bulk")
+    public ResponseEntity<?> getByOrderNumbers(@RequestBody List<String> orderNumbers) {
 
-                case "RATE_LIMIT" ->
-                        ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(failure);
+        if (orderNumbers.isEmpty() || orderNumbers.size() > bulkMaxSize) {
+            return ResponseEntity.badRequest().body(new Failure(
+                    "Bulk lookup accepts between 1 and " + bulkMaxSize + " order numbers",
+                    "INVALID_REQUEST",
+                    false
+            ));
+        }
 
-                case "RETRY_EXHAUSTED" ->
-                        ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(failure);
+        Type result = orderService.getOrdersByOrderNumbers(orderNumbers);
 
-                default ->
-                        ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(failure);
-            };
+        if (result instanceof Failure failure) {
+            return failureResponse(failure);
         }
 
         return ResponseEntity.ok(result);
     }
+
+    private static ResponseEntity<?> failureResponse(Failure failure) {
+        return switch (failure.getReason()) {
+            case "CIRCUIT_OPEN" ->
+                    ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(failure);
+
+            case "BULKHEAD_FULL" ->
+                    ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(failure);
+
+            case "RATE_LIMIT" ->
+                    ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(failure);
+
+            case "RETRY_EXHAUSTED" ->
+                    ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(failure);
+
+            case "ORDER_NOT_FOUND" ->
+                    ResponseEntity.status(HttpStatus.NOT_FOUND).body(failure);
+
+            default ->
+                    ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(failure);
+        };
+    }
 }
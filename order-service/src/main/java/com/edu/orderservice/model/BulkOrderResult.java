@@ -0,0 +1,12 @@
+package com.edu.orderservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BulkOrderResult implements Type {
+    private final List<OrderResult> results;
+}
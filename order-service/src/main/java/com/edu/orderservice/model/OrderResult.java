@@ -0,0 +1,23 @@
+package com.edu.orderservice.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// One entry of a bulk lookup: either the order or the reason it could not be served
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderResult {
+    private final String orderNumber;
+    private final Order order;
+    private final Failure failure;
+
+    public static OrderResult of(String orderNumber, Order order) {
+        return new OrderResult(orderNumber, order, null);
+    }
+
+    public static OrderResult failed(String orderNumber, Failure failure) {
+        return new OrderResult(orderNumber, null, failure);
+    }
+}
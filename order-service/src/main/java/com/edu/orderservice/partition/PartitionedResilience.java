@@ -0,0 +1,228 @@
+package com.edu.orderservice.partition;
+
+import com.edu.orderservice.config.OrderMetrics;
+import com.edu.orderservice.config.PartitionProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// -------------------------------------------------------------------------
+// Circuit breaker and bulkhead per postal code partition
+//
+// orders.partitions.enabled=true
+//
+// Address lookups go through the instances of their postal code's
+// partition, so failures of one address-service shard open that
+// partition's circuit only, and its slow calls fill that partition's
+// bulkhead only. Instances are created on first use in the resilience4j
+// registries, as "order-service-<partition>" with the configuration of
+// "order-service" (bulkhead: max-concurrent-calls per partition), which
+// gives them the usual resilience4j events and metrics.
+//
+// Bounded:
+//   - at most max-partitions partitions have their own instances; once
+//     full, the least recently used partition unused for idle-timeout is
+//     dropped, and when none is the new partition shares the "other"
+//     partition (so busy partitions keep their sliding window)
+//   - partitions unused for idle-timeout are dropped by a background sweep
+//
+// Only CLOSED partitions without a call in flight are dropped, an OPEN
+// circuit keeps its state until it has recovered.
+// -------------------------------------------------------------------------
+public class PartitionedResilience implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedResilience.class);
+
+    public static final String OVERFLOW = "other";
+
+    public record Partition(String name, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+    }
+
+    private static final class Slot {
+        private final Partition partition;
+        private volatile long lastUsedNanos;
+
+        private Slot(Partition partition, long lastUsedNanos) {
+            this.partition = partition;
+            this.lastUsedNanos = lastUsedNanos;
+        }
+    }
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final String baseName;
+    private final PostalCodePartitioner partitioner;
+    private final int maxPartitions;
+    private final long idleTimeoutNanos;
+    private final LongSupplier nanoTime;
+    private final OrderMetrics orderMetrics;
+    private volatile CircuitBreakerConfig circuitBreakerConfig;
+    private final BulkheadConfig bulkheadConfig;
+    private final ScheduledExecutorService sweeper;
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+    public PartitionedResilience(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            String baseName,
+            PostalCodePartitioner partitioner,
+            PartitionProperties properties,
+            LongSupplier nanoTime,
+            OrderMetrics orderMetrics
+    ) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.baseName = baseName;
+        this.partitioner = partitioner;
+        this.maxPartitions = properties.getMaxPartitions();
+        this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+        this.nanoTime = nanoTime;
+        this.orderMetrics = orderMetrics;
+        this.circuitBreakerConfig = circuitBreakerRegistry.circuitBreaker(baseName).getCircuitBreakerConfig();
+        this.bulkheadConfig = BulkheadConfig.from(bulkheadRegistry.bulkhead(baseName).getBulkheadConfig())
+                .maxConcurrentCalls(properties.getMaxConcurrentCalls())
+                .build();
+
+        long sweepNanos = Math.max(idleTimeoutNanos / 2, TimeUnit.SECONDS.toNanos(1));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "partition-sweeper-" + baseName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::evictIdle, sweepNanos, sweepNanos, TimeUnit.NANOSECONDS);
+
+        orderMetrics.registerPartitionGauges(this);
+    }
+
+    // Bulkhead → CircuitBreaker → call, with the instances of the postal code's partition
+    public <T> T execute(String postalCode, Supplier<T> call) {
+        Partition partition = partitionOf(postalCode);
+        Supplier<T> protectedCall = CircuitBreaker.decorateSupplier(partition.circuitBreaker(), call);
+        return Bulkhead.decorateSupplier(partition.bulkhead(), protectedCall).get();
+    }
+
+    public Partition partitionOf(String postalCode) {
+        String name = postalCode == null || postalCode.isEmpty() ? OVERFLOW : partitioner.partitionOf(postalCode);
+        long now = nanoTime.getAsLong();
+
+        Slot slot = slots.get(name);
+        if (slot == null) {
+            slot = create(name, now);
+        }
+        slot.lastUsedNanos = now;
+        return slot.partition;
+    }
+
+    // Used by partitions created from now on, existing ones keep theirs
+    // until they are dropped
+    public void changeCircuitBreakerConfig(CircuitBreakerConfig circuitBreakerConfig) {
+        this.circuitBreakerConfig = circuitBreakerConfig;
+    }
+
+    // Partitions with their own instances, the "other" partition included
+    public int size() {
+        return slots.size();
+    }
+
+    // Circuit state by partition, sorted by partition
+    public Map<String, CircuitBreaker.State> states() {
+        Map<String, CircuitBreaker.State> states = new TreeMap<>();
+        slots.forEach((name, slot) -> states.put(name, slot.partition.circuitBreaker().getState()));
+        return states;
+    }
+
+    public long countInState(CircuitBreaker.State state) {
+        return slots.values().stream()
+                .filter(slot -> slot.partition.circuitBreaker().getState() == state)
+                .count();
+    }
+
+    public synchronized void evictIdle() {
+        long now = nanoTime.getAsLong();
+        slots.entrySet().stream()
+                .filter(entry -> now - entry.getValue().lastUsedNanos >= idleTimeoutNanos)
+                .filter(entry -> evictable(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(this::evict);
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    private synchronized Slot create(String name, long now) {
+        Slot existing = slots.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        if (!OVERFLOW.equals(name) && dedicatedPartitions() >= maxPartitions) {
+            Optional<String> leastRecentlyUsed = slots.entrySet().stream()
+                    .filter(entry -> !OVERFLOW.equals(entry.getKey()))
+                    .filter(entry -> now - entry.getValue().lastUsedNanos >= idleTimeoutNanos)
+                    .filter(entry -> evictable(entry.getValue()))
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastUsedNanos))
+                    .map(Map.Entry::getKey);
+            if (leastRecentlyUsed.isEmpty()) {
+                orderMetrics.incrementPartitionOverflow();
+                return slots.computeIfAbsent(OVERFLOW, ignored -> newSlot(OVERFLOW, now));
+            }
+            evict(leastRecentlyUsed.get());
+        }
+        Slot slot = newSlot(name, now);
+        slots.put(name, slot);
+        return slot;
+    }
+
+    private Slot newSlot(String name, long now) {
+        String instanceName = baseName + "-" + name;
+        Partition partition = new Partition(
+                name,
+                circuitBreakerRegistry.circuitBreaker(instanceName, circuitBreakerConfig),
+                bulkheadRegistry.bulkhead(instanceName, bulkheadConfig)
+        );
+        log.info("Partition created. partition={}, partitions={}", name, slots.size() + 1);
+        return new Slot(partition, now);
+    }
+
+    private long dedicatedPartitions() {
+        return slots.keySet().stream().filter(name -> !OVERFLOW.equals(name)).count();
+    }
+
+    private static boolean evictable(Slot slot) {
+        Partition partition = slot.partition;
+        return partition.circuitBreaker().getState() == CircuitBreaker.State.CLOSED
+                && partition.bulkhead().getMetrics().getAvailableConcurrentCalls()
+                == partition.bulkhead().getMetrics().getMaxAllowedConcurrentCalls();
+    }
+
+    // Removal from the registries also removes the instances' meters
+    private void evict(String name) {
+        Slot slot = slots.remove(name);
+        if (slot == null) {
+            return;
+        }
+        circuitBreakerRegistry.remove(slot.partition.circuitBreaker().getName());
+        bulkheadRegistry.remove(slot.partition.bulkhead().getName());
+        orderMetrics.incrementPartitionEvicted();
+        log.info("Partition dropped. partition={}, partitions={}", name, slots.size());
+    }
+}
@@ -0,0 +1,34 @@
+package com.edu.orderservice.partition;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.util.Map;
+
+// -------------------------------------------------------------------------
+// /actuator/health → components.addressPartitions
+//
+// Circuit state of every partition (at most max-partitions + 1 entries).
+// The status stays UP while partitions are OPEN: one failing shard must not
+// take the whole instance out of the load balancer.
+// -------------------------------------------------------------------------
+public class PartitionsHealthIndicator implements HealthIndicator {
+
+    private final PartitionedResilience partitions;
+
+    public PartitionsHealthIndicator(PartitionedResilience partitions) {
+        this.partitions = partitions;
+    }
+
+    @Override
+    public Health health() {
+        Map<String, CircuitBreaker.State> states = partitions.states();
+        return Health.up()
+                .withDetail("partitions", states.size())
+                .withDetail("open", partitions.countInState(CircuitBreaker.State.OPEN))
+                .withDetail("halfOpen", partitions.countInState(CircuitBreaker.State.HALF_OPEN))
+                .withDetail("states", states)
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.edu.orderservice.partition;
+
+// -------------------------------------------------------------------------
+// Postal code → partition of the address-service (shard, region...)
+//
+// The default keeps the first prefix-length characters ("21044" → "21");
+// declare a PostalCodePartitioner bean to follow another layout. The
+// result becomes part of instance names and metric tags: keep it short
+// and stable, the number of distinct values is bounded by max-partitions.
+// -------------------------------------------------------------------------
+@FunctionalInterface
+public interface PostalCodePartitioner {
+
+    String partitionOf(String postalCode);
+
+    static PostalCodePartitioner prefix(int length) {
+        if (length < 1) {
+            throw new IllegalArgumentException("Expected prefix-length >= 1");
+        }
+        return postalCode -> postalCode.length() <= length ? postalCode : postalCode.substring(0, length);
+    }
+}
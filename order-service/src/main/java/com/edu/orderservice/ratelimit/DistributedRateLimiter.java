@@ -0,0 +1,306 @@
+package com.edu.orderservice.ratelimit;
+
+import com.edu.orderservice.config.OrderMetrics;
+import io.github.resilience4j.core.EventConsumer;
+import io.github.resilience4j.core.EventProcessor;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.event.RateLimiterEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnFailureEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnSuccessEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+// -------------------------------------------------------------------------
+// Rate limiter sharing one budget between all replicas
+//
+// limit-for-period / limit-refresh-period of the resilience4j instance
+// become the budget of the whole cluster: every replica takes its tokens
+// from the same TokenStore, in fixed windows aligned on the wall clock
+// (window = currentTimeMillis / refresh period).
+//
+// Tokens are leased: a replica takes lease-size tokens at once and hands
+// them out locally. The store is never called under the lock that guards
+// the lease, and the next lease is fetched in the background as soon as
+// the current one is half spent, so requests are served from memory and
+// only wait for the store when the lease runs dry before the next one
+// arrives (or at the start of a window). Leased tokens die with their
+// window; at most 1.5 x lease-size x replicas tokens per window may go
+// unused while other replicas are refused. A lease is never larger than
+// limit-for-period, or one replica could drain the whole budget at once.
+//
+// Once the store has no token left for the window, or throws, the
+// replica stops asking until the next window: calls are refused
+// (RequestNotPermitted) and a failing store sees one call per window.
+//
+// It replaces the instance in the RateLimiterRegistry, so @RateLimiter and
+// the reactive RateLimiterOperator are unchanged: a refused call still
+// throws RequestNotPermitted and ends in the RATE_LIMIT fallback.
+// reservePermission() never reserves a token of a future window: it is
+// 0 (permitted now) or -1 (refused).
+// -------------------------------------------------------------------------
+public class DistributedRateLimiter implements RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(DistributedRateLimiter.class);
+
+    private final String name;
+    private final String key;
+    private final int leaseSize;
+    private final TokenStore tokenStore;
+    private final LongSupplier currentTimeMillis;
+    private final OrderMetrics orderMetrics;
+    private final Executor prefetchExecutor;
+    private final RateLimiterEventProcessor eventProcessor = new RateLimiterEventProcessor();
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+
+    private volatile RateLimiterConfig config;
+
+    // guarded by this
+    private long leaseWindow = -1;
+    private int leasedTokens;
+    // the store had nothing left for leaseWindow, or failed
+    private boolean windowSpent;
+    // store call in flight for leaseWindow, null when none
+    private CompletableFuture<Void> fetch;
+
+    public DistributedRateLimiter(
+            String name,
+            RateLimiterConfig config,
+            TokenStore tokenStore,
+            String key,
+            int leaseSize,
+            LongSupplier currentTimeMillis,
+            OrderMetrics orderMetrics
+    ) {
+        this(name, config, tokenStore, key, leaseSize, currentTimeMillis, orderMetrics,
+                task -> Thread.ofVirtual().name("rate-limit-lease").start(task));
+    }
+
+    // prefetchExecutor runs the background lease fetches
+    public DistributedRateLimiter(
+            String name,
+            RateLimiterConfig config,
+            TokenStore tokenStore,
+            String key,
+            int leaseSize,
+            LongSupplier currentTimeMillis,
+            OrderMetrics orderMetrics,
+            Executor prefetchExecutor
+    ) {
+        if (leaseSize < 1) {
+            throw new IllegalArgumentException("leaseSize must be at least 1, got " + leaseSize);
+        }
+        this.name = name;
+        this.config = config;
+        this.tokenStore = tokenStore;
+        this.key = key;
+        this.leaseSize = leaseSize;
+        this.currentTimeMillis = currentTimeMillis;
+        this.orderMetrics = orderMetrics;
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    @Override
+    public boolean acquirePermission(int permits) {
+        long deadline = currentTimeMillis.getAsLong() + config.getTimeoutDuration().toMillis();
+        while (true) {
+            if (tryTake(permits)) {
+                publish(new RateLimiterOnSuccessEvent(name, permits));
+                return true;
+            }
+
+            // the next window is the first chance of a token
+            long periodMillis = periodMillis();
+            long nextWindowStart = (currentTimeMillis.getAsLong() / periodMillis + 1) * periodMillis;
+            if (nextWindowStart > deadline) {
+                publish(new RateLimiterOnFailureEvent(name, permits));
+                return false;
+            }
+
+            waitingThreads.incrementAndGet();
+            try {
+                Thread.sleep(Math.max(1, nextWindowStart - currentTimeMillis.getAsLong()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                publish(new RateLimiterOnFailureEvent(name, permits));
+                return false;
+            } finally {
+                waitingThreads.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public long reservePermission(int permits) {
+        if (tryTake(permits)) {
+            publish(new RateLimiterOnSuccessEvent(name, permits));
+            return 0;
+        }
+        publish(new RateLimiterOnFailureEvent(name, permits));
+        return -1;
+    }
+
+    private boolean tryTake(int permits) {
+        while (true) {
+            long window = currentTimeMillis.getAsLong() / periodMillis();
+            boolean taken;
+            CompletableFuture<Void> started = null;
+            CompletableFuture<Void> pending;
+
+            synchronized (this) {
+                if (window != leaseWindow) {
+                    leaseWindow = window;
+                    leasedTokens = 0;
+                    windowSpent = false;
+                    fetch = null;
+                }
+
+                taken = leasedTokens >= permits;
+                if (taken) {
+                    leasedTokens -= permits;
+                } else if (windowSpent) {
+                    return false;
+                }
+
+                // empty → needed now, half spent → fetched ahead
+                if (fetch == null && !windowSpent && (!taken || leasedTokens <= leaseSize() / 2)) {
+                    fetch = new CompletableFuture<>();
+                    started = fetch;
+                }
+                pending = fetch;
+            }
+
+            if (started != null) {
+                CompletableFuture<Void> done = started;
+                int requested = Math.max(leaseSize(), permits);
+                if (taken) {
+                    prefetchExecutor.execute(() -> fetchLease(window, requested, done));
+                } else {
+                    fetchLease(window, requested, done);
+                }
+            }
+            if (taken) {
+                return true;
+            }
+            // whoever fetches, the lease (or windowSpent) is updated when it completes
+            pending.join();
+        }
+    }
+
+    // limit-for-period can be changed at runtime, so the cap is read per fetch
+    private int leaseSize() {
+        return Math.min(leaseSize, config.getLimitForPeriod());
+    }
+
+    // Outside the lock: the store is usually remote
+    private void fetchLease(long window, int requested, CompletableFuture<Void> done) {
+        int taken = 0;
+        try {
+            taken = tokenStore.take(key, window, config.getLimitForPeriod(), requested);
+            orderMetrics.incrementRateLimitLease(taken > 0);
+        } catch (RuntimeException e) {
+            log.warn("Token store failed, refusing calls until the next window. key={}, window={}, reason={}",
+                    key, window, e.toString());
+            orderMetrics.incrementRateLimitLeaseFailed();
+        } finally {
+            synchronized (this) {
+                // tokens of a window that is over are lost
+                if (leaseWindow == window) {
+                    leasedTokens += taken;
+                    windowSpent = taken == 0;
+                }
+                if (fetch == done) {
+                    fetch = null;
+                }
+            }
+            done.complete(null);
+        }
+    }
+
+    private long periodMillis() {
+        return Math.max(1, config.getLimitRefreshPeriod().toMillis());
+    }
+
+    private void publish(RateLimiterEvent event) {
+        if (eventProcessor.hasConsumers()) {
+            eventProcessor.processEvent(event);
+        }
+    }
+
+    // Returns the tokens leased by this replica to nobody: the store keeps them spent
+    @Override
+    public synchronized void drainPermissions() {
+        leasedTokens = 0;
+    }
+
+    @Override
+    public void changeTimeoutDuration(Duration timeoutDuration) {
+        config = RateLimiterConfig.from(config).timeoutDuration(timeoutDuration).build();
+    }
+
+    @Override
+    public void changeLimitForPeriod(int limitForPeriod) {
+        config = RateLimiterConfig.from(config).limitForPeriod(limitForPeriod).build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public RateLimiterConfig getRateLimiterConfig() {
+        return config;
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return Map.of();
+    }
+
+    // Permissions are the tokens leased locally, not the cluster budget
+    @Override
+    public Metrics getMetrics() {
+        return new Metrics() {
+            @Override
+            public int getNumberOfWaitingThreads() {
+                return waitingThreads.get();
+            }
+
+            @Override
+            public int getAvailablePermissions() {
+                synchronized (DistributedRateLimiter.this) {
+                    return leaseWindow == currentTimeMillis.getAsLong() / periodMillis() ? leasedTokens : 0;
+                }
+            }
+        };
+    }
+
+    @Override
+    public EventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    private static final class RateLimiterEventProcessor extends EventProcessor<RateLimiterEvent>
+            implements EventPublisher {
+
+        @Override
+        public EventPublisher onSuccess(EventConsumer<RateLimiterOnSuccessEvent> eventConsumer) {
+            registerConsumer(RateLimiterOnSuccessEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onFailure(EventConsumer<RateLimiterOnFailureEvent> eventConsumer) {
+            registerConsumer(RateLimiterOnFailureEvent.class.getName(), eventConsumer);
+            return this;
+        }
+    }
+}
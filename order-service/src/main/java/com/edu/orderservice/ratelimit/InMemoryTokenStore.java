@@ -0,0 +1,35 @@
+package com.edu.orderservice.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// -------------------------------------------------------------------------
+// TokenStore held in this JVM
+//
+// Shared by the limiters of one process only: used by tests, and as the
+// fallback when no TokenStore bean is configured (the budget is then per
+// replica, like the LOCAL rate limiter). One bucket per key, replaced when
+// a newer window starts.
+// -------------------------------------------------------------------------
+public class InMemoryTokenStore implements TokenStore {
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public int take(String key, long window, int limit, int requested) {
+        int[] taken = new int[1];
+        buckets.compute(key, (ignored, bucket) -> {
+            if (bucket == null || bucket.window() < window) {
+                bucket = new Bucket(window, 0);
+            } else if (bucket.window() > window) {
+                // caller still in a window that is already over
+                return bucket;
+            }
+            taken[0] = Math.max(0, Math.min(requested, limit - bucket.used()));
+            return new Bucket(bucket.window(), bucket.used() + taken[0]);
+        });
+        return taken[0];
+    }
+
+    private record Bucket(long window, int used) {
+    }
+}
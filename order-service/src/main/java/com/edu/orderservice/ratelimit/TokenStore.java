@@ -0,0 +1,22 @@
+package com.edu.orderservice.ratelimit;
+
+// -------------------------------------------------------------------------
+// Shared token budget of a distributed rate limiter
+//
+// Every replica takes its tokens from the same store. A budget is a fixed
+// window: `limit` tokens per window index (wall clock / refresh period),
+// the count starting over with each new window. Implementations must make
+// take() atomic across replicas, e.g. a Redis INCRBY capped by a Lua
+// script, or a conditional UPDATE on a shared table.
+//
+// take() is never called under a lock, but callers whose lease is empty
+// wait for it: a remote store should bound it with a timeout and throw
+// when it expires (the calls of that window are then refused).
+// -------------------------------------------------------------------------
+public interface TokenStore {
+
+    // Takes up to `requested` tokens of `key` in window `window`, where only
+    // `limit` tokens exist per window. Returns the number taken, 0 when the
+    // window's budget is spent.
+    int take(String key, long window, int limit, int requested);
+}
@@ -1,13 +1,25 @@
 package com.edu.orderservice.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.edu.orderservice.model.Order;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Integer> {
+    // Result rows are kept in the "order-queries" region, invalidated by writes to orders
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "order-queries")
+    })
     Optional<Order> findByOrderNumber(String orderNumber);
+    List<Order> findByOrderNumberIn(Collection<String> orderNumbers);
 }
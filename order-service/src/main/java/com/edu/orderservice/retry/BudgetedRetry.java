@@ -0,0 +1,176 @@
+package com.edu.orderservice.retry;
+
+import com.edu.orderservice.config.OrderMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+// -------------------------------------------------------------------------
+// resilience4j Retry whose retries are paid from a RetryBudget
+//
+// Replaces the configured instance in the RetryRegistry, so the retry of
+// OrderServiceImpl.callAddressService (looked up in the registry on every
+// call) and the reactive RetryOperator keep its config, events and metrics. Before a
+// failure is retried one token is withdrawn; without a token the failure
+// is passed on as if the attempts were exhausted (same fallback,
+// RETRY_EXHAUSTED). Successful calls refill the budget.
+//
+// A refused failure still goes through the wrapped instance, whose
+// exception predicate is vetoed for that call only: it is recorded as a
+// failed call without retry (failed_without_retry, RetryOnIgnoredErrorEvent)
+// and never waits. The wrapped instance is built here from the given one's
+// config for that reason; getRetryConfig() returns the given config.
+// -------------------------------------------------------------------------
+public class BudgetedRetry implements Retry {
+
+    // set while the wrapped context handles a failure the budget refused
+    private static final ThreadLocal<Boolean> refusing = new ThreadLocal<>();
+
+    private final Retry delegate;
+    private final RetryConfig config;
+    private final RetryBudget budget;
+    private final OrderMetrics orderMetrics;
+
+    public BudgetedRetry(Retry retry, RetryBudget budget, OrderMetrics orderMetrics) {
+        this.config = retry.getRetryConfig();
+        this.delegate = Retry.of(retry.getName(), vetoable(config), retry.getTags());
+        this.budget = budget;
+        this.orderMetrics = orderMetrics;
+    }
+
+    // Same config, but the exception predicate says no while refusing is set.
+    // The exception lists are folded into the predicate, which replaces them.
+    private static RetryConfig vetoable(RetryConfig config) {
+        Predicate<Throwable> retryable = config.getExceptionPredicate();
+        return RetryConfig.from(config)
+                .retryExceptions()
+                .ignoreExceptions()
+                .retryOnException(throwable -> refusing.get() == null && retryable.test(throwable))
+                .build();
+    }
+
+    public RetryBudget budget() {
+        return budget;
+    }
+
+    @Override
+    public <T> Context<T> context() {
+        Context<T> context = delegate.context();
+        return new Context<>() {
+            private int failures;
+
+            @Override
+            public void onComplete() {
+                budget.deposit();
+                context.onComplete();
+            }
+
+            @Override
+            public boolean onResult(T result) {
+                return context.onResult(result);
+            }
+
+            @Override
+            public void onError(Exception exception) throws Exception {
+                if (permitted(failures++, exception)) {
+                    context.onError(exception);
+                    return;
+                }
+                refusing.set(Boolean.TRUE);
+                try {
+                    context.onError(exception);
+                } finally {
+                    refusing.remove();
+                }
+                throw exception;
+            }
+
+            @Override
+            public void onRuntimeError(RuntimeException runtimeException) {
+                if (permitted(failures++, runtimeException)) {
+                    context.onRuntimeError(runtimeException);
+                    return;
+                }
+                refusing.set(Boolean.TRUE);
+                try {
+                    context.onRuntimeError(runtimeException);
+                } finally {
+                    refusing.remove();
+                }
+                throw runtimeException;
+            }
+        };
+    }
+
+    @Override
+    public <T> AsyncContext<T> asyncContext() {
+        AsyncContext<T> context = delegate.asyncContext();
+        return new AsyncContext<>() {
+            private int failures;
+
+            @Override
+            public void onComplete() {
+                budget.deposit();
+                context.onComplete();
+            }
+
+            @Override
+            public long onError(Throwable throwable) {
+                if (permitted(failures++, throwable)) {
+                    return context.onError(throwable);
+                }
+                refusing.set(Boolean.TRUE);
+                try {
+                    context.onError(throwable);
+                } finally {
+                    refusing.remove();
+                }
+                return -1;
+            }
+
+            @Override
+            public long onResult(T result) {
+                return context.onResult(result);
+            }
+        };
+    }
+
+    // Only failures the delegate would retry cost a token
+    private boolean permitted(int previousFailures, Throwable throwable) {
+        boolean retryable = previousFailures + 1 < config.getMaxAttempts()
+                && config.getExceptionPredicate().test(throwable);
+        if (!retryable) {
+            return true;
+        }
+        boolean permitted = budget.tryWithdraw();
+        orderMetrics.incrementRetryBudget(permitted);
+        return permitted;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public RetryConfig getRetryConfig() {
+        return config;
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return delegate.getTags();
+    }
+
+    @Override
+    public EventPublisher getEventPublisher() {
+        return delegate.getEventPublisher();
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return delegate.getMetrics();
+    }
+}
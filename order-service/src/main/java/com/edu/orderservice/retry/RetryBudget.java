@@ -0,0 +1,62 @@
+package com.edu.orderservice.retry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// -------------------------------------------------------------------------
+// Token-bucket retry budget
+//
+// Every successful call deposits `ratio` tokens (ratio 0.2 → one retry per
+// five successes), the bucket also refills by min-retries-per-second so
+// retries stay possible at low traffic. A retry withdraws one token; with
+// less than one token left the retry is skipped and the call fails with its
+// current exception. The balance never exceeds max-balance, so an outage
+// after a long healthy period cannot spend an unbounded stock of retries.
+// -------------------------------------------------------------------------
+public class RetryBudget {
+
+    private final double ratio;
+    private final double minRetriesPerNano;
+    private final double maxBalance;
+    private final LongSupplier nanoTime;
+
+    private double balance;
+    private long lastRefillNanos;
+
+    public RetryBudget(double ratio, double minRetriesPerSecond, double maxBalance, LongSupplier nanoTime) {
+        if (ratio < 0 || minRetriesPerSecond < 0 || maxBalance < 1) {
+            throw new IllegalArgumentException("Expected ratio >= 0, min-retries-per-second >= 0 and max-balance >= 1");
+        }
+        this.ratio = ratio;
+        this.minRetriesPerNano = minRetriesPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.maxBalance = maxBalance;
+        this.nanoTime = nanoTime;
+        this.balance = maxBalance;
+        this.lastRefillNanos = nanoTime.getAsLong();
+    }
+
+    public synchronized void deposit() {
+        refill();
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        refill();
+        if (balance < 1) {
+            return false;
+        }
+        balance -= 1;
+        return true;
+    }
+
+    public synchronized double balance() {
+        refill();
+        return balance;
+    }
+
+    private void refill() {
+        long now = nanoTime.getAsLong();
+        balance = Math.min(maxBalance, balance + (now - lastRefillNanos) * minRetriesPerNano);
+        lastRefillNanos = now;
+    }
+}
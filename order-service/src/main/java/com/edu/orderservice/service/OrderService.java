@@ -2,6 +2,9 @@ package com.edu.orderservice.service;
 
 import com.edu.orderservice.model.Type;
 
+import java.util.List;
+
 public interface OrderService {
     Type getOrderByPostCode(String orderNumber);
+    Type getOrdersByOrderNumbers(List<String> orderNumbers);
 }
@@ -0,0 +1,8 @@
+package com.edu.orderservice.service;
+
+import com.edu.orderservice.model.Type;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveOrderService {
+    Mono<Type> getOrderByPostCode(String orderNumber);
+}
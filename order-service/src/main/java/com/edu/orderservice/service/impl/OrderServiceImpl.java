@@ -1,6 +1,13 @@
 package com.edu.orderservice.service.impl;
 
+import com.edu.orderservice.cache.AddressCache;
+import com.edu.orderservice.cache.SingleFlight;
 import com.edu.orderservice.chaos.ChaosFaultInjector;
+import com.edu.orderservice.client.AddressBatcher;
+import com.edu.orderservice.client.AddressHedger;
+import com.edu.orderservice.concurrency.AdaptiveBulkhead;
+import com.edu.orderservice.config.AddressServiceProperties;
+import com.edu.orderservice.partition.PartitionedResilience;
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
@@ -15,21 +22,35 @@ import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import com.edu.orderservice.config.OrderMetrics;
+import com.edu.orderservice.config.OrderProcessingTimed;
+import com.edu.orderservice.config.OrderProcessingTimingAspect;
 import com.edu.orderservice.dto.AddressDTO;
+import com.edu.orderservice.model.BulkOrderResult;
 import com.edu.orderservice.model.Failure;
 import com.edu.orderservice.model.Order;
+import com.edu.orderservice.model.OrderResult;
 import com.edu.orderservice.model.Type;
 import com.edu.orderservice.repository.OrderRepository;
 import com.edu.orderservice.service.OrderService;
 
 import io.github.resilience4j.bulkhead.BulkheadFullException;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
-import io.micrometer.core.instrument.Timer;
-
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class OrderServiceImpl implements OrderService {
@@ -45,27 +66,41 @@ public class OrderServiceImpl implements OrderService {
     @Autowired
     private OrderMetrics orderMetrics;
 
+    @Autowired
+    private AddressServiceProperties addressServiceProperties;
+
+    @Autowired
+    private AddressCache addressCache;
+
+    @Autowired
+    private SingleFlight<String, AddressDTO> addressLookups;
+
+    @Autowired
+    private AddressBatcher addressBatcher;
+
+    @Autowired
+    private AddressHedger addressHedger;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private RetryRegistry retryRegistry;
+
+    // Present only with orders.concurrency-limit.mode=ADAPTIVE
+    @Autowired(required = false)
+    private AdaptiveBulkhead adaptiveBulkhead;
+
+    // Present only with orders.partitions.enabled=true
+    @Autowired(required = false)
+    private PartitionedResilience partitionedResilience;
+
     private static final String SERVICE_NAME = "order-service";
-    private static final ConcurrentHashMap<String, Timer.Sample> activeTimers = new ConcurrentHashMap<>();
-    private static final String ADDRESS_SERVICE_URL = "http://localhost:9093/addresses/";
 
-    // ---------------------------------------------------------------------
-    // CHAOS CONFIGURATION (feature-flag driven)
-    // ---------------------------------------------------------------------
-//    @Value("${chaos.enabled:false}")
-//    private boolean chaosEnabled;
-//
-//    @Value("${chaos.latency-ms:0}")
-//    private long chaosLatencyMs;
-//
-//    @Value("${chaos.timeout-probability:0}")
-//    private double timeoutProbability;
-//
-//    @Value("${chaos.connection-error-probability:0}")
-//    private double connectionErrorProbability;
-//
-//    @Value("${chaos.http-500-probability:0}")
-//    private double http500Probability;
+    // Bulkhead admitting a single lookup: "order-service", or
+    // PartitionConfig.LOOKUP_BULKHEAD with orders.partitions.enabled
+    private static final String LOOKUP_BULKHEAD =
+            "#{'${orders.partitions.enabled:false}' == 'true' ? 'partitioned-lookup' : 'order-service'}";
 
     @Autowired
     private ChaosFaultInjector chaosFaultInjector;
@@ -76,17 +111,20 @@ public class OrderServiceImpl implements OrderService {
     // In Spring AOP, the annotation declared FIRST is the OUTER interceptor,
     // and the annotation declared LAST is the INNER interceptor.
     //
-    // Current order (as declared below):
-    //
-    //   @Retry           → OUTER layer
-    //   @CircuitBreaker  → INNER layer
+    // Rate limiter and bulkhead admit the REQUEST and are annotations.
+    // Retry and circuit breaker protect the REMOTE CALL only and are applied
+    // programmatically around it (see callAddressService).
     //
     // Effective execution flow:
     //
     // Controller
-    //   → Retry
-    //       → CircuitBreaker
-    //           → Method execution (repository + HTTP call)
+    //   → RateLimiter
+    //       → Bulkhead
+    //           → Method body: order loaded ONCE, near-cache lookup
+    //               → Single-flight    (cache miss only, one leader per postal code)
+    //                   → Retry            (leader only)
+    //                       → CircuitBreaker
+    //                           → Address Service call
     //
     // ---------------------------------------------------------------------
     // BEHAVIOR DETAILS
@@ -94,13 +132,12 @@ public class OrderServiceImpl implements OrderService {
     //
     // 1) Retry behavior
     //
-    // - Retry wraps the ENTIRE method execution, not only the HTTP call.
-    // - Any exception thrown inside this method can trigger a retry,
-    //   including:
-    //     - Database / repository errors
-    //     - HTTP client errors
-    //     - Serialization / mapping errors
-    //     - Runtime exceptions
+    // - Retry wraps ONLY the Address Service call, not the method:
+    //     - the order is queried once per request, whatever the retries
+    //     - order.processed.total and order.by.postal.code are recorded
+    //       once per request
+    //     - address.remote.attempt.total counts every call actually made
+    //       to the Address Service, retries included
     // - A retry happens ONLY if the exception matches `retry-exceptions`
     //   and does NOT match `ignore-exceptions`.
     // - With max-attempts = 2:
@@ -110,26 +147,26 @@ public class OrderServiceImpl implements OrderService {
     // ---------------------------------------------------------------------
     // 2) Circuit Breaker behavior
     //
-    // - CircuitBreaker decides whether a call is allowed to execute.
+    // - CircuitBreaker decides whether a remote call is allowed to execute.
     // - Possible states:
     //     - CLOSED    → Calls are allowed and monitored
-    //     - OPEN      → Calls fail fast (method body is NOT executed)
+    //     - OPEN      → Calls fail fast (no HTTP call is made)
     //     - HALF_OPEN → Limited test calls are allowed
     //
     // - When the circuit is OPEN:
-    //     - No repository access
     //     - No HTTP call
     //     - A CallNotPermittedException is thrown immediately
+    //     - The order is already loaded: the fallback completes it with a
+    //       stale cached address when there is one
     //
-    // - When the circuit is CLOSED or HALF_OPEN:
-    //     - The method executes normally
-    //     - Failures are recorded to calculate the failure rate
+    // - Only remote calls are recorded: near-cache hits and unknown order
+    //   numbers do not move the failure rate.
     //
     // ---------------------------------------------------------------------
     // 3) IMPORTANT DISTINCTION (COMMON MISCONCEPTION)
     //
-    // - CircuitBreaker fallback is NOT executed only when the circuit is OPEN.
-    // - It is triggered for ANY exception recorded by the Circuit Breaker.
+    // - The address fallback is NOT executed only when the circuit is OPEN.
+    // - It is triggered for ANY exception of the remote call, after retries.
     // - Therefore, fallback execution does NOT reliably indicate
     //   an OPEN circuit.
     //
@@ -137,77 +174,57 @@ public class OrderServiceImpl implements OrderService {
     //     CallNotPermittedException
     //
     // ---------------------------------------------------------------------
-    // 4) Why this annotation order is used
+    // 4) Why Retry is outside CircuitBreaker
     //
     // - Retry handles transient failures first (timeouts, network glitches).
-    // - CircuitBreaker records the FINAL outcome AFTER retries.
-    // - This prevents the circuit from opening too aggressively due to
-    //   short-lived or recoverable failures.
-    // - When the circuit is OPEN, calls fail fast and retries are skipped,
-    //   avoiding unnecessary load.
+    // - CircuitBreaker records every attempt, a retried call that finally
+    //   succeeds still reports its failed attempts.
+    // - When the circuit is OPEN, calls fail fast and retries are skipped
+    //   (CallNotPermittedException is not a retry exception), avoiding
+    //   unnecessary load.
     //
     // ---------------------------------------------------------------------
     // 5) Best practices when combining Retry + CircuitBreaker
     //
-    // - Prefer a SINGLE fallback (Retry fallback).
-    // - Avoid using a CircuitBreaker fallback together with Retry.
-    // - Inside the Retry fallback, explicitly distinguish between:
+    // - Prefer a SINGLE fallback (addressFallback).
+    // - Inside that fallback, explicitly distinguish between:
     //     - CallNotPermittedException → Circuit is OPEN
     //     - Other exceptions         → External service failure after retries
     //
     // ---------------------------------------------------------------------
+    @OrderProcessingTimed
     @RateLimiter(name = SERVICE_NAME, fallbackMethod = "rateLimitFallback")
-    @Bulkhead(name = SERVICE_NAME, type = Bulkhead.Type.SEMAPHORE, fallbackMethod = "bulkheadFallback")
-    @Retry(name = SERVICE_NAME, fallbackMethod = "retryFallbackMethod")
-    @CircuitBreaker(name = SERVICE_NAME)
+    @Bulkhead(name = LOOKUP_BULKHEAD, type = Bulkhead.Type.SEMAPHORE, fallbackMethod = "bulkheadFallback")
     public Type getOrderByPostCode(String orderNumber) {
-        Timer.Sample timer = orderMetrics.startOrderProcessingTimer();
-        activeTimers.put(orderNumber, timer);
+        recordAdmission();
         orderMetrics.incrementOrdersProcessed();
 
         log.error(">>> METHOD BODY ENTERED <<< orderNumber={}", orderNumber);
 
-        Order order = orderRepository.findByOrderNumber(orderNumber)
-
-                .orElseThrow(() -> {
-                    log.error("Order not found. orderNumber={}", orderNumber);
-                    Timer.Sample activeTimer = activeTimers.remove(orderNumber);
-                    if (activeTimer != null) {
-                        orderMetrics.recordOrderProcessingDuration(activeTimer);
-                    }
-                    orderMetrics.incrementOrdersFailed("ORDER_NOT_FOUND");
-                    return new RuntimeException("Order Not Found: " + orderNumber);
-                });
+        Optional<Order> found = orderRepository.findByOrderNumber(orderNumber);
+        if (found.isEmpty()) {
+            log.error("Order not found. orderNumber={}", orderNumber);
+            orderMetrics.incrementOrdersFailed("ORDER_NOT_FOUND");
+            return new Failure("Order Not Found: " + orderNumber, "ORDER_NOT_FOUND", false);
+        }
 
+        Order order = found.get();
         String postalCode = order.getPostalCode();
         orderMetrics.incrementOrdersByPostalCode(postalCode);
 
         // -----------------------------------------------------------------
-        // CHAOS INJECTION (before external call)
-        // -----------------------------------------------------------------
-        //chaosMonkey();
-
-        // 🔥 FAULT INJECTION
-        chaosFaultInjector.inject();
-
-        // -----------------------------------------------------------------
-        // External service call log
+        // Address lookup (near-cache → single-flight → retry → circuit breaker → address service)
         // -----------------------------------------------------------------
-        log.debug("Calling Address Service. url={}{}", ADDRESS_SERVICE_URL, postalCode);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<AddressDTO> entity = new HttpEntity<>(null, headers);
-
-        ResponseEntity<AddressDTO> response = restTemplate.exchange(
-                ADDRESS_SERVICE_URL + postalCode,
-                HttpMethod.GET,
-                entity,
-                AddressDTO.class
-        );
-
-        AddressDTO addressDTO = response.getBody();
+        AddressDTO addressDTO;
+        try {
+            addressDTO = addressCache.get(
+                    postalCode,
+                    this::lookupAddress,
+                    this::refreshAddress
+            );
+        } catch (RuntimeException e) {
+            return addressFallback(order, e);
+        }
 
         if (addressDTO != null) {
             order.setShippingState(addressDTO.getState());
@@ -231,58 +248,297 @@ public class OrderServiceImpl implements OrderService {
         }
 
         orderMetrics.incrementOrdersSuccessful();
-        Timer.Sample activeTimer = activeTimers.remove(orderNumber);
-        if (activeTimer != null) {
-            orderMetrics.recordOrderProcessingDuration(activeTimer);
-        }
         return order;
     }
 
     // ---------------------------------------------------------------------
-    // CHAOS ENGINEERING CORE
+    // BULK LOOKUP
+    //
+    // The whole batch takes one rate limiter permit and one bulkhead slot.
+    //
+    // - Orders are loaded with a single IN query, once
+    // - Postal codes are deduplicated; cached ones come from the near-cache
+    //   and the rest are resolved with batch calls to the Address Service
+    // - Only those batch calls are retried (as a unit) and go through the
+    //   circuit breaker, so a retry never repeats the query or the metrics
     // ---------------------------------------------------------------------
-//    private void chaosMonkey() {
-//
-//        if (!chaosEnabled) {
-//            return;
-//        }
-//
-//        double r = Math.random();
-//
-//        if (chaosLatencyMs > 0) {
-//            try {
-//                log.warn("CHAOS: Injecting latency {}ms", chaosLatencyMs);
-//                Thread.sleep(chaosLatencyMs);
-//            } catch (InterruptedException e) {
-//                Thread.currentThread().interrupt();
-//            }
-//        }
-//
-//        if (r < timeoutProbability) {
-//            log.warn("CHAOS: Injecting TIMEOUT");
-//            throw new ResourceAccessException("Chaos timeout");
-//        }
-//
-//        if (r < timeoutProbability + connectionErrorProbability) {
-//            log.warn("CHAOS: Injecting CONNECTION FAILURE");
-//            throw new ResourceAccessException("Chaos connection failure");
-//        }
-//
-//        if (r < timeoutProbability + connectionErrorProbability + http500Probability) {
-//            log.warn("CHAOS: Injecting HTTP 500");
-//            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
-//        }
-//    }
+    @RateLimiter(name = SERVICE_NAME, fallbackMethod = "bulkRateLimitFallback")
+    @Bulkhead(name = SERVICE_NAME, type = Bulkhead.Type.SEMAPHORE, fallbackMethod = "bulkBulkheadFallback")
+    public Type getOrdersByOrderNumbers(List<String> orderNumbers) {
+        List<String> distinctOrderNumbers = orderNumbers.stream().distinct().toList();
+        Map<String, Order> orders = loadOrders(distinctOrderNumbers);
+
+        Set<String> postalCodes = orders.values().stream()
+                .map(Order::getPostalCode)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<String, AddressDTO> addresses;
+        try {
+            addresses = postalCodes.isEmpty()
+                    ? Map.of()
+                    : addressCache.getAll(
+                            postalCodes,
+                            codes -> callAddressService(() -> fetchAddresses(codes)),
+                            this::refreshAddress
+                    );
+        } catch (RuntimeException e) {
+            return bulkAddressFallback(distinctOrderNumbers, orders, e);
+        }
+
+        log.info(
+                "Bulk lookup. orders={}, found={}, postalCodes={}",
+                distinctOrderNumbers.size(),
+                orders.size(),
+                postalCodes.size()
+        );
+
+        List<OrderResult> results = new ArrayList<>(distinctOrderNumbers.size());
+        for (String orderNumber : distinctOrderNumbers) {
+            orderMetrics.incrementOrdersProcessed();
+            Order order = orders.get(orderNumber);
+
+            if (order == null) {
+                results.add(orderNotFound(orderNumber));
+                continue;
+            }
+
+            orderMetrics.incrementOrdersByPostalCode(order.getPostalCode());
+            AddressDTO addressDTO = addresses.get(order.getPostalCode());
+            if (addressDTO == null) {
+                // a single lookup of that postal code fails as well
+                log.warn(
+                        "Address service has no address. orderNumber={}, postalCode={}",
+                        orderNumber,
+                        order.getPostalCode()
+                );
+                orderMetrics.incrementOrdersFailed("ADDRESS_NOT_FOUND");
+                results.add(OrderResult.failed(
+                        orderNumber,
+                        new Failure("Address Not Found: " + order.getPostalCode(), "ADDRESS_NOT_FOUND", false)
+                ));
+                continue;
+            }
+
+            order.setShippingState(addressDTO.getState());
+            order.setShippingCity(addressDTO.getCity());
+            orderMetrics.incrementOrdersSuccessful();
+            results.add(OrderResult.of(orderNumber, order));
+        }
+
+        return new BulkOrderResult(results);
+    }
+
     // ---------------------------------------------------------------------
-    // Retry fallback (called AFTER all retry attempts are exhausted)
+    // Single lookup: with orders.partitions.enabled, Retry → the postal
+    // code partition's Bulkhead → CircuitBreaker, so a failing partition
+    // fails fast while the others keep flowing
     // ---------------------------------------------------------------------
-    private Type retryFallbackMethod(String orderNumber, Exception e) {
-        Timer.Sample activeTimer = activeTimers.remove(orderNumber);
-        if (activeTimer != null) {
-            orderMetrics.recordOrderProcessingDuration(activeTimer);
+    private <T> T callAddressService(String postalCode, Supplier<T> call) {
+        if (partitionedResilience == null) {
+            return callAddressService(call);
         }
+        Supplier<T> attempt = timed(OrderMetrics.Stage.CIRCUIT_BREAKER,
+                () -> partitionedResilience.execute(postalCode, call));
+        return timed(OrderMetrics.Stage.RETRY,
+                Retry.decorateSupplier(retryRegistry.retry(SERVICE_NAME), attempt)).get();
+    }
+
+    // ---------------------------------------------------------------------
+    // Retry → CircuitBreaker around a remote call, same instances (and
+    // configuration) the annotations used; each attempt is counted in
+    // address.remote.attempt.total. Batch calls span partitions and always
+    // use these shared instances.
+    // ---------------------------------------------------------------------
+    private <T> T callAddressService(Supplier<T> call) {
+        Supplier<T> attempt = timed(OrderMetrics.Stage.CIRCUIT_BREAKER, CircuitBreaker.decorateSupplier(
+                circuitBreakerRegistry.circuitBreaker(SERVICE_NAME),
+                call
+        ));
+        return timed(OrderMetrics.Stage.RETRY,
+                Retry.decorateSupplier(retryRegistry.retry(SERVICE_NAME), attempt)).get();
+    }
+
+    // Each get() recorded in order.stage.duration, failures included
+    private <T> Supplier<T> timed(OrderMetrics.Stage stage, Supplier<T> supplier) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return supplier.get();
+            } finally {
+                orderMetrics.recordStageDuration(stage, System.nanoTime() - start);
+            }
+        };
+    }
+
+    // Rate limiter and bulkhead wait of the timed lookup, from the method
+    // body or from their fallbacks; not recorded for untimed (bulk) calls
+    private void recordAdmission() {
+        long admission = OrderProcessingTimingAspect.elapsedNanos();
+        if (admission >= 0) {
+            orderMetrics.recordStageDuration(OrderMetrics.Stage.ADMISSION, admission);
+        }
+    }
+
+    private Map<String, Order> loadOrders(Collection<String> orderNumbers) {
+        return orderRepository.findByOrderNumberIn(orderNumbers).stream()
+                .collect(Collectors.toMap(Order::getOrderNumber, Function.identity(), (first, second) -> first));
+    }
+
+    private OrderResult orderNotFound(String orderNumber) {
+        orderMetrics.incrementOrdersFailed("ORDER_NOT_FOUND");
+        return OrderResult.failed(
+                orderNumber,
+                new Failure("Order Not Found: " + orderNumber, "ORDER_NOT_FOUND", false)
+        );
+    }
+
+    // ---------------------------------------------------------------------
+    // Cache misses of a bulk lookup → batch calls to the Address Service
+    // ---------------------------------------------------------------------
+    private Map<String, AddressDTO> fetchAddresses(Collection<String> postalCodes) {
+        return measured(() -> {
+            // 🔥 FAULT INJECTION
+            chaosFaultInjector.inject();
+
+            log.debug("Calling Address Service batch. postalCodes={}", postalCodes.size());
+            return addressBatcher.lookupAll(postalCodes);
+        });
+    }
+
+    // ---------------------------------------------------------------------
+    // Cache miss → Retry → CircuitBreaker → remote call, coalesced per
+    // postal code
+    //
+    // Concurrent callers asking for the same postal code join the lookup
+    // already in flight instead of issuing an identical one. Only its leader
+    // goes through Retry, CircuitBreaker (and the partition bulkhead): the
+    // circuit records one call however many callers wait, and the followers
+    // receive the leader's result or its final exception, after retries.
+    // ---------------------------------------------------------------------
+    private AddressDTO lookupAddress(String postalCode) {
+        return coalesced(postalCode, code -> callAddressService(code, () -> fetchAddress(code)));
+    }
+
+    private AddressDTO coalesced(String postalCode, Function<String, AddressDTO> lookup) {
+        if (!addressServiceProperties.isCoalesceRequests()) {
+            return lookup.apply(postalCode);
+        }
+        return addressLookups.execute(postalCode, lookup);
+    }
+
+    // ---------------------------------------------------------------------
+    // Remote call to the Address Service
+    // ---------------------------------------------------------------------
+    private AddressDTO fetchAddress(String postalCode) {
+        return measured(() -> {
+            // 🔥 FAULT INJECTION
+            chaosFaultInjector.inject();
+
+            // -------------------------------------------------------------
+            // Batched call: queued with other lookups, one POST per batch
+            // -------------------------------------------------------------
+            if (addressServiceProperties.getBatch().isEnabled()) {
+                return addressBatcher.lookup(postalCode);
+            }
+
+            // -------------------------------------------------------------
+            // External service call log
+            // -------------------------------------------------------------
+            log.debug("Calling Address Service. url={}{}", addressServiceProperties.getUrl(), postalCode);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            HttpEntity<AddressDTO> entity = new HttpEntity<>(null, headers);
+
+            // -------------------------------------------------------------
+            // Slow answer → a second identical GET, first success wins
+            // (pass-through unless address-service.hedge.enabled)
+            // -------------------------------------------------------------
+            return addressHedger.call(() -> {
+                ResponseEntity<AddressDTO> response = restTemplate.exchange(
+                        addressServiceProperties.getUrl() + postalCode,
+                        HttpMethod.GET,
+                        entity,
+                        AddressDTO.class
+                );
+                return response.getBody();
+            });
+        });
+    }
+
+    // ---------------------------------------------------------------------
+    // One attempt of a remote call: counted in address.remote.attempt.total
+    // and timed in address.remote.duration, its latency fed to the adaptive
+    // bulkhead limit
+    //
+    // Successful calls are latency samples, I/O failures (timeouts,
+    // refused connections) back the limit off, other failures are ignored.
+    // ---------------------------------------------------------------------
+    private <T> T measured(Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            long nanos = System.nanoTime() - start;
+            orderMetrics.recordAddressRemoteAttempt(true, nanos);
+            if (adaptiveBulkhead != null) {
+                adaptiveBulkhead.onSample(nanos);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            orderMetrics.recordAddressRemoteAttempt(false, System.nanoTime() - start);
+            if (adaptiveBulkhead != null && e instanceof ResourceAccessException) {
+                adaptiveBulkhead.onDrop();
+            }
+            throw e;
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Background refresh of a stale cache entry (stale-while-revalidate)
+    //
+    // Runs outside the annotated method, so it goes through the circuit
+    // breaker programmatically: refresh failures count toward the failure
+    // rate and no refresh is attempted while the circuit is OPEN. Coalesced
+    // like the request path: a lookup already in flight is joined.
+    // ---------------------------------------------------------------------
+    private AddressDTO refreshAddress(String postalCode) {
+        if (partitionedResilience != null) {
+            return coalesced(postalCode, code -> partitionedResilience.execute(code, () -> fetchAddress(code)));
+        }
+        return coalesced(postalCode, code -> circuitBreakerRegistry.circuitBreaker(SERVICE_NAME)
+                .executeSupplier(() -> fetchAddress(code)));
+    }
+
+    // ---------------------------------------------------------------------
+    // Stale answer while the circuit is OPEN (address-service.cache.serve-stale-on-circuit-open)
+    // ---------------------------------------------------------------------
+    private Optional<Order> serveStaleAddress(Order order) {
+        return addressCache.getStale(order.getPostalCode())
+                .map(addressDTO -> {
+                    order.setShippingState(addressDTO.getState());
+                    order.setShippingCity(addressDTO.getCity());
+                    return order;
+                });
+    }
+
+    // ---------------------------------------------------------------------
+    // Address fallback (called AFTER all retry attempts are exhausted)
+    // ---------------------------------------------------------------------
+    private Type addressFallback(Order order, Exception e) {
+        String orderNumber = order.getOrderNumber();
 
         if (e instanceof CallNotPermittedException) {
+            Optional<Order> staleOrder = serveStaleAddress(order);
+            if (staleOrder.isPresent()) {
+                log.warn(
+                        "Circuit breaker OPEN, serving cached address. orderNumber={}",
+                        orderNumber
+                );
+                orderMetrics.incrementOrdersSuccessful();
+                return staleOrder.get();
+            }
+
             log.error(
                     "Circuit breaker OPEN for Address Service. orderNumber={}",
                     orderNumber
@@ -295,6 +551,12 @@ public class OrderServiceImpl implements OrderService {
             );
         }
 
+        if (e instanceof BulkheadFullException) {
+            log.warn("PARTITION BULKHEAD FULL. orderNumber={}, postalCode={}", orderNumber, order.getPostalCode());
+            orderMetrics.incrementOrdersFailed("BULKHEAD_FULL");
+            return new Failure("Service overloaded", "BULKHEAD_FULL", true);
+        }
+
         log.warn(
                 "Retries exhausted for Address Service. orderNumber={}, reason={}",
                 orderNumber,
@@ -323,21 +585,15 @@ public class OrderServiceImpl implements OrderService {
             String orderNumber,
             BulkheadFullException ex
     ) {
-        Timer.Sample activeTimer = activeTimers.remove(orderNumber);
-        if (activeTimer != null) {
-            orderMetrics.recordOrderProcessingDuration(activeTimer);
-        }
         log.warn("BULKHEAD FULL. orderNumber={}", orderNumber);
+        recordAdmission();
         orderMetrics.incrementOrdersFailed("BULKHEAD_FULL");
         return new Failure("Service overloaded", "BULKHEAD_FULL", true);
     }
 
 
     private Type rateLimitFallback(String orderNumber, RequestNotPermitted e) {
-        Timer.Sample activeTimer = activeTimers.remove(orderNumber);
-        if (activeTimer != null) {
-            orderMetrics.recordOrderProcessingDuration(activeTimer);
-        }
+        recordAdmission();
         log.error(
                 ">>> RATE LIMITER FALLBACK <<< orderNumber={}, exception={}",
                 orderNumber,
@@ -352,4 +608,67 @@ public class OrderServiceImpl implements OrderService {
                 false
         );
     }
-}
\ No newline at end of file
+
+    // ---------------------------------------------------------------------
+    // Bulk fallbacks
+    //
+    // Rate limiter / bulkhead reject the batch as a whole. After retries or
+    // with an OPEN circuit every order gets its own result: ORDER_NOT_FOUND,
+    // a stale cached address (circuit OPEN), or the batch failure reason.
+    // ---------------------------------------------------------------------
+    private Type bulkAddressFallback(List<String> distinctOrderNumbers, Map<String, Order> orders, Exception e) {
+        boolean circuitOpen = e instanceof CallNotPermittedException;
+        Failure failure = circuitOpen
+                ? new Failure("Address service is unavailable - Circuit breaker is OPEN", "CIRCUIT_OPEN", true)
+                : new Failure("Address service failed after retry attempts: " + e.getMessage(), "RETRY_EXHAUSTED", false);
+
+        log.warn(
+                "Bulk lookup failed. orders={}, reason={}, exception={}",
+                distinctOrderNumbers.size(),
+                failure.getReason(),
+                e.getClass().getSimpleName()
+        );
+
+        List<OrderResult> results = new ArrayList<>(distinctOrderNumbers.size());
+        for (String orderNumber : distinctOrderNumbers) {
+            orderMetrics.incrementOrdersProcessed();
+            Order order = orders.get(orderNumber);
+
+            if (order == null) {
+                results.add(orderNotFound(orderNumber));
+                continue;
+            }
+
+            Optional<AddressDTO> staleAddress = circuitOpen
+                    ? addressCache.getStale(order.getPostalCode())
+                    : Optional.empty();
+            if (staleAddress.isPresent()) {
+                order.setShippingState(staleAddress.get().getState());
+                order.setShippingCity(staleAddress.get().getCity());
+                orderMetrics.incrementOrdersSuccessful();
+                results.add(OrderResult.of(orderNumber, order));
+            } else {
+                orderMetrics.incrementOrdersFailed(failure.getReason());
+                results.add(OrderResult.failed(orderNumber, failure));
+            }
+        }
+
+        return new BulkOrderResult(results);
+    }
+
+    private Type bulkBulkheadFallback(List<String> orderNumbers, BulkheadFullException ex) {
+        log.warn("BULKHEAD FULL. bulk orders={}", orderNumbers.size());
+        orderMetrics.incrementOrdersFailed("BULKHEAD_FULL");
+        return new Failure("Service overloaded", "BULKHEAD_FULL", true);
+    }
+
+    private Type bulkRateLimitFallback(List<String> orderNumbers, RequestNotPermitted e) {
+        log.warn("RATE LIMITED. bulk orders={}", orderNumbers.size());
+        orderMetrics.incrementOrdersFailed("RATE_LIMIT");
+        return new Failure(
+                "Too many requests. Please try again later.",
+                "RATE_LIMIT",
+                false
+        );
+    }
+}
@@ -0,0 +1,254 @@
+package com.edu.orderservice.service.impl;
+
+import com.edu.orderservice.chaos.ChaosFaultInjector;
+import com.edu.orderservice.concurrency.AdaptiveBulkhead;
+import com.edu.orderservice.config.AddressServiceProperties;
+import com.edu.orderservice.config.OrderMetrics;
+import com.edu.orderservice.dto.AddressDTO;
+import com.edu.orderservice.model.Failure;
+import com.edu.orderservice.model.Order;
+import com.edu.orderservice.model.Type;
+import com.edu.orderservice.repository.OrderRepository;
+import com.edu.orderservice.service.ReactiveOrderService;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+public class ReactiveOrderServiceImpl implements ReactiveOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveOrderServiceImpl.class);
+
+    private static final String SERVICE_NAME = "order-service";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private WebClient addressServiceWebClient;
+
+    @Autowired
+    private OrderMetrics orderMetrics;
+
+    @Autowired
+    private AddressServiceProperties addressServiceProperties;
+
+    @Autowired
+    private ChaosFaultInjector chaosFaultInjector;
+
+    @Autowired
+    private RateLimiterRegistry rateLimiterRegistry;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private RetryRegistry retryRegistry;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    // Present only with orders.concurrency-limit.mode=ADAPTIVE
+    @Autowired(required = false)
+    private AdaptiveBulkhead adaptiveBulkhead;
+
+    // ---------------------------------------------------------------------
+    // Reactive sibling of OrderServiceImpl#getOrderByPostCode
+    //
+    // The same Resilience4j instances are applied as operators, in the same
+    // places as in the blocking flow (first = outer):
+    //
+    //   RateLimiter → Bulkhead → method body → Retry → CircuitBreaker → remote call
+    //
+    // - The order is loaded once, only the remote call is retried
+    // - Retry waits between attempts with a timer, no thread sleeps
+    // - The bulkhead counts in-flight subscriptions, not busy threads
+    // - The JPA lookup is still blocking, it runs on boundedElastic
+    // - Failures are mapped to the same Failure reasons and metrics
+    //
+    // The near-cache, request coalescing and batching wrap blocking loaders
+    // and are only used by the blocking flow.
+    // ---------------------------------------------------------------------
+    @Override
+    public Mono<Type> getOrderByPostCode(String orderNumber) {
+        return Mono.defer(() -> {
+            Timer.Sample timer = orderMetrics.startOrderProcessingTimer();
+            long start = System.nanoTime();
+
+            return process(orderNumber, start)
+                    .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(SERVICE_NAME)))
+                    .transformDeferred(RateLimiterOperator.of(rateLimiterRegistry.rateLimiter(SERVICE_NAME)))
+                    .onErrorResume(e -> Mono.just(fallback(orderNumber, e, start)))
+                    .doFinally(signal -> orderMetrics.recordOrderProcessingDuration(timer));
+        });
+    }
+
+    // ---------------------------------------------------------------------
+    // Method body, subscribed once per request, once the rate limiter and
+    // the bulkhead let it through
+    // ---------------------------------------------------------------------
+    private Mono<Type> process(String orderNumber, long start) {
+        return Mono.defer(() -> {
+                    orderMetrics.recordStageDuration(OrderMetrics.Stage.ADMISSION, System.nanoTime() - start);
+                    orderMetrics.incrementOrdersProcessed();
+                    return Mono.fromCallable(() -> orderRepository.findByOrderNumber(orderNumber))
+                            .subscribeOn(Schedulers.boundedElastic());
+                })
+                .flatMap(found -> found
+                        .map(order -> withAddress(orderNumber, order))
+                        .orElseGet(() -> Mono.just(orderNotFound(orderNumber))));
+    }
+
+    private Mono<Type> withAddress(String orderNumber, Order order) {
+        String postalCode = order.getPostalCode();
+        orderMetrics.incrementOrdersByPostalCode(postalCode);
+
+        return fetchAddress(postalCode)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(SERVICE_NAME)))
+                .transform(attempt -> timed(OrderMetrics.Stage.CIRCUIT_BREAKER, attempt))
+                .transformDeferred(RetryOperator.of(retryRegistry.retry(SERVICE_NAME)))
+                .transform(retried -> timed(OrderMetrics.Stage.RETRY, retried))
+                .doOnNext(addressDTO -> {
+                    order.setShippingState(addressDTO.getState());
+                    order.setShippingCity(addressDTO.getCity());
+                    log.info(
+                            "Successfully retrieved address. orderNumber={}, city={}, state={}",
+                            orderNumber,
+                            addressDTO.getCity(),
+                            addressDTO.getState()
+                    );
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> log.warn(
+                        "Address service returned empty body. orderNumber={}, postalCode={}",
+                        orderNumber,
+                        postalCode
+                )))
+                .then(Mono.fromCallable(() -> {
+                    orderMetrics.incrementOrdersSuccessful();
+                    return (Type) order;
+                }));
+    }
+
+    // Each subscription recorded in order.stage.duration, until it
+    // completes, fails or is cancelled
+    private <T> Mono<T> timed(OrderMetrics.Stage stage, Mono<T> mono) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return mono.doFinally(signal -> orderMetrics.recordStageDuration(stage, System.nanoTime() - start));
+        });
+    }
+
+    private Type orderNotFound(String orderNumber) {
+        log.error("Order not found. orderNumber={}", orderNumber);
+        orderMetrics.incrementOrdersFailed("ORDER_NOT_FOUND");
+        return new Failure("Order Not Found: " + orderNumber, "ORDER_NOT_FOUND", false);
+    }
+
+    // ---------------------------------------------------------------------
+    // Remote call, subscribed again on every retry attempt and timed per
+    // attempt in address.remote.duration. WebClient
+    // errors are translated to the RestTemplate exceptions so the
+    // retry-exceptions / record-exceptions lists of the shared instances
+    // classify them exactly like the blocking flow.
+    //
+    // Like OrderServiceImpl#measured, each attempt feeds the adaptive
+    // bulkhead: a success is a latency sample, an I/O failure a drop.
+    // ---------------------------------------------------------------------
+    private Mono<AddressDTO> fetchAddress(String postalCode) {
+        String url = addressServiceProperties.getUrl() + postalCode;
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.defer(chaosFaultInjector::injectReactive)
+                    .then(addressServiceWebClient.get()
+                            .uri(url)
+                            .retrieve()
+                            .bodyToMono(AddressDTO.class))
+                    .onErrorMap(WebClientRequestException.class, e ->
+                            new ResourceAccessException("I/O error on GET request for \"" + url + "\": " + e.getMessage()))
+                    .onErrorMap(WebClientResponseException.class, e -> e.getStatusCode().is5xxServerError()
+                            ? HttpServerErrorException.create(e.getStatusCode(), e.getStatusText(),
+                                    e.getHeaders(), e.getResponseBodyAsByteArray(), null)
+                            : HttpClientErrorException.create(e.getStatusCode(), e.getStatusText(),
+                                    e.getHeaders(), e.getResponseBodyAsByteArray(), null))
+                    .doOnSuccess(addressDTO -> {
+                        long nanos = System.nanoTime() - start;
+                        orderMetrics.recordAddressRemoteAttempt(true, nanos);
+                        if (adaptiveBulkhead != null) {
+                            adaptiveBulkhead.onSample(nanos);
+                        }
+                    })
+                    .doOnError(e -> {
+                        orderMetrics.recordAddressRemoteAttempt(false, System.nanoTime() - start);
+                        if (adaptiveBulkhead != null && e instanceof ResourceAccessException) {
+                            adaptiveBulkhead.onDrop();
+                        }
+                    });
+        });
+    }
+
+    // ---------------------------------------------------------------------
+    // Single fallback, same reasons as the blocking fallbacks
+    // ---------------------------------------------------------------------
+    private Type fallback(String orderNumber, Throwable e, long start) {
+        if (e instanceof RequestNotPermitted || e instanceof BulkheadFullException) {
+            orderMetrics.recordStageDuration(OrderMetrics.Stage.ADMISSION, System.nanoTime() - start);
+        }
+
+        if (e instanceof RequestNotPermitted) {
+            log.error("RATE LIMITER FALLBACK. orderNumber={}", orderNumber);
+            orderMetrics.incrementOrdersFailed("RATE_LIMIT");
+            return new Failure("Too many requests. Please try again later.", "RATE_LIMIT", false);
+        }
+
+        if (e instanceof BulkheadFullException) {
+            log.warn("BULKHEAD FULL. orderNumber={}", orderNumber);
+            orderMetrics.incrementOrdersFailed("BULKHEAD_FULL");
+            return new Failure("Service overloaded", "BULKHEAD_FULL", true);
+        }
+
+        if (e instanceof CallNotPermittedException) {
+            log.error("Circuit breaker OPEN for Address Service. orderNumber={}", orderNumber);
+            orderMetrics.incrementOrdersFailed("CIRCUIT_OPEN");
+            return new Failure(
+                    "Address service is unavailable - Circuit breaker is OPEN",
+                    "CIRCUIT_OPEN",
+                    true
+            );
+        }
+
+        log.warn(
+                "Retries exhausted for Address Service. orderNumber={}, reason={}",
+                orderNumber,
+                e.getClass().getSimpleName(),
+                e
+        );
+        orderMetrics.incrementOrdersFailed("RETRY_EXHAUSTED");
+        return new Failure(
+                "Address service failed after retry attempts: " + e.getMessage(),
+                "RETRY_EXHAUSTED",
+                false
+        );
+    }
+}
@@ -0,0 +1,466 @@
+package com.edu.orderservice.tuning;
+
+import com.edu.orderservice.chaos.ChaosFaultInjector;
+import com.edu.orderservice.chaos.LatencyDistribution;
+import com.edu.orderservice.concurrency.AdaptiveBulkhead;
+import com.edu.orderservice.config.OrderMetrics;
+import com.edu.orderservice.partition.PartitionedResilience;
+import com.edu.orderservice.ratelimit.DistributedRateLimiter;
+import com.edu.orderservice.retry.BudgetedRetry;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.SecurityContext;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+// -------------------------------------------------------------------------
+// Runtime settings of the "order-service" instances and the fault injector
+//
+//   GET  /actuator/tuning              → every component
+//   GET  /actuator/tuning/{component}  → one of chaos, ratelimiter,
+//                                        bulkhead, retry, circuitbreaker
+//   POST /actuator/tuning/{component}  {"settings": "maxAttempts=2,waitDuration=10ms"}
+//
+// A POST changes only the settings it names, as comma separated
+// name=value pairs (actuator request bodies are flat string maps). They
+// are all validated before anything is applied, and an invalid one
+// rejects the whole change (400). How each component takes the change:
+//
+//   chaos           ChaosFaultInjector.update(), published as one snapshot
+//   ratelimiter     changeLimitForPeriod / changeTimeoutDuration, in place
+//   bulkhead        changeConfig, in place (waits for permits to shrink)
+//   retry           new instance swapped in the registry, calls already
+//                   retrying finish with the previous settings; the retry
+//                   budget, when enabled, is kept
+//   circuitbreaker  new instance swapped in the registry with the current
+//                   state (OPEN stays OPEN), its failure counts start over;
+//                   partitions created from then on use the new settings
+//
+// Every change is logged with the previous and new settings and counted
+// in order.tuning.change.total{component, result=APPLIED|REJECTED}.
+//
+// The endpoint can turn faults on and change the limits, and has no
+// authentication of its own: it is off unless
+// management.endpoint.tuning.enabled=true, and must then also be listed in
+// management.endpoints.web.exposure.include (the chaos profile does both).
+// -------------------------------------------------------------------------
+@Component
+@Endpoint(id = "tuning", enableByDefault = false)
+public class ResilienceTuningEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilienceTuningEndpoint.class);
+
+    private static final String SERVICE_NAME = "order-service";
+
+    static final List<String> COMPONENTS = List.of("chaos", "ratelimiter", "bulkhead", "retry", "circuitbreaker");
+
+    private static final Set<String> CHAOS_SETTINGS = Set.of(
+            "enabled", "timeout", "connectionError", "http500", "latency", "latencyMS",
+            "timeoutProbability", "connectionErrorProbability", "http500Probability", "latencyProbability",
+            "latencyDistribution", "latencyMaxMS", "latencySigma", "latencyShape");
+    private static final Set<String> RATE_LIMITER_SETTINGS = Set.of("limitForPeriod", "timeoutDuration");
+    private static final Set<String> BULKHEAD_SETTINGS = Set.of("maxConcurrentCalls", "maxWaitDuration");
+    private static final Set<String> RETRY_SETTINGS = Set.of(
+            "maxAttempts", "waitDuration", "exponentialBackoffMultiplier", "exponentialMaxWaitDuration");
+    private static final Set<String> CIRCUIT_BREAKER_SETTINGS = Set.of(
+            "failureRateThreshold", "slowCallRateThreshold", "slowCallDurationThreshold",
+            "waitDurationInOpenState", "slidingWindowSize", "minimumNumberOfCalls",
+            "permittedNumberOfCallsInHalfOpenState");
+
+    // the retry interval is only known through its function: read at this attempt for the cap
+    private static final int MAX_WAIT_ATTEMPT = 30;
+
+    @Autowired
+    private ChaosFaultInjector chaosFaultInjector;
+    @Autowired
+    private RateLimiterRegistry rateLimiterRegistry;
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+    @Autowired
+    private RetryRegistry retryRegistry;
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    @Autowired
+    private OrderMetrics orderMetrics;
+    @Autowired(required = false)
+    private AdaptiveBulkhead adaptiveBulkhead;
+    @Autowired(required = false)
+    private PartitionedResilience partitionedResilience;
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> settings() {
+        Map<String, Map<String, Object>> settings = new LinkedHashMap<>();
+        for (String component : COMPONENTS) {
+            settings.put(component, describe(component));
+        }
+        return settings;
+    }
+
+    // null → 404 for an unknown component
+    @ReadOperation
+    public Map<String, Object> settings(@Selector String component) {
+        return COMPONENTS.contains(component) ? describe(component) : null;
+    }
+
+    // one change at a time: each reads the current instance, then replaces it
+    @WriteOperation
+    public synchronized Map<String, Object> update(
+            @Selector String component,
+            String settings,
+            SecurityContext securityContext
+    ) {
+        String by = securityContext.getPrincipal() == null ? "anonymous" : securityContext.getPrincipal().getName();
+
+        if (!COMPONENTS.contains(component)) {
+            orderMetrics.incrementTuningChange("unknown", false);
+            log.warn("Tuning change rejected. component={}, by={}, reason=unknown component", component, by);
+            throw new InvalidEndpointRequestException(
+                    "Unknown component " + component + ", expected one of " + COMPONENTS, "Unknown component");
+        }
+
+        Map<String, Object> before = describe(component);
+        Map<String, String> changes;
+        try {
+            changes = parse(settings);
+            apply(component, changes);
+        } catch (IllegalArgumentException | IllegalStateException | ConversionException e) {
+            orderMetrics.incrementTuningChange(component, false);
+            log.warn("Tuning change rejected. component={}, by={}, changes={}, reason={}",
+                    component, by, settings, e.getMessage());
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        Map<String, Object> after = describe(component);
+
+        orderMetrics.incrementTuningChange(component, true);
+        log.info("Tuning change applied. component={}, by={}, changes={}, before={}, after={}",
+                component, by, changes, before, after);
+        return after;
+    }
+
+    // "a=1, b=2s" → {a=1, b=2s}, in request order
+    static Map<String, String> parse(String settings) {
+        Map<String, String> changes = new LinkedHashMap<>();
+        for (String pair : settings.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected name=value, got '" + pair.trim() + "'");
+            }
+            String name = pair.substring(0, separator).trim();
+            if (changes.put(name, pair.substring(separator + 1).trim()) != null) {
+                throw new IllegalArgumentException(name + " is given twice");
+            }
+        }
+        return changes;
+    }
+
+    private void apply(String component, Map<String, String> settings) {
+        switch (component) {
+            case "chaos" -> applyChaos(new Changes(settings, CHAOS_SETTINGS));
+            case "ratelimiter" -> applyRateLimiter(new Changes(settings, RATE_LIMITER_SETTINGS));
+            case "bulkhead" -> applyBulkhead(new Changes(settings, BULKHEAD_SETTINGS));
+            case "retry" -> applyRetry(new Changes(settings, RETRY_SETTINGS));
+            case "circuitbreaker" -> applyCircuitBreaker(new Changes(settings, CIRCUIT_BREAKER_SETTINGS));
+            default -> throw new IllegalArgumentException("Unknown component " + component);
+        }
+    }
+
+    private Map<String, Object> describe(String component) {
+        return switch (component) {
+            case "chaos" -> describeChaos();
+            case "ratelimiter" -> describeRateLimiter();
+            case "bulkhead" -> describeBulkhead();
+            case "retry" -> describeRetry();
+            case "circuitbreaker" -> describeCircuitBreaker();
+            default -> throw new IllegalArgumentException("Unknown component " + component);
+        };
+    }
+
+    // ---------------------------------------------------------------------
+    // chaos
+    // ---------------------------------------------------------------------
+    private void applyChaos(Changes changes) {
+        chaosFaultInjector.update(injector -> {
+            changes.ifPresent("enabled", Boolean.class, injector::setEnabled);
+            changes.ifPresent("timeout", Boolean.class, injector::setTimeout);
+            changes.ifPresent("connectionError", Boolean.class, injector::setConnectionError);
+            changes.ifPresent("http500", Boolean.class, injector::setHttp500);
+            changes.ifPresent("latency", Boolean.class, injector::setLatency);
+            changes.ifPresent("latencyMS", Long.class, injector::setLatencyMS);
+            changes.ifPresent("timeoutProbability", Double.class, injector::setTimeoutProbability);
+            changes.ifPresent("connectionErrorProbability", Double.class, injector::setConnectionErrorProbability);
+            changes.ifPresent("http500Probability", Double.class, injector::setHttp500Probability);
+            changes.ifPresent("latencyProbability", Double.class, injector::setLatencyProbability);
+            changes.ifPresent("latencyDistribution", LatencyDistribution.class, injector::setLatencyDistribution);
+            changes.ifPresent("latencyMaxMS", Long.class, injector::setLatencyMaxMS);
+            changes.ifPresent("latencySigma", Double.class, injector::setLatencySigma);
+            changes.ifPresent("latencyShape", Double.class, injector::setLatencyShape);
+        });
+    }
+
+    private Map<String, Object> describeChaos() {
+        Map<String, Object> chaos = new LinkedHashMap<>();
+        synchronized (chaosFaultInjector) {
+            chaos.put("enabled", chaosFaultInjector.isEnabled());
+            chaos.put("active", chaosFaultInjector.isActive());
+            chaos.put("timeout", chaosFaultInjector.isTimeout());
+            chaos.put("connectionError", chaosFaultInjector.isConnectionError());
+            chaos.put("http500", chaosFaultInjector.isHttp500());
+            chaos.put("latency", chaosFaultInjector.isLatency());
+            chaos.put("latencyMS", chaosFaultInjector.getLatencyMS());
+            chaos.put("timeoutProbability", chaosFaultInjector.getTimeoutProbability());
+            chaos.put("connectionErrorProbability", chaosFaultInjector.getConnectionErrorProbability());
+            chaos.put("http500Probability", chaosFaultInjector.getHttp500Probability());
+            chaos.put("latencyProbability", chaosFaultInjector.getLatencyProbability());
+            chaos.put("latencyDistribution", chaosFaultInjector.getLatencyDistribution());
+            chaos.put("latencyMaxMS", chaosFaultInjector.getLatencyMaxMS());
+            chaos.put("latencySigma", chaosFaultInjector.getLatencySigma());
+            chaos.put("latencyShape", chaosFaultInjector.getLatencyShape());
+            chaos.put("scheduleWindows", chaosFaultInjector.getSchedule().size());
+        }
+        return chaos;
+    }
+
+    // ---------------------------------------------------------------------
+    // ratelimiter (limit-refresh-period needs a new limiter: not changeable)
+    // ---------------------------------------------------------------------
+    private void applyRateLimiter(Changes changes) {
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(SERVICE_NAME);
+        RateLimiterConfig.Builder builder = RateLimiterConfig.from(rateLimiter.getRateLimiterConfig());
+        changes.ifPresent("limitForPeriod", Integer.class, builder::limitForPeriod);
+        changes.ifPresent("timeoutDuration", Duration.class, builder::timeoutDuration);
+        RateLimiterConfig config = builder.build();
+
+        rateLimiter.changeLimitForPeriod(config.getLimitForPeriod());
+        rateLimiter.changeTimeoutDuration(config.getTimeoutDuration());
+    }
+
+    private Map<String, Object> describeRateLimiter() {
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(SERVICE_NAME);
+        RateLimiterConfig config = rateLimiter.getRateLimiterConfig();
+
+        Map<String, Object> rateLimiterSettings = new LinkedHashMap<>();
+        rateLimiterSettings.put("mode", rateLimiter instanceof DistributedRateLimiter ? "DISTRIBUTED" : "LOCAL");
+        rateLimiterSettings.put("limitForPeriod", config.getLimitForPeriod());
+        rateLimiterSettings.put("limitRefreshPeriod", config.getLimitRefreshPeriod().toString());
+        rateLimiterSettings.put("timeoutDuration", config.getTimeoutDuration().toString());
+        rateLimiterSettings.put("availablePermissions", rateLimiter.getMetrics().getAvailablePermissions());
+        return rateLimiterSettings;
+    }
+
+    // ---------------------------------------------------------------------
+    // bulkhead (max-concurrent-calls belongs to the adaptive limit when on)
+    // ---------------------------------------------------------------------
+    private void applyBulkhead(Changes changes) {
+        if (adaptiveBulkhead != null && changes.contains("maxConcurrentCalls")) {
+            throw new IllegalArgumentException(
+                    "maxConcurrentCalls is driven by orders.concurrency-limit.mode=ADAPTIVE");
+        }
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(SERVICE_NAME);
+        BulkheadConfig.Builder builder = BulkheadConfig.from(bulkhead.getBulkheadConfig());
+        changes.ifPresent("maxConcurrentCalls", Integer.class, builder::maxConcurrentCalls);
+        changes.ifPresent("maxWaitDuration", Duration.class, builder::maxWaitDuration);
+
+        bulkhead.changeConfig(builder.build());
+    }
+
+    private Map<String, Object> describeBulkhead() {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(SERVICE_NAME);
+        BulkheadConfig config = bulkhead.getBulkheadConfig();
+
+        Map<String, Object> bulkheadSettings = new LinkedHashMap<>();
+        bulkheadSettings.put("mode", adaptiveBulkhead != null ? "ADAPTIVE" : "FIXED");
+        bulkheadSettings.put("maxConcurrentCalls", config.getMaxConcurrentCalls());
+        bulkheadSettings.put("maxWaitDuration", config.getMaxWaitDuration().toString());
+        bulkheadSettings.put("availableConcurrentCalls", bulkhead.getMetrics().getAvailableConcurrentCalls());
+        return bulkheadSettings;
+    }
+
+    // ---------------------------------------------------------------------
+    // retry (multiplier 1 = fixed wait)
+    // ---------------------------------------------------------------------
+    private void applyRetry(Changes changes) {
+        Retry current = retryRegistry.retry(SERVICE_NAME);
+        RetryConfig config = current.getRetryConfig();
+        RetryConfig.Builder<Object> builder = RetryConfig.from(config);
+        changes.ifPresent("maxAttempts", Integer.class, builder::maxAttempts);
+
+        if (changes.contains("waitDuration")
+                || changes.contains("exponentialBackoffMultiplier")
+                || changes.contains("exponentialMaxWaitDuration")) {
+            Duration wait = changes.get("waitDuration", Duration.class, interval(config, 1));
+            double multiplier = changes.get("exponentialBackoffMultiplier", Double.class, multiplier(config));
+            Duration maxWait = changes.get("exponentialMaxWaitDuration", Duration.class,
+                    interval(config, MAX_WAIT_ATTEMPT));
+            if (multiplier < 1) {
+                throw new IllegalArgumentException("exponentialBackoffMultiplier must be >= 1, got " + multiplier);
+            }
+            IntervalFunction intervals = multiplier == 1
+                    ? IntervalFunction.of(wait)
+                    : IntervalFunction.ofExponentialBackoff(wait, multiplier, maxWait);
+            builder.intervalFunction(intervals);
+        }
+
+        Retry replacement = Retry.of(SERVICE_NAME, builder.build(), current.getTags());
+        if (current instanceof BudgetedRetry budgeted) {
+            replacement = new BudgetedRetry(replacement, budgeted.budget(), orderMetrics);
+        }
+        retryRegistry.replace(SERVICE_NAME, replacement);
+    }
+
+    private Map<String, Object> describeRetry() {
+        Retry retry = retryRegistry.retry(SERVICE_NAME);
+        RetryConfig config = retry.getRetryConfig();
+
+        Map<String, Object> retrySettings = new LinkedHashMap<>();
+        retrySettings.put("maxAttempts", config.getMaxAttempts());
+        retrySettings.put("waitDuration", interval(config, 1).toString());
+        retrySettings.put("exponentialBackoffMultiplier", multiplier(config));
+        retrySettings.put("exponentialMaxWaitDuration", interval(config, MAX_WAIT_ATTEMPT).toString());
+        retrySettings.put("budgeted", retry instanceof BudgetedRetry);
+        return retrySettings;
+    }
+
+    // Wait before the given retry; a zero wait-duration has no interval function to ask
+    private static Duration interval(RetryConfig config, int attempt) {
+        try {
+            Long millis = config.getIntervalBiFunction().apply(attempt, null);
+            return Duration.ofMillis(millis == null ? 0 : millis);
+        } catch (IllegalArgumentException e) {
+            return Duration.ZERO;
+        }
+    }
+
+    private static double multiplier(RetryConfig config) {
+        long first = interval(config, 1).toMillis();
+        return first == 0 ? 1.0 : (double) interval(config, 2).toMillis() / first;
+    }
+
+    // ---------------------------------------------------------------------
+    // circuitbreaker
+    // ---------------------------------------------------------------------
+    private void applyCircuitBreaker(Changes changes) {
+        CircuitBreaker current = circuitBreakerRegistry.circuitBreaker(SERVICE_NAME);
+        CircuitBreakerConfig.Builder builder = CircuitBreakerConfig.from(current.getCircuitBreakerConfig());
+        changes.ifPresent("failureRateThreshold", Float.class, builder::failureRateThreshold);
+        changes.ifPresent("slowCallRateThreshold", Float.class, builder::slowCallRateThreshold);
+        changes.ifPresent("slowCallDurationThreshold", Duration.class, builder::slowCallDurationThreshold);
+        changes.ifPresent("waitDurationInOpenState", Duration.class, builder::waitDurationInOpenState);
+        changes.ifPresent("slidingWindowSize", Integer.class, builder::slidingWindowSize);
+        changes.ifPresent("minimumNumberOfCalls", Integer.class, builder::minimumNumberOfCalls);
+        changes.ifPresent("permittedNumberOfCallsInHalfOpenState", Integer.class,
+                builder::permittedNumberOfCallsInHalfOpenState);
+        CircuitBreakerConfig config = builder.build();
+
+        CircuitBreaker replacement = CircuitBreaker.of(SERVICE_NAME, config, current.getTags());
+        // carried over before the swap, so no caller sees a CLOSED breaker in between
+        switch (current.getState()) {
+            case OPEN, HALF_OPEN -> replacement.transitionToOpenState();
+            case FORCED_OPEN -> replacement.transitionToForcedOpenState();
+            case DISABLED -> replacement.transitionToDisabledState();
+            case METRICS_ONLY -> replacement.transitionToMetricsOnlyState();
+            default -> {
+            }
+        }
+        circuitBreakerRegistry.replace(SERVICE_NAME, replacement);
+
+        if (partitionedResilience != null) {
+            partitionedResilience.changeCircuitBreakerConfig(config);
+        }
+    }
+
+    private Map<String, Object> describeCircuitBreaker() {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(SERVICE_NAME);
+        CircuitBreakerConfig config = circuitBreaker.getCircuitBreakerConfig();
+
+        Map<String, Object> circuitBreakerSettings = new LinkedHashMap<>();
+        circuitBreakerSettings.put("state", circuitBreaker.getState());
+        circuitBreakerSettings.put("failureRateThreshold", config.getFailureRateThreshold());
+        circuitBreakerSettings.put("slowCallRateThreshold", config.getSlowCallRateThreshold());
+        circuitBreakerSettings.put("slowCallDurationThreshold", config.getSlowCallDurationThreshold().toString());
+        circuitBreakerSettings.put("waitDurationInOpenState",
+                Duration.ofMillis(config.getWaitIntervalFunctionInOpenState().apply(1)).toString());
+        circuitBreakerSettings.put("slidingWindowType", config.getSlidingWindowType());
+        circuitBreakerSettings.put("slidingWindowSize", config.getSlidingWindowSize());
+        circuitBreakerSettings.put("minimumNumberOfCalls", config.getMinimumNumberOfCalls());
+        circuitBreakerSettings.put("permittedNumberOfCallsInHalfOpenState",
+                config.getPermittedNumberOfCallsInHalfOpenState());
+        return circuitBreakerSettings;
+    }
+
+    // ---------------------------------------------------------------------
+    // Requested settings, converted like application properties
+    // ("10ms", "PT1S", "0.5", "PARETO", ...)
+    // ---------------------------------------------------------------------
+    private static final class Changes {
+
+        private static final ConversionService CONVERSION = ApplicationConversionService.getSharedInstance();
+
+        private final Map<String, String> values;
+
+        Changes(Map<String, String> values, Set<String> supported) {
+            if (values.isEmpty()) {
+                throw new IllegalArgumentException("No settings to change, expected some of " + new TreeSet<>(supported));
+            }
+            Set<String> unknown = new TreeSet<>(values.keySet());
+            unknown.removeAll(supported);
+            if (!unknown.isEmpty()) {
+                throw new IllegalArgumentException(
+                        "Unknown settings " + unknown + ", expected some of " + new TreeSet<>(supported));
+            }
+            this.values = values;
+        }
+
+        boolean contains(String name) {
+            return values.containsKey(name);
+        }
+
+        <T> void ifPresent(String name, Class<T> type, Consumer<T> apply) {
+            if (contains(name)) {
+                apply.accept(get(name, type, null));
+            }
+        }
+
+        <T> T get(String name, Class<T> type, T fallback) {
+            if (!contains(name)) {
+                return fallback;
+            }
+            T value = CONVERSION.convert(values.get(name), type);
+            if (value == null) {
+                throw new IllegalArgumentException(name + " must have a value");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.edu.orderservice;
+
+import com.edu.orderservice.model.Order;
+import com.edu.orderservice.repository.OrderRepository;
+import com.edu.orderservice.stub.AddressServiceStub;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// -------------------------------------------------------------------------
+// The configured resilience limits in virtual-thread mode
+//
+// Real HTTP through Tomcat with spring.threads.virtual.enabled=true: no
+// platform pool caps the requests anymore, so BULKHEAD_FULL and
+// RATE_LIMIT must come from the bulkhead (test profile: 2 concurrent
+// calls) and the rate limiter (3 per period here) alone.
+// -------------------------------------------------------------------------
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.threads.virtual.enabled=true",
+                "resilience4j.ratelimiter.instances.order-service.limit-for-period=3"
+        }
+)
+@ActiveProfiles("test")
+class VirtualThreadLimitsTest {
+
+    private static final AddressServiceStub addressService = AddressServiceStub.start().latency(1000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void addressServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("address-service.url", addressService::url);
+    }
+
+    @AfterAll
+    static void stopAddressService() {
+        addressService.close();
+    }
+
+    @Test
+    void bulkheadAndRateLimiterShouldStillRejectAtTheConfiguredLimits() throws Exception {
+        orderRepository.deleteAll();
+        orderRepository.save(new Order(1, "ORDER-1", "1000001", null, null));
+
+        assertThat(servedOnVirtualThreads()).isTrue();
+
+        try (ExecutorService clientExecutor = Executors.newCachedThreadPool();
+             HttpClient client = HttpClient.newBuilder().executor(clientExecutor).build()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/orders?orderNumber=ORDER-1"))
+                    .timeout(Duration.ofSeconds(10))
+                    .build();
+
+            // two slow calls hold both bulkhead permits
+            CompletableFuture<HttpResponse<String>> first = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+            CompletableFuture<HttpResponse<String>> second = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+            Bulkhead bulkhead = bulkheadRegistry.bulkhead("order-service");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (bulkhead.getMetrics().getAvailableConcurrentCalls() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            HttpResponse<String> third = client.send(request, HttpResponse.BodyHandlers.ofString());
+            assertThat(third.statusCode()).isEqualTo(429);
+            assertThat(reason(third)).isEqualTo("BULKHEAD_FULL");
+
+            // first, second and third took the 3 permits of the period
+            HttpResponse<String> fourth = client.send(request, HttpResponse.BodyHandlers.ofString());
+            assertThat(fourth.statusCode()).isEqualTo(429);
+            assertThat(reason(fourth)).isEqualTo("RATE_LIMIT");
+
+            assertThat(first.get(10, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+            assertThat(second.get(10, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+        }
+    }
+
+    private boolean servedOnVirtualThreads() throws Exception {
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector().getProtocolHandler().getExecutor()
+                .execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+        return virtual.get(5, TimeUnit.SECONDS);
+    }
+
+    private String reason(HttpResponse<String> response) throws Exception {
+        return objectMapper.readTree(response.body()).path("reason").asText();
+    }
+}
@@ -0,0 +1,165 @@
+package com.edu.orderservice;
+
+import com.edu.orderservice.stub.AddressServiceStub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// -------------------------------------------------------------------------
+// Platform-thread vs virtual-thread comparison under a slow address-service
+//
+// Runs only with -DloadTests=true:
+//
+//   ./mvnw test -Dtest=VirtualThreadLoadTest -DloadTests=true
+//
+// The same burst of concurrent /orders calls is sent to order-service in
+// both modes while the address-service stub answers after a fixed delay.
+// Tomcat is capped at a small platform pool so the difference is visible:
+// in platform mode requests queue for a free thread, in virtual mode they
+// all wait on the stub at the same time. Resilience limits are raised so
+// that only thread scheduling is measured (VirtualThreadLimitsTest checks
+// that the configured limits still hold in virtual mode). The stub and the
+// HTTP client run on platform threads so they never compete for carrier
+// threads.
+// -------------------------------------------------------------------------
+@EnabledIfSystemProperty(named = "loadTests", matches = "true")
+class VirtualThreadLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    private static final int CONCURRENT_REQUESTS = 400;
+    private static final int TOMCAT_MAX_THREADS = 50;
+    private static final long ADDRESS_SERVICE_DELAY_MS = 200;
+
+    private AddressServiceStub addressServiceStub;
+
+    @BeforeEach
+    void startSlowAddressService() {
+        addressServiceStub = AddressServiceStub.start().latency(ADDRESS_SERVICE_DELAY_MS);
+    }
+
+    @AfterEach
+    void stopSlowAddressService() {
+        addressServiceStub.close();
+    }
+
+    @Test
+    void virtualThreadsShouldServeMoreConcurrentSlowCalls() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        log.info("Virtual-thread load test\nmode      ok/total  wall(ms)  peakThreads  heapDelta(MB)\n{}\n{}",
+                platform, virtual);
+
+        assertThat(platform.ok()).isEqualTo(CONCURRENT_REQUESTS);
+        assertThat(virtual.ok()).isEqualTo(CONCURRENT_REQUESTS);
+        // on a single core both modes are CPU bound, the gain needs more carriers
+        if (Runtime.getRuntime().availableProcessors() > 1) {
+            assertThat(virtual.wallMillis()).isLessThan(platform.wallMillis());
+        }
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String addressServiceUrl = addressServiceStub.url();
+
+        // passed as command line arguments so they override application.yaml
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OrderServiceApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                        "--server.tomcat.accept-count=" + CONCURRENT_REQUESTS,
+                        "--server.tomcat.max-connections=" + (CONCURRENT_REQUESTS * 2),
+                        "--spring.jpa.open-in-view=false",
+                        "--fault.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.edu.orderservice=OFF",
+                        // the result table, logged after the contexts are closed
+                        "--logging.level.com.edu.orderservice.VirtualThreadLoadTest=INFO",
+                        "--logging.level.io.github.resilience4j=OFF",
+                        "--address-service.url=" + addressServiceUrl,
+                        "--address-service.cache.enabled=false",
+                        "--address-service.coalesce-requests=false",
+                        "--address-service.http-client.mode=POOLED",
+                        "--address-service.http-client.max-total=" + CONCURRENT_REQUESTS,
+                        "--address-service.http-client.max-per-route=" + CONCURRENT_REQUESTS,
+                        "--address-service.http-client.connection-request-timeout=10s",
+                        "--resilience4j.ratelimiter.instances.order-service.limit-for-period=100000",
+                        "--resilience4j.bulkhead.instances.order-service.max-concurrent-calls=100000"
+                )) {
+
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            try (ExecutorService clientExecutor = Executors.newCachedThreadPool();
+                 HttpClient client = HttpClient.newBuilder()
+                         .executor(clientExecutor)
+                         .connectTimeout(Duration.ofSeconds(5))
+                         .build()) {
+                return burst(client, port, virtualThreads);
+            }
+        }
+    }
+
+    private Result burst(HttpClient client, int port, boolean virtualThreads) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/orders?orderNumber=0c70c0c2"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        // warm-up: JIT, connection pool, Hibernate
+        client.send(request, HttpResponse.BodyHandlers.discarding());
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        threads.resetPeakThreadCount();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+        AtomicInteger ok = new AtomicInteger();
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> calls = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            calls.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        if (response.statusCode() == 200) {
+                            ok.incrementAndGet();
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+        long wallMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long heapDeltaMb = (memory.getHeapMemoryUsage().getUsed() - heapBefore) / (1024 * 1024);
+        return new Result(virtualThreads ? "virtual" : "platform", ok.get(), wallMillis,
+                threads.getPeakThreadCount(), heapDeltaMb);
+    }
+
+    private record Result(String mode, int ok, long wallMillis, int peakThreads, long heapDeltaMb) {
+        @Override
+        public String toString() {
+            return String.format("%-9s %3d/%-5d %8d  %11d  %13d",
+                    mode, ok, CONCURRENT_REQUESTS, wallMillis, peakThreads, heapDeltaMb);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.edu.orderservice.benchmark;
+
+import com.edu.orderservice.dto.AddressDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+// -------------------------------------------------------------------------
+// Jackson deserialization of address-service responses: one address
+// (GET /addresses/{postalCode}) and a full batch (POST /addresses/batch)
+// -------------------------------------------------------------------------
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AddressDtoBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+
+    private ObjectReader addressReader;
+    private ObjectReader batchReader;
+    private byte[] address;
+    private byte[] batch;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        addressReader = objectMapper.readerFor(AddressDTO.class);
+        batchReader = objectMapper.readerFor(new TypeReference<List<AddressDTO>>() {
+        });
+
+        address = "{\"id\":1,\"postalCode\":\"1000001\",\"state\":\"Tokyo\",\"city\":\"Chiyoda\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        StringJoiner addresses = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            addresses.add(String.format(
+                    "{\"id\":%d,\"postalCode\":\"%07d\",\"state\":\"Tokyo\",\"city\":\"Chiyoda\"}", i, i));
+        }
+        batch = addresses.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public AddressDTO single() throws IOException {
+        return addressReader.readValue(address);
+    }
+
+    @Benchmark
+    public List<AddressDTO> batch() throws IOException {
+        return batchReader.readValue(batch);
+    }
+}
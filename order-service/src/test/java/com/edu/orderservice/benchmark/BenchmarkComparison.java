@@ -0,0 +1,135 @@
+package com.edu.orderservice.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// -------------------------------------------------------------------------
+// Compares a JMH JSON result with the committed baseline
+//
+//   BenchmarkComparison <baseline.json> <result.json> <threshold %> <failOnRegression> [updateBaseline]
+//
+// All benchmarks here report average time, so higher is slower. A score is
+// a regression when it is more than threshold % above the baseline and the
+// difference is larger than both score errors. New benchmarks are listed
+// without comparison.
+//
+// With updateBaseline=true the results replace their entries in the
+// baseline (others are kept, new ones appended) and nothing fails. The
+// fields that only describe the machine (JVM path and arguments) are left
+// out, so the committed baseline does not change with the host.
+// -------------------------------------------------------------------------
+public final class BenchmarkComparison {
+
+    private static final List<String> MACHINE_FIELDS = List.of("jvm", "jvmArgs");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private record Score(double value, double error, String unit) {
+    }
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        File baselineFile = new File(args[0]);
+        File resultFile = new File(args[1]);
+        double threshold = Double.parseDouble(args[2]) / 100;
+        boolean failOnRegression = Boolean.parseBoolean(args[3]);
+        boolean updateBaseline = args.length > 4 && Boolean.parseBoolean(args[4]);
+
+        if (updateBaseline) {
+            updateBaseline(baselineFile, resultFile);
+            return;
+        }
+        if (!baselineFile.exists()) {
+            System.out.println("No baseline at " + baselineFile + ", nothing to compare");
+            return;
+        }
+
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> result = read(resultFile);
+
+        int regressions = 0;
+        System.out.printf("%-75s %12s %12s %8s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Score> entry : result.entrySet()) {
+            Score current = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-75s %12s %12.3f %8s  %s%n", entry.getKey(), "-", current.value(), "new", current.unit());
+                continue;
+            }
+
+            double change = (current.value() - before.value()) / before.value();
+            boolean regression = change > threshold
+                    && current.value() - before.value() > Math.max(current.error(), before.error());
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-75s %12.3f %12.3f %+7.1f%%  %s%s%n", entry.getKey(), before.value(), current.value(),
+                    change * 100, current.unit(), regression ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0 && failOnRegression) {
+            System.err.println(regressions + " benchmark(s) regressed by more than " + args[2] + "%");
+            System.exit(1);
+        }
+    }
+
+    private static void updateBaseline(File baselineFile, File resultFile) throws IOException {
+        Map<String, JsonNode> runs = new LinkedHashMap<>();
+        if (baselineFile.exists()) {
+            for (JsonNode run : objectMapper.readTree(baselineFile)) {
+                runs.put(key(run), run);
+            }
+        }
+        for (JsonNode run : objectMapper.readTree(resultFile)) {
+            runs.put(key(run), run);
+        }
+        for (JsonNode run : runs.values()) {
+            ((ObjectNode) run).remove(MACHINE_FIELDS);
+        }
+
+        objectMapper.writeValue(baselineFile, runs.values());
+        System.out.println("Updated " + baselineFile + ", " + runs.size() + " benchmark(s)");
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : objectMapper.readTree(file)) {
+            JsonNode metric = run.get("primaryMetric");
+            double error = metric.get("scoreError").asDouble();
+            scores.put(key(run), new Score(
+                    metric.get("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error,
+                    metric.get("scoreUnit").asText()
+            ));
+        }
+        return scores;
+    }
+
+    // Benchmark name without the package, followed by its params
+    private static String key(JsonNode run) {
+        StringBuilder key = new StringBuilder(run.get("benchmark").asText()
+                .replace("com.edu.orderservice.benchmark.", ""));
+
+        JsonNode params = run.get("params");
+        if (params != null) {
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,78 @@
+package com.edu.orderservice.benchmark;
+
+import com.edu.orderservice.config.OrderMetrics;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// -------------------------------------------------------------------------
+// OrderMetrics calls made on every order, on the Prometheus registry used
+// in production. Postal codes and failure reasons rotate so the top-K
+// sketch sees replacements, not only increments of a single key. The
+// contended variant adds postal codes from four threads.
+// -------------------------------------------------------------------------
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMetricsBenchmark {
+
+    private static final int POSTAL_CODES = 5_000;
+
+    private OrderMetrics orderMetrics;
+    private String[] postalCodes;
+    private String[] reasons;
+    private int next;
+
+    @Setup
+    public void setup() {
+        orderMetrics = new OrderMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+        postalCodes = new String[POSTAL_CODES];
+        for (int i = 0; i < POSTAL_CODES; i++) {
+            postalCodes[i] = String.format("%07d", i);
+        }
+        reasons = OrderMetrics.FAILURE_REASONS.toArray(String[]::new);
+    }
+
+    @Benchmark
+    public void incrementOrdersProcessed() {
+        orderMetrics.incrementOrdersProcessed();
+    }
+
+    @Benchmark
+    public void incrementOrdersFailed() {
+        orderMetrics.incrementOrdersFailed(reasons[next++ % reasons.length]);
+    }
+
+    @Benchmark
+    public void incrementOrdersByPostalCode() {
+        orderMetrics.incrementOrdersByPostalCode(postalCodes[next++ % POSTAL_CODES]);
+    }
+
+    // four threads at once, as concurrent orders do
+    @Benchmark
+    @Threads(4)
+    public void incrementOrdersByPostalCodeContended() {
+        orderMetrics.incrementOrdersByPostalCode(postalCodes[ThreadLocalRandom.current().nextInt(POSTAL_CODES)]);
+    }
+
+    @Benchmark
+    public void recordOrderProcessingDuration() {
+        orderMetrics.recordOrderProcessingDuration(1_500_000);
+    }
+}
@@ -0,0 +1,125 @@
+package com.edu.orderservice.benchmark;
+
+import com.edu.orderservice.OrderServiceApplication;
+import com.edu.orderservice.dto.AddressDTO;
+import com.edu.orderservice.model.Order;
+import com.edu.orderservice.model.Type;
+import com.edu.orderservice.repository.OrderRepository;
+import com.edu.orderservice.service.OrderService;
+import com.edu.orderservice.stub.AddressServiceStub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// -------------------------------------------------------------------------
+// getOrderByPostCode end to end, against a local address-service stub
+//
+// - decorated    → through the Spring proxy: timing aspect, RateLimiter,
+//                  Bulkhead, then the method
+// - undecorated  → the same method on the target bean, no aspects; Retry
+//                  and CircuitBreaker still run, they are applied in the
+//                  method body around the address call
+// - repository   → the findByOrderNumber lookup alone
+// - restTemplate → the address GET alone, same RestTemplate, no resilience
+//
+// decorated - undecorated is the cost of the admission aspects. With
+// addressCache=off, undecorated - repository - restTemplate is the cost of
+// the address call's resilience stack (single-flight, Retry,
+// CircuitBreaker, metrics); with addressCache=on the near-cache answers
+// and that stack is never reached.
+// Rate limiter and bulkhead limits are raised so nothing is rejected.
+// -------------------------------------------------------------------------
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderPipelineBenchmark {
+
+    private static final String ORDER_NUMBER = "0c70c0c2";
+
+    @Param({"on", "off"})
+    public String addressCache;
+
+    private AddressServiceStub addressService;
+    private ConfigurableApplicationContext context;
+    private OrderService decorated;
+    private OrderService undecorated;
+    private OrderRepository orderRepository;
+    private RestTemplate restTemplate;
+    private String addressUrl;
+
+    @Setup(Level.Trial)
+    public void start() {
+        addressService = AddressServiceStub.start();
+
+        context = new SpringApplicationBuilder(OrderServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.edu.orderservice=OFF",
+                        "--logging.level.io.github.resilience4j=OFF",
+                        "--fault.enabled=false",
+                        "--address-service.url=" + addressService.url(),
+                        "--address-service.cache.enabled=" + "on".equals(addressCache),
+                        "--resilience4j.ratelimiter.instances.order-service.limit-for-period=1000000000",
+                        "--resilience4j.ratelimiter.instances.order-service.limit-refresh-period=1s",
+                        "--resilience4j.bulkhead.instances.order-service.max-concurrent-calls=1000"
+                );
+
+        decorated = context.getBean(OrderService.class);
+        undecorated = AopTestUtils.getUltimateTargetObject(decorated);
+        orderRepository = context.getBean(OrderRepository.class);
+        restTemplate = context.getBean(RestTemplate.class);
+        addressUrl = addressService.url() + orderRepository.findByOrderNumber(ORDER_NUMBER).orElseThrow().getPostalCode();
+
+        if (!(decorated.getOrderByPostCode(ORDER_NUMBER) instanceof Order)) {
+            throw new IllegalStateException("order lookup failed, check the address-service stub");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+        addressService.close();
+    }
+
+    @Benchmark
+    public Type decorated() {
+        return decorated.getOrderByPostCode(ORDER_NUMBER);
+    }
+
+    @Benchmark
+    public Type undecorated() {
+        return undecorated.getOrderByPostCode(ORDER_NUMBER);
+    }
+
+    @Benchmark
+    public Optional<Order> repository() {
+        return orderRepository.findByOrderNumber(ORDER_NUMBER);
+    }
+
+    @Benchmark
+    public AddressDTO restTemplate() {
+        return restTemplate.getForObject(addressUrl, AddressDTO.class);
+    }
+}
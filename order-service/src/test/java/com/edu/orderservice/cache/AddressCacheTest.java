@@ -0,0 +1,132 @@
+package com.edu.orderservice.cache;
+
+import com.edu.orderservice.config.AddressServiceProperties;
+import com.edu.orderservice.config.OrderMetrics;
+import com.edu.orderservice.dto.AddressDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AddressCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger remoteCalls = new AtomicInteger();
+    private final Function<String, AddressDTO> loader = postalCode -> {
+        remoteCalls.incrementAndGet();
+        return new AddressDTO(1, postalCode, "TX", "Austin-" + remoteCalls.get());
+    };
+
+    private MeterRegistry meterRegistry;
+    private AddressServiceProperties.Cache properties;
+    private AddressCache cache;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new AddressServiceProperties.Cache();
+        properties.setEnabled(true);
+        properties.setMaximumSize(2);
+        properties.setTtl(Duration.ofSeconds(10));
+        properties.setStaleWhileRevalidate(Duration.ofSeconds(5));
+        properties.setMaxStale(Duration.ofMinutes(1));
+        cache = new AddressCache(properties, new OrderMetrics(meterRegistry), now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    void shouldServeFreshEntriesWithoutRemoteCall() {
+        cache.get("12345", loader, loader);
+        AddressDTO address = cache.get("12345", loader, loader);
+
+        assertThat(address.getCity()).isEqualTo("Austin-1");
+        assertThat(remoteCalls.get()).isEqualTo(1);
+        assertThat(counter("address.cache.hit.total")).isEqualTo(1);
+        assertThat(counter("address.cache.miss.total")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldServeStaleEntryAndRefreshInBackground() throws InterruptedException {
+        cache.get("12345", loader, loader);
+        now.addAndGet(Duration.ofSeconds(12).toNanos());
+
+        CountDownLatch refreshed = new CountDownLatch(1);
+        AddressDTO stale = cache.get("12345", loader, postalCode -> {
+            AddressDTO address = loader.apply(postalCode);
+            refreshed.countDown();
+            return address;
+        });
+
+        assertThat(stale.getCity()).isEqualTo("Austin-1");
+        assertThat(refreshed.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // the refresh result becomes visible once the background task stored it
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!"Austin-2".equals(cache.get("12345", loader, loader).getCity())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(cache.get("12345", loader, loader).getCity()).isEqualTo("Austin-2");
+        assertThat(remoteCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldLoadOnRequestPathAfterRevalidateWindow() {
+        cache.get("12345", loader, loader);
+        now.addAndGet(Duration.ofSeconds(20).toNanos());
+
+        AddressDTO address = cache.get("12345", loader, loader);
+
+        assertThat(address.getCity()).isEqualTo("Austin-2");
+        assertThat(counter("address.cache.miss.total")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldServeStaleEntryWhenCircuitIsOpen() {
+        cache.get("12345", loader, loader);
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertThat(cache.getStale("12345")).map(AddressDTO::getCity).contains("Austin-1");
+        assertThat(cache.getStale("99999")).isEmpty();
+
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertThat(cache.getStale("12345")).isEmpty();
+    }
+
+    @Test
+    void shouldNotServeStaleEntryWhenDisabled() {
+        properties.setServeStaleOnCircuitOpen(false);
+        cache.get("12345", loader, loader);
+
+        assertThat(cache.getStale("12345")).isEmpty();
+    }
+
+    @Test
+    void shouldEvictWhenMaximumSizeIsExceeded() {
+        for (int i = 0; i < 10; i++) {
+            cache.get("1000" + i, loader, loader);
+        }
+        cache.get("10000", loader, loader);
+
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+        assertThat(counter("address.cache.eviction.total")).isGreaterThan(0);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+}
@@ -0,0 +1,116 @@
+package com.edu.orderservice.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final AtomicInteger coalesced = new AtomicInteger();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>(coalesced::incrementAndGet);
+    private final ExecutorService executor = Executors.newFixedThreadPool(5);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldShareOneCallBetweenConcurrentCallers() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submit(5, () -> singleFlight.execute("12345", key -> {
+            calls.incrementAndGet();
+            await(release);
+            return "Austin";
+        }));
+
+        waitUntilFollowersJoined(4);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(2, TimeUnit.SECONDS)).isEqualTo("Austin");
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(coalesced.get()).isEqualTo(4);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldShareTheLeaderExceptionWithFollowers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submit(3, () -> singleFlight.execute("12345", key -> {
+            await(release);
+            throw new ResourceAccessException("Connection refused");
+        }));
+
+        waitUntilFollowersJoined(2);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(2, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ResourceAccessException.class);
+        }
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldStartANewCallOnceThePreviousOneCompleted() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("12345", key -> "call-" + calls.incrementAndGet());
+        String second = singleFlight.execute("12345", key -> "call-" + calls.incrementAndGet());
+
+        assertThat(second).isEqualTo("call-2");
+        assertThat(coalesced.get()).isZero();
+    }
+
+    @Test
+    void shouldNotCoalesceDifferentKeys() {
+        singleFlight.execute("12345", key -> key);
+        singleFlight.execute("54321", key -> key);
+
+        assertThat(coalesced.get()).isZero();
+    }
+
+    private List<Future<String>> submit(int callers, Callable<String> call) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+
+    private void waitUntilFollowersJoined(int followers) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (coalesced.get() < followers && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(coalesced.get()).isEqualTo(followers);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
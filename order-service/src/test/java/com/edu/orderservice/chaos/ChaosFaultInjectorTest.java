@@ -0,0 +1,133 @@
+package com.edu.orderservice.chaos;
+
+import com.edu.orderservice.config.OrderMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChaosFaultInjectorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
+    private final AtomicLong now = new AtomicLong();
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final ChaosFaultInjector injector = new ChaosFaultInjector(orderMetrics, now::get, () -> random);
+
+    @Test
+    void switchesShouldAlwaysFire() {
+        injector.setEnabled(true);
+        injector.setConnectionError(true);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(injector::inject).isInstanceOf(ResourceAccessException.class);
+        }
+        assertThat(injected(ChaosFaultInjector.Fault.CONNECTION_ERROR)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldInjectNothingWhenDisabled() {
+        injector.setTimeout(true);
+        injector.setHttp500Probability(1.0);
+
+        injector.inject();
+
+        assertThat(injector.isActive()).isFalse();
+        assertThat(meterRegistry.get("chaos.fault.injected.total").counters())
+                .allSatisfy(counter -> assertThat(counter.count()).isZero());
+    }
+
+    @Test
+    void errorsShouldFollowTheirProbabilities() {
+        injector.setEnabled(true);
+        injector.setTimeoutProbability(0.1);
+        injector.setHttp500Probability(0.2);
+
+        int calls = 10_000;
+        int failed = 0;
+        for (int i = 0; i < calls; i++) {
+            try {
+                injector.inject();
+            } catch (RuntimeException e) {
+                failed++;
+            }
+        }
+
+        assertThat(injected(ChaosFaultInjector.Fault.TIMEOUT)).isBetween(850.0, 1150.0);
+        assertThat(injected(ChaosFaultInjector.Fault.HTTP_500)).isBetween(1800.0, 2200.0);
+        assertThat(injected(ChaosFaultInjector.Fault.CONNECTION_ERROR)).isZero();
+        assertThat(failed).isEqualTo((int) (injected(ChaosFaultInjector.Fault.TIMEOUT)
+                + injected(ChaosFaultInjector.Fault.HTTP_500)));
+    }
+
+    @Test
+    void shouldInjectOnlyInsideScheduledWindows() {
+        ChaosFaultInjector.Window window = new ChaosFaultInjector.Window();
+        window.setStart(Duration.ofMinutes(1));
+        window.setDuration(Duration.ofSeconds(30));
+        window.setEvery(Duration.ofMinutes(10));
+        window.setHttp500Probability(1.0);
+        injector.setEnabled(true);
+        injector.setSchedule(List.of(window));
+        injector.registerMetrics();
+
+        injector.inject();
+        assertThat(meterRegistry.get("chaos.fault.active").gauge().value()).isZero();
+
+        now.set(TimeUnit.SECONDS.toNanos(70));
+        assertThat(meterRegistry.get("chaos.fault.active").gauge().value()).isEqualTo(1);
+        assertThatThrownBy(injector::inject).isInstanceOf(HttpServerErrorException.class);
+
+        now.set(TimeUnit.SECONDS.toNanos(95));
+        injector.inject();
+
+        now.set(TimeUnit.SECONDS.toNanos(665));
+        assertThatThrownBy(injector::inject).isInstanceOf(HttpServerErrorException.class);
+        assertThat(injected(ChaosFaultInjector.Fault.HTTP_500)).isEqualTo(2);
+    }
+
+    @Test
+    void reactiveInjectionShouldDelayThenFail() {
+        injector.setEnabled(true);
+        injector.setLatency(true);
+        injector.setLatencyMS(20);
+        injector.setTimeout(true);
+
+        StepVerifier.create(injector.injectReactive())
+                .expectError(ResourceAccessException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(injected(ChaosFaultInjector.Fault.LATENCY)).isEqualTo(1);
+        assertThat(meterRegistry.get("chaos.fault.latency").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(20);
+    }
+
+    @Test
+    void failedUpdateShouldKeepThePreviousSettings() {
+        injector.setEnabled(true);
+
+        assertThatThrownBy(() -> injector.update(changes -> {
+            changes.setTimeout(true);
+            changes.setHttp500Probability(1.5);
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(injector.isTimeout()).isFalse();
+        injector.inject();
+        assertThat(injected(ChaosFaultInjector.Fault.TIMEOUT)).isZero();
+    }
+
+    private double injected(ChaosFaultInjector.Fault fault) {
+        return meterRegistry.get("chaos.fault.injected.total").tag("fault", fault.name()).counter().count();
+    }
+}
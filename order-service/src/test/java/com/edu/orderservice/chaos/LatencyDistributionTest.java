@@ -0,0 +1,56 @@
+package com.edu.orderservice.chaos;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyDistributionTest {
+
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Test
+    void uniformShouldStayWithinBounds() {
+        long[] samples = sample(LatencyDistribution.UNIFORM, 100, 200, 0, 0);
+
+        assertThat(Arrays.stream(samples).min().getAsLong()).isGreaterThanOrEqualTo(100);
+        assertThat(Arrays.stream(samples).max().getAsLong()).isLessThanOrEqualTo(200);
+        assertThat(percentile(samples, 0.5)).isBetween(140L, 160L);
+    }
+
+    @Test
+    void logNormalShouldCentreOnTheMedian() {
+        long[] samples = sample(LatencyDistribution.LOG_NORMAL, 100, 0, 1.0, 0);
+
+        assertThat(percentile(samples, 0.5)).isBetween(90L, 110L);
+        // exp(2.326) ≈ 10.2 x median at p99
+        assertThat(percentile(samples, 0.99)).isBetween(800L, 1300L);
+    }
+
+    @Test
+    void paretoShouldHaveAHeavyCappedTail() {
+        long[] samples = sample(LatencyDistribution.PARETO, 50, 5_000, 0, 1.16);
+
+        assertThat(Arrays.stream(samples).min().getAsLong()).isGreaterThanOrEqualTo(50);
+        assertThat(Arrays.stream(samples).max().getAsLong()).isEqualTo(5_000);
+        // median = scale x 2^(1/shape) ≈ 91ms, p99 = scale x 100^(1/shape) ≈ 2660ms
+        assertThat(percentile(samples, 0.5)).isBetween(80L, 100L);
+        assertThat(percentile(samples, 0.99)).isGreaterThan(2_000L);
+    }
+
+    private long[] sample(LatencyDistribution distribution, long latencyMS, long maxMS, double sigma, double shape) {
+        long[] samples = new long[20_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = distribution.sampleMillis(random, latencyMS, maxMS, sigma, shape);
+        }
+        return samples;
+    }
+
+    private static long percentile(long[] samples, double percentile) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) (percentile * (sorted.length - 1))];
+    }
+}
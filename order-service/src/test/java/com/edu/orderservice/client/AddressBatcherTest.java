@@ -0,0 +1,179 @@
+package com.edu.orderservice.client;
+
+import com.edu.orderservice.config.OrderMetrics;
+import com.edu.orderservice.dto.AddressDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class AddressBatcherTest {
+
+    private static final String BATCH_URL = "http://localhost:9090/addresses/batch";
+    private static final int SERVER_MAX_SIZE = 500;
+
+    private MeterRegistry meterRegistry;
+    private MockRestServiceServer mockServer;
+    private RestTemplate restTemplate;
+    private AddressBatcher batcher;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        restTemplate = new RestTemplate();
+        mockServer = MockRestServiceServer.createServer(restTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.close();
+    }
+
+    @Test
+    void shouldSendOneCallWhenBatchIsFull() throws Exception {
+        batcher = new AddressBatcher(restTemplate, BATCH_URL, 3, SERVER_MAX_SIZE, Duration.ofSeconds(10), new OrderMetrics(meterRegistry));
+
+        mockServer.expect(requestTo(BATCH_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().json("[\"12345\",\"54321\"]", true))
+                .andRespond(withSuccess("""
+                        [
+                          {"id":1,"postalCode":"12345","state":"TX","city":"Austin"},
+                          {"id":2,"postalCode":"54321","state":"CA","city":"Fresno"}
+                        ]
+                        """, MediaType.APPLICATION_JSON));
+
+        CompletableFuture<AddressDTO> first = batcher.submit("12345");
+        CompletableFuture<AddressDTO> second = batcher.submit("54321");
+        CompletableFuture<AddressDTO> third = batcher.submit("12345");
+
+        assertThat(first.get(1, TimeUnit.SECONDS).getCity()).isEqualTo("Austin");
+        assertThat(second.get(1, TimeUnit.SECONDS).getCity()).isEqualTo("Fresno");
+        assertThat(third.get(1, TimeUnit.SECONDS).getCity()).isEqualTo("Austin");
+        mockServer.verify();
+
+        assertThat(meterRegistry.get("address.batch.size").summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("address.batch.flush.total").tag("trigger", "SIZE").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldFlushPartialBatchAfterLinger() throws Exception {
+        batcher = new AddressBatcher(restTemplate, BATCH_URL, 50, SERVER_MAX_SIZE, Duration.ofMillis(20), new OrderMetrics(meterRegistry));
+
+        mockServer.expect(requestTo(BATCH_URL))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        // unknown postal code → 500, as the single GET
+        assertThatThrownBy(() -> batcher.submit("99999").get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(HttpServerErrorException.InternalServerError.class)
+                .hasMessageContaining("Address Not Found: 99999");
+        mockServer.verify();
+
+        assertThat(meterRegistry.get("address.batch.flush.total").tag("trigger", "LINGER").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("address.batch.linger").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(15);
+    }
+
+    @Test
+    void shouldRejectBatchSizesTheServerCannotTake() {
+        OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
+
+        for (int maxBatchSize : new int[]{-1, 0, SERVER_MAX_SIZE + 1}) {
+            assertThatThrownBy(() -> new AddressBatcher(
+                    restTemplate, BATCH_URL, maxBatchSize, SERVER_MAX_SIZE, Duration.ofMillis(5), orderMetrics))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("max-batch-size");
+        }
+        batcher = new AddressBatcher(restTemplate, BATCH_URL, SERVER_MAX_SIZE, SERVER_MAX_SIZE, Duration.ofMillis(5), orderMetrics);
+    }
+
+    @Test
+    void slowLingerFlushShouldNotHoldBackTheNextTimer() throws Exception {
+        CountDownLatch firstCallReleased = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Queue<Thread> flushThreads = new ConcurrentLinkedQueue<>();
+        RestTemplate slowRestTemplate = new RestTemplate((uri, httpMethod) -> new MockClientHttpRequest(httpMethod, uri) {
+            @Override
+            protected ClientHttpResponse executeInternal() throws IOException {
+                flushThreads.add(Thread.currentThread());
+                if (calls.getAndIncrement() == 0) {
+                    try {
+                        firstCallReleased.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                }
+                MockClientHttpResponse response = new MockClientHttpResponse(
+                        "[{\"id\":1,\"postalCode\":\"12345\",\"state\":\"TX\",\"city\":\"Austin\"}]"
+                                .getBytes(StandardCharsets.UTF_8),
+                        HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                return response;
+            }
+        });
+        batcher = new AddressBatcher(slowRestTemplate, BATCH_URL, 50, SERVER_MAX_SIZE, Duration.ofMillis(20),
+                new OrderMetrics(meterRegistry));
+
+        CompletableFuture<AddressDTO> blocked = batcher.submit("12345");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (calls.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        // the first POST is still blocked, the next linger flush goes out anyway
+        assertThat(batcher.submit("12345").get(1, TimeUnit.SECONDS).getCity()).isEqualTo("Austin");
+        assertThat(blocked).isNotDone();
+
+        firstCallReleased.countDown();
+        assertThat(blocked.get(1, TimeUnit.SECONDS).getCity()).isEqualTo("Austin");
+        assertThat(flushThreads).hasSize(2).allMatch(Thread::isVirtual);
+    }
+
+    @Test
+    void shouldFailEveryLookupWhenBatchCallFails() {
+        batcher = new AddressBatcher(restTemplate, BATCH_URL, 2, SERVER_MAX_SIZE, Duration.ofSeconds(10), new OrderMetrics(meterRegistry));
+
+        mockServer.expect(requestTo(BATCH_URL)).andRespond(withServerError());
+
+        CompletableFuture<AddressDTO> first = batcher.submit("12345");
+
+        assertThatThrownBy(() -> batcher.lookup("54321"))
+                .isInstanceOf(HttpServerErrorException.class);
+        assertThatThrownBy(() -> first.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(HttpServerErrorException.class);
+    }
+}
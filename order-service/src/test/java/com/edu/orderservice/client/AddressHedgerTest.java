@@ -0,0 +1,120 @@
+package com.edu.orderservice.client;
+
+import com.edu.orderservice.config.OrderMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AddressHedgerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+    private AddressHedger hedger;
+
+    @AfterEach
+    void tearDown() {
+        hedger.close();
+    }
+
+    @Test
+    void shouldNotHedgeBeforeLatenciesAreKnown() {
+        hedger = hedger(true);
+
+        assertThat(hedger.call(() -> answer(30, "primary"))).isEqualTo("primary");
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(hedger.delayNanos()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void delayShouldFollowThePercentileOfRecentLatencies() {
+        hedger = hedger(true);
+
+        warmUp(AddressHedger.MIN_SAMPLES);
+
+        assertThat(hedger.delayNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(meterRegistry.get("address.hedge.delay").gauge().value()).isGreaterThan(0.0);
+    }
+
+    @Test
+    void slowCallShouldBeHedgedAndTheFasterAnswerKept() {
+        hedger = hedger(true);
+        warmUp(AddressHedger.MIN_SAMPLES);
+        calls.set(0);
+
+        // first call stalls, the hedge answers right away
+        String answer = hedger.call(() -> calls.get() == 0 ? answer(2_000, "primary") : answer(0, "hedge"));
+
+        assertThat(answer).isEqualTo("hedge");
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(hedges("HEDGE_WON")).isEqualTo(1.0);
+        assertThat(hedges("PRIMARY_WON")).isEqualTo(0.0);
+    }
+
+    @Test
+    void failedHedgeShouldNotHideTheSlowAnswer() {
+        hedger = hedger(true);
+        warmUp(AddressHedger.MIN_SAMPLES);
+        calls.set(0);
+
+        String answer = hedger.call(() -> {
+            if (calls.get() == 0) {
+                return answer(100, "primary");
+            }
+            calls.incrementAndGet();
+            throw new IllegalStateException("hedge failed");
+        });
+
+        assertThat(answer).isEqualTo("primary");
+        assertThat(hedges("PRIMARY_WON")).isEqualTo(1.0);
+    }
+
+    @Test
+    void failureShouldBeRethrownWhenEveryCallFailed() {
+        hedger = hedger(true);
+
+        assertThatThrownBy(() -> hedger.call(() -> {
+            throw new IllegalStateException("address-service down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("address-service down");
+    }
+
+    @Test
+    void disabledHedgerShouldCallOnceOnTheCallerThread() {
+        hedger = hedger(false);
+        Thread caller = Thread.currentThread();
+
+        assertThat(hedger.call(() -> Thread.currentThread() == caller)).isTrue();
+    }
+
+    private AddressHedger hedger(boolean enabled) {
+        return new AddressHedger(enabled, 0.95, Duration.ofMillis(20), 100, new OrderMetrics(meterRegistry));
+    }
+
+    private void warmUp(int samples) {
+        for (int i = 0; i < samples; i++) {
+            hedger.call(() -> answer(0, "fast"));
+        }
+    }
+
+    private String answer(long millis, String value) {
+        calls.incrementAndGet();
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    private double hedges(String result) {
+        return meterRegistry.get("address.hedge.total").tag("result", result).counter().count();
+    }
+}
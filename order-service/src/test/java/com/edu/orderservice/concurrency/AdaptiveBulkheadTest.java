@@ -0,0 +1,127 @@
+package com.edu.orderservice.concurrency;
+
+import com.edu.orderservice.config.ConcurrencyLimitProperties;
+import com.edu.orderservice.config.OrderMetrics;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveBulkheadTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(16);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AdaptiveBulkhead adaptiveBulkhead;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (adaptiveBulkhead != null) {
+            adaptiveBulkhead.close();
+        }
+    }
+
+    @Test
+    void limitShouldConvergeToWhatASlowBackendCanServe() throws Exception {
+        Bulkhead bulkhead = Bulkhead.of("order-service", BulkheadConfig.custom()
+                .maxConcurrentCalls(2)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setMode(ConcurrencyLimitProperties.Mode.ADAPTIVE);
+        properties.setInitialLimit(16);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(16);
+        properties.setLatencyTarget(Duration.ofMillis(40));
+        properties.setBackoffRatio(0.8);
+        properties.setUpdateInterval(Duration.ofMillis(50));
+
+        adaptiveBulkhead = new AdaptiveBulkhead(bulkhead, properties, new OrderMetrics(meterRegistry));
+        assertThat(bulkhead.getBulkheadConfig().getMaxConcurrentCalls()).isEqualTo(16);
+
+        // stubbed address-service: 2 calls at a time, 20ms each, the rest
+        // queue, so the 40ms target is met with about 4 concurrent calls
+        Semaphore backend = new Semaphore(2, true);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            futures.add(callers.submit(() -> {
+                while (running.get()) {
+                    try {
+                        bulkhead.executeCallable(() -> {
+                            long start = System.nanoTime();
+                            backend.acquire();
+                            try {
+                                Thread.sleep(20);
+                            } finally {
+                                backend.release();
+                            }
+                            adaptiveBulkhead.onSample(System.nanoTime() - start);
+                            return null;
+                        });
+                    } catch (BulkheadFullException e) {
+                        rejected.incrementAndGet();
+                        Thread.sleep(5);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        Thread.sleep(3_000);
+        running.set(false);
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        // no update after this point
+        adaptiveBulkhead.close();
+
+        assertThat(adaptiveBulkhead.limit()).isBetween(2, 8);
+        assertThat(bulkhead.getBulkheadConfig().getMaxConcurrentCalls()).isEqualTo(adaptiveBulkhead.limit());
+        assertThat(rejected.get()).isPositive();
+
+        assertThat(meterRegistry.get("order.concurrency.limit").gauge().value())
+                .isEqualTo(adaptiveBulkhead.limit());
+        assertThat(meterRegistry.get("order.concurrency.inflight").gauge().value()).isZero();
+        assertThat(meterRegistry.get("order.concurrency.rtt").tag("window", "smoothed").gauge().value())
+                .isGreaterThan(0.02);
+    }
+
+    @Test
+    void dropShouldBackTheLimitOff() throws Exception {
+        Bulkhead bulkhead = Bulkhead.of("order-service", BulkheadConfig.custom()
+                .maxConcurrentCalls(2)
+                .build());
+
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(10);
+        properties.setBackoffRatio(0.5);
+        properties.setUpdateInterval(Duration.ofHours(1));
+
+        adaptiveBulkhead = new AdaptiveBulkhead(bulkhead, properties, new OrderMetrics(meterRegistry));
+        adaptiveBulkhead.onDrop();
+        adaptiveBulkhead.update();
+
+        assertThat(adaptiveBulkhead.limit()).isEqualTo(5);
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,82 @@
+package com.edu.orderservice.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AimdLimitTest {
+
+    private static final long TARGET_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // Backend serving 4 calls at a time in 20ms, the rest queue:
+    // latency = 20ms x max(1, inFlight / 4), 100ms target → ~20 calls
+    private static double backendRttNanos(int inFlight) {
+        return TimeUnit.MILLISECONDS.toNanos(20) * Math.max(1.0, inFlight / 4.0);
+    }
+
+    @Test
+    void shouldShrinkTowardTheBackendCapacity() {
+        AimdLimit limit = new AimdLimit(200, 2, 500, TARGET_NANOS, 0.9);
+
+        // callers always use every permit
+        for (int i = 0; i < 200; i++) {
+            limit.update(backendRttNanos(limit.limit()), limit.limit());
+        }
+
+        assertThat(limit.limit()).isBetween(16, 22);
+    }
+
+    @Test
+    void shouldGrowTowardTheBackendCapacity() {
+        AimdLimit limit = new AimdLimit(2, 2, 500, TARGET_NANOS, 0.9);
+
+        for (int i = 0; i < 200; i++) {
+            limit.update(backendRttNanos(limit.limit()), limit.limit());
+        }
+
+        assertThat(limit.limit()).isBetween(16, 22);
+    }
+
+    @Test
+    void shouldFollowADegradedBackendDown() {
+        AimdLimit limit = new AimdLimit(20, 2, 500, TARGET_NANOS, 0.9);
+
+        // the same backend, now 4x slower → ~5 calls
+        for (int i = 0; i < 200; i++) {
+            limit.update(4 * backendRttNanos(limit.limit()), limit.limit());
+        }
+
+        assertThat(limit.limit()).isBetween(3, 6);
+    }
+
+    @Test
+    void shouldNotGrowWhenPermitsAreUnused() {
+        AimdLimit limit = new AimdLimit(20, 2, 500, TARGET_NANOS, 0.9);
+
+        for (int i = 0; i < 50; i++) {
+            limit.update(TimeUnit.MILLISECONDS.toNanos(10), 3);
+        }
+
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldBackOffOnDropWithinBounds() {
+        AimdLimit limit = new AimdLimit(10, 2, 500, TARGET_NANOS, 0.5);
+
+        assertThat(limit.drop()).isEqualTo(5);
+        assertThat(limit.drop()).isEqualTo(2);
+        assertThat(limit.drop()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectInvalidBounds() {
+        assertThatThrownBy(() -> new AimdLimit(10, 0, 5, TARGET_NANOS, 0.9))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AimdLimit(10, 2, 5, TARGET_NANOS, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.edu.orderservice.config;
+
+import com.edu.orderservice.model.Order;
+import com.edu.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class HibernateCacheTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        orderRepository.deleteAll();
+        orderRepository.save(Order.builder().orderNumber("CACHED-1").postalCode("12345").build());
+    }
+
+    @Test
+    void repeatedLookupsShouldNotQueryTheDatabase() {
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        Integer id = null;
+        for (int i = 0; i < 1_000; i++) {
+            id = orderRepository.findByOrderNumber("CACHED-1").orElseThrow().getId();
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(orderRepository.findById(id)).isPresent();
+        }
+
+        // only the first lookup by order number reaches the database,
+        // the saved entity is already in the "orders" region
+        assertThat(statistics.getPrepareStatementCount() - statementsBefore).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThanOrEqualTo(999);
+        assertThat(meterRegistry.get("hibernate.cache.query.requests").tag("result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(999);
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", "orders").tag("result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(1_000);
+    }
+
+    @Test
+    void writesShouldInvalidateCachedLookups() {
+        Order order = orderRepository.findByOrderNumber("CACHED-1").orElseThrow();
+        order.setPostalCode("54321");
+        orderRepository.save(order);
+        orderRepository.save(Order.builder().orderNumber("CACHED-2").postalCode("99999").build());
+
+        assertThat(orderRepository.findByOrderNumber("CACHED-1"))
+                .get()
+                .extracting(Order::getPostalCode)
+                .isEqualTo("54321");
+        assertThat(orderRepository.findByOrderNumber("CACHED-2")).isPresent();
+
+        orderRepository.deleteAll();
+
+        assertThat(orderRepository.findByOrderNumber("CACHED-1")).isEmpty();
+    }
+}
@@ -0,0 +1,91 @@
+package com.edu.orderservice.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRegisterFailureReasonsUpFront() {
+        new OrderMetrics(meterRegistry);
+
+        for (String reason : OrderMetrics.FAILURE_REASONS) {
+            assertThat(meterRegistry.get("order.failed.total").tag("reason", reason).counter().count())
+                    .isZero();
+        }
+    }
+
+    @Test
+    void shouldCountUnknownFailureReasonsToo() {
+        OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
+
+        orderMetrics.incrementOrdersFailed("RATE_LIMIT");
+        orderMetrics.incrementOrdersFailed("SOMETHING_NEW");
+        orderMetrics.incrementOrdersFailed("SOMETHING_NEW");
+
+        assertThat(meterRegistry.get("order.failed.total").tag("reason", "RATE_LIMIT").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("order.failed.total").tag("reason", "SOMETHING_NEW").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldExposeOnlyTopPostalCodesAndOther() {
+        OrderMetrics orderMetrics = new OrderMetrics(meterRegistry, 2, 100, Duration.ofHours(1));
+
+        increment(orderMetrics, "12345", 50);
+        increment(orderMetrics, "54321", 30);
+        for (int i = 0; i < 1_000; i++) {
+            orderMetrics.incrementOrdersByPostalCode(String.format("%05d", 60_000 + i));
+        }
+        orderMetrics.publishOrdersByPostalCode();
+
+        Collection<Gauge> series = meterRegistry.get("order.by.postal.code").gauges();
+        assertThat(series).hasSize(3);
+        assertThat(meterRegistry.get("order.by.postal.code").tag("postal_code", "12345").gauge().value())
+                .isEqualTo(50);
+        assertThat(meterRegistry.get("order.by.postal.code").tag("postal_code", "54321").gauge().value())
+                .isEqualTo(30);
+        assertThat(meterRegistry.get("order.by.postal.code").tag("postal_code", "other").gauge().value())
+                .isEqualTo(1_000);
+    }
+
+    @Test
+    void shouldExportLatenciesAsAggregatableHistograms() {
+        PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        OrderMetrics orderMetrics = new OrderMetrics(prometheus);
+
+        orderMetrics.recordOrderProcessingDuration(TimeUnit.MILLISECONDS.toNanos(120));
+        orderMetrics.recordAddressRemoteAttempt(true, TimeUnit.MILLISECONDS.toNanos(40));
+        orderMetrics.recordAddressRemoteAttempt(false, TimeUnit.SECONDS.toNanos(3));
+        orderMetrics.recordStageDuration(OrderMetrics.Stage.RETRY, TimeUnit.SECONDS.toNanos(4));
+
+        String scrape = prometheus.scrape();
+        assertThat(scrape)
+                .contains("order_processing_duration_seconds_bucket{application=\"order-service\",le=\"0.001\",}")
+                .contains("address_remote_duration_seconds_bucket{application=\"order-service\",result=\"FAILURE\",le=\"30.0\",} 1.0")
+                .contains("order_stage_duration_seconds_bucket{application=\"order-service\",stage=\"RETRY\",le=\"+Inf\",} 1.0")
+                .contains("order_stage_duration_seconds_count{application=\"order-service\",stage=\"ADMISSION\",} 0.0")
+                .doesNotContain("quantile=");
+        assertThat(prometheus.get("address.remote.attempt.total").tag("result", "SUCCESS").counter().count())
+                .isEqualTo(1);
+    }
+
+    private static void increment(OrderMetrics orderMetrics, String postalCode, int times) {
+        for (int i = 0; i < times; i++) {
+            orderMetrics.incrementOrdersByPostalCode(postalCode);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.edu.orderservice.config;
+
+import com.edu.orderservice.dto.AddressDTO;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestConfigTest {
+
+    private HttpServer server;
+    private String baseUrl;
+
+    // client side ports seen by the server, one per TCP connection
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    // If-None-Match header of each request to /versioned/ (empty when absent)
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/addresses/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            requests.add(exchange.getRequestURI().getPath());
+
+            byte[] body = "{\"id\":1,\"postalCode\":\"12345\",\"state\":\"TX\",\"city\":\"Austin\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        // ETag + Cache-Control like address-service; max-age is the last path segment
+        server.createContext("/versioned/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String etag = exchange.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatch.add(etag == null ? "" : etag);
+
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.getResponseHeaders().add("Cache-Control", "max-age=" + path.substring(path.lastIndexOf('/') + 1));
+            if ("\"v1\"".equals(etag)) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = "{\"id\":1,\"postalCode\":\"12345\",\"state\":\"TX\",\"city\":\"Austin\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort() + "/addresses/";
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void pooledModeShouldReuseTheSameConnectionAcrossCalls() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AddressServiceProperties.HttpClient properties = new AddressServiceProperties.HttpClient();
+        properties.setMode(AddressServiceProperties.Mode.POOLED);
+
+        HttpComponentsClientHttpRequestFactory factory =
+                RestConfig.pooledRequestFactory(properties, new OrderMetrics(meterRegistry));
+        RestTemplate restTemplate = new RestTemplate(factory);
+
+        try {
+            for (int i = 0; i < 5; i++) {
+                AddressDTO address = restTemplate.getForObject(baseUrl + "12345", AddressDTO.class);
+                assertThat(address).isNotNull();
+                assertThat(address.getCity()).isEqualTo("Austin");
+            }
+
+            assertThat(requests).hasSize(5);
+            assertThat(clientPorts).hasSize(1);
+
+            assertThat(meterRegistry.get("http.client.pool.leased").gauge().value()).isZero();
+            assertThat(meterRegistry.get("http.client.pool.available").gauge().value()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("http.client.pool.max").gauge().value())
+                    .isEqualTo(properties.getMaxTotal());
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    @Test
+    void pooledModeShouldServeFreshResponsesFromTheHttpCache() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AddressServiceProperties.HttpClient properties = new AddressServiceProperties.HttpClient();
+        properties.setMode(AddressServiceProperties.Mode.POOLED);
+
+        HttpComponentsClientHttpRequestFactory factory =
+                RestConfig.pooledRequestFactory(properties, new OrderMetrics(meterRegistry));
+        RestTemplate restTemplate = new RestTemplate(factory);
+        String url = "http://localhost:" + server.getAddress().getPort() + "/versioned/60";
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertThat(restTemplate.getForObject(url, AddressDTO.class).getCity()).isEqualTo("Austin");
+            }
+
+            assertThat(ifNoneMatch).containsExactly("");
+            assertThat(cacheResponses(meterRegistry, "CACHE_MISS")).isEqualTo(1.0);
+            assertThat(cacheResponses(meterRegistry, "CACHE_HIT")).isEqualTo(2.0);
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    @Test
+    void pooledModeShouldRevalidateStaleResponsesWithIfNoneMatch() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AddressServiceProperties.HttpClient properties = new AddressServiceProperties.HttpClient();
+        properties.setMode(AddressServiceProperties.Mode.POOLED);
+
+        HttpComponentsClientHttpRequestFactory factory =
+                RestConfig.pooledRequestFactory(properties, new OrderMetrics(meterRegistry));
+        RestTemplate restTemplate = new RestTemplate(factory);
+        String url = "http://localhost:" + server.getAddress().getPort() + "/versioned/0";
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertThat(restTemplate.getForObject(url, AddressDTO.class).getCity()).isEqualTo("Austin");
+            }
+
+            // the 304s carry no body, the address comes from the cached response
+            assertThat(ifNoneMatch).containsExactly("", "\"v1\"", "\"v1\"");
+            assertThat(cacheResponses(meterRegistry, "VALIDATED")).isEqualTo(2.0);
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    @Test
+    void pooledModeWithoutCacheShouldCallEveryTime() throws Exception {
+        AddressServiceProperties.HttpClient properties = new AddressServiceProperties.HttpClient();
+        properties.setMode(AddressServiceProperties.Mode.POOLED);
+        properties.setCacheEnabled(false);
+
+        HttpComponentsClientHttpRequestFactory factory =
+                RestConfig.pooledRequestFactory(properties, new OrderMetrics(new SimpleMeterRegistry()));
+        RestTemplate restTemplate = new RestTemplate(factory);
+        String url = "http://localhost:" + server.getAddress().getPort() + "/versioned/60";
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                restTemplate.getForObject(url, AddressDTO.class);
+            }
+
+            assertThat(ifNoneMatch).containsExactly("", "", "");
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    private static double cacheResponses(MeterRegistry meterRegistry, String result) {
+        return meterRegistry.get("http.client.cache.total").tag("result", result).counter().count();
+    }
+}
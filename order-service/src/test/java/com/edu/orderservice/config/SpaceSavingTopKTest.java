@@ -0,0 +1,65 @@
+package com.edu.orderservice.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpaceSavingTopKTest {
+
+    @Test
+    void shouldCountExactlyWhileKeysFitInCapacity() {
+        SpaceSavingTopK<String> topK = new SpaceSavingTopK<>(3);
+        add(topK, "12345", 5);
+        add(topK, "54321", 3);
+        add(topK, "99999", 1);
+
+        SpaceSavingTopK.Snapshot<String> snapshot = topK.snapshot(2);
+
+        assertThat(snapshot.total()).isEqualTo(9);
+        assertThat(snapshot.top()).containsExactly(
+                new SpaceSavingTopK.Estimate<>("12345", 5, 0),
+                new SpaceSavingTopK.Estimate<>("54321", 3, 0)
+        );
+    }
+
+    @Test
+    void shouldKeepHeavyHittersAmongManyDistinctKeys() {
+        SpaceSavingTopK<String> topK = new SpaceSavingTopK<>(20);
+        Random random = new Random(42);
+
+        // 3 hot postal codes take 60% of the traffic, 10 000 others share the rest
+        for (int i = 0; i < 100_000; i++) {
+            if (random.nextDouble() < 0.6) {
+                topK.add("HOT-" + random.nextInt(3));
+            } else {
+                topK.add("COLD-" + random.nextInt(10_000));
+            }
+        }
+
+        SpaceSavingTopK.Snapshot<String> snapshot = topK.snapshot(3);
+
+        assertThat(topK.monitored()).isEqualTo(20);
+        assertThat(snapshot.top())
+                .extracting(SpaceSavingTopK.Estimate::key)
+                .containsExactlyInAnyOrder("HOT-0", "HOT-1", "HOT-2");
+        for (SpaceSavingTopK.Estimate<String> estimate : snapshot.top()) {
+            // ~20 000 each, never underestimated and overestimated by at most error
+            assertThat(estimate.count()).isBetween(18_000L, 22_000L + estimate.error());
+        }
+    }
+
+    @Test
+    void shouldRejectEmptyCapacity() {
+        assertThatThrownBy(() -> new SpaceSavingTopK<String>(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void add(SpaceSavingTopK<String> topK, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            topK.add(key);
+        }
+    }
+}
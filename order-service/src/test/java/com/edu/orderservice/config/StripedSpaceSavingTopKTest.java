@@ -0,0 +1,92 @@
+package com.edu.orderservice.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedSpaceSavingTopKTest {
+
+    @Test
+    void shouldRoundStripesUpToAPowerOfTwo() {
+        assertThat(new StripedSpaceSavingTopK<String>(10, 1).stripes()).isEqualTo(1);
+        assertThat(new StripedSpaceSavingTopK<String>(10, 6).stripes()).isEqualTo(8);
+        assertThat(new StripedSpaceSavingTopK<String>(10, 8).stripes()).isEqualTo(8);
+        assertThatThrownBy(() -> new StripedSpaceSavingTopK<String>(10, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldCountExactlyAcrossThreadsWhileKeysFitInCapacity() throws InterruptedException {
+        StripedSpaceSavingTopK<String> topK = new StripedSpaceSavingTopK<>(3, 4);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    topK.add(i % 10 < 5 ? "12345" : i % 10 < 8 ? "54321" : "99999");
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        SpaceSavingTopK.Snapshot<String> snapshot = topK.snapshot(2);
+
+        assertThat(snapshot.total()).isEqualTo(80_000);
+        assertThat(snapshot.top()).containsExactly(
+                new SpaceSavingTopK.Estimate<>("12345", 40_000, 0),
+                new SpaceSavingTopK.Estimate<>("54321", 24_000, 0)
+        );
+    }
+
+    @Test
+    void shouldKeepHeavyHittersAddedFromManyThreads() throws InterruptedException {
+        StripedSpaceSavingTopK<String> topK = new StripedSpaceSavingTopK<>(20, 4);
+
+        // 3 hot postal codes take 60% of the traffic, 10 000 others share the rest
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Random random = new Random(t);
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 25_000; i++) {
+                    if (random.nextDouble() < 0.6) {
+                        topK.add("HOT-" + random.nextInt(3));
+                    } else {
+                        topK.add("COLD-" + random.nextInt(10_000));
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        SpaceSavingTopK.Snapshot<String> snapshot = topK.snapshot(3);
+
+        assertThat(snapshot.total()).isEqualTo(200_000);
+        assertThat(snapshot.top())
+                .extracting(SpaceSavingTopK.Estimate::key)
+                .containsExactlyInAnyOrder("HOT-0", "HOT-1", "HOT-2");
+        for (SpaceSavingTopK.Estimate<String> estimate : snapshot.top()) {
+            // ~40 000 each, never underestimated and overestimated by at most error
+            assertThat(estimate.count()).isBetween(38_000L, 42_000L + estimate.error());
+        }
+    }
+
+    @Test
+    void shouldCountKeysAStripeDroppedAtItsMinimum() {
+        StripedSpaceSavingTopK<String> topK = new StripedSpaceSavingTopK<>(1, 1);
+        topK.add("12345");
+        topK.add("12345");
+        topK.add("54321");
+
+        // one slot: 54321 took over 12345 and inherited its count
+        assertThat(topK.snapshot(2).top()).containsExactly(new SpaceSavingTopK.Estimate<>("54321", 3, 2));
+    }
+}
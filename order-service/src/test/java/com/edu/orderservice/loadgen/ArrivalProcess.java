@@ -0,0 +1,34 @@
+package com.edu.orderservice.loadgen;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+// -------------------------------------------------------------------------
+// Gaps between request start times of the open-loop load generator
+//
+//   CONSTANT  one request every 1/rate seconds
+//   POISSON   exponential gaps with mean 1/rate (independent clients)
+//
+// Either way the schedule never waits for responses, so a slow service
+// receives the same traffic as a fast one.
+// -------------------------------------------------------------------------
+public enum ArrivalProcess {
+
+    CONSTANT {
+        @Override
+        public long nextIntervalNanos(RandomGenerator random, double ratePerSecond) {
+            return Math.round(SECOND_NANOS / ratePerSecond);
+        }
+    },
+
+    POISSON {
+        @Override
+        public long nextIntervalNanos(RandomGenerator random, double ratePerSecond) {
+            return Math.round(random.nextExponential() * SECOND_NANOS / ratePerSecond);
+        }
+    };
+
+    private static final double SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public abstract long nextIntervalNanos(RandomGenerator random, double ratePerSecond);
+}
@@ -0,0 +1,34 @@
+package com.edu.orderservice.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ArrivalProcessTest {
+
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Test
+    void constantShouldSpaceRequestsEvenly() {
+        assertThat(ArrivalProcess.CONSTANT.nextIntervalNanos(random, 200)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test
+    void poissonShouldKeepTheRateWithExponentialGaps() {
+        long[] gaps = LongStream.generate(() -> ArrivalProcess.POISSON.nextIntervalNanos(random, 200))
+                .limit(100_000)
+                .toArray();
+
+        double meanMillis = LongStream.of(gaps).average().orElseThrow() / TimeUnit.MILLISECONDS.toNanos(1);
+        assertThat(meanMillis).isCloseTo(5.0, within(0.1));
+        // P(gap > mean) = 1/e for exponential gaps
+        double longerThanMean = LongStream.of(gaps).filter(gap -> gap > TimeUnit.MILLISECONDS.toNanos(5)).count()
+                / (double) gaps.length;
+        assertThat(longerThanMean).isCloseTo(Math.exp(-1), within(0.01));
+    }
+}
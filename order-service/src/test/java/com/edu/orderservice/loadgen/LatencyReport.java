@@ -0,0 +1,115 @@
+package com.edu.orderservice.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// -------------------------------------------------------------------------
+// Latency histograms of a load run, one pair per outcome
+//
+// The outcome is OK or the Failure reason of the response (CIRCUIT_OPEN,
+// RATE_LIMIT, ...), or a client-side error such as CLIENT_TIMEOUT.
+//
+// Response time is measured from the INTENDED start of the request, taken
+// from the arrival schedule, not from the moment it was actually sent.
+// When the generator or the connection falls behind, the wait counts as
+// latency, as it would for a real user: this is the coordinated-omission
+// correction. Service time (from the actual send) is kept next to it;
+// a large gap between the two means the requests queued before being sent.
+//
+// Values are recorded in microseconds with 3 significant digits.
+// -------------------------------------------------------------------------
+public class LatencyReport {
+
+    public static final String ALL = "ALL";
+
+    private record Histograms(Histogram response, Histogram service) {
+        Histograms() {
+            this(new ConcurrentHistogram(3), new ConcurrentHistogram(3));
+        }
+    }
+
+    private final Map<String, Histograms> outcomes = new ConcurrentHashMap<>();
+
+    public void record(String outcome, long intendedStartNanos, long sendNanos, long endNanos) {
+        long response = micros(endNanos - intendedStartNanos);
+        long service = micros(endNanos - sendNanos);
+        for (String key : new String[] {outcome, ALL}) {
+            Histograms histograms = outcomes.computeIfAbsent(key, k -> new Histograms());
+            histograms.response().recordValue(response);
+            histograms.service().recordValue(service);
+        }
+    }
+
+    public long count(String outcome) {
+        Histograms histograms = outcomes.get(outcome);
+        return histograms == null ? 0 : histograms.response().getTotalCount();
+    }
+
+    // Response time percentile in milliseconds, 0 when the outcome was never seen
+    public double responseMillis(String outcome, double percentile) {
+        Histograms histograms = outcomes.get(outcome);
+        return histograms == null ? 0 : millis(histograms.response().getValueAtPercentile(percentile));
+    }
+
+    public double serviceMillis(String outcome, double percentile) {
+        Histograms histograms = outcomes.get(outcome);
+        return histograms == null ? 0 : millis(histograms.service().getValueAtPercentile(percentile));
+    }
+
+    // Throughput and response time percentiles per outcome, ALL last
+    public String summary(long durationNanos) {
+        double seconds = durationNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        StringBuilder summary = new StringBuilder(String.format("%-18s %9s %9s %9s %9s %9s %9s %14s%n",
+                "outcome", "count", "rate/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "p99 svc(ms)"));
+
+        Map<String, Histograms> sorted = new TreeMap<>(outcomes);
+        Histograms all = sorted.remove(ALL);
+        sorted.forEach((outcome, histograms) -> summary.append(line(outcome, histograms, seconds)));
+        if (all != null) {
+            summary.append(line(ALL, all, seconds));
+        }
+        return summary.toString();
+    }
+
+    // <outcome>.hgrm percentile distributions (milliseconds) for HdrHistogram plotters
+    public void writePercentileDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Histograms> entry : outcomes.entrySet()) {
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")), false, StandardCharsets.UTF_8)) {
+                entry.getValue().response().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static String line(String outcome, Histograms histograms, double seconds) {
+        Histogram response = histograms.response();
+        return String.format("%-18s %9d %9.1f %9.1f %9.1f %9.1f %9.1f %14.1f%n",
+                outcome,
+                response.getTotalCount(),
+                seconds > 0 ? response.getTotalCount() / seconds : 0.0,
+                millis(response.getValueAtPercentile(50)),
+                millis(response.getValueAtPercentile(99)),
+                millis(response.getValueAtPercentile(99.9)),
+                millis(response.getMaxValue()),
+                millis(histograms.service().getValueAtPercentile(99)));
+    }
+
+    private static long micros(long nanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,66 @@
+package com.edu.orderservice.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyReportTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void shouldMeasureResponseTimeFromTheIntendedStart() {
+        LatencyReport report = new LatencyReport();
+
+        // one request per 10ms; the generator stalls for a second and sends the
+        // 100 delayed requests together, each answered 2ms after it was sent
+        long stalledUntil = 1_000 * MS;
+        for (int i = 0; i < 100; i++) {
+            long intended = i * 10 * MS;
+            report.record("OK", intended, stalledUntil, stalledUntil + 2 * MS);
+        }
+
+        assertThat(report.serviceMillis("OK", 99)).isCloseTo(2.0, within(0.01));
+        // the waiting counts: from 1002ms for the first request down to 12ms for the last
+        assertThat(report.responseMillis("OK", 50)).isCloseTo(502.0, within(1.0));
+        assertThat(report.responseMillis("OK", 99)).isGreaterThan(990.0);
+    }
+
+    @Test
+    void shouldSummarizeEachOutcomeAndAll() {
+        LatencyReport report = new LatencyReport();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 900; i++) {
+            long intended = i * MS;
+            report.record("OK", intended, intended, intended + (5 + random.nextInt(5)) * MS);
+        }
+        for (int i = 0; i < 100; i++) {
+            report.record("CIRCUIT_OPEN", i * MS, i * MS, i * MS + MS);
+        }
+
+        assertThat(report.count("OK")).isEqualTo(900);
+        assertThat(report.count("CIRCUIT_OPEN")).isEqualTo(100);
+        assertThat(report.count(LatencyReport.ALL)).isEqualTo(1000);
+        assertThat(report.count("RATE_LIMIT")).isZero();
+
+        String summary = report.summary(TimeUnit.SECONDS.toNanos(10));
+        assertThat(summary.lines()).hasSize(4);
+        assertThat(summary.lines().skip(1).map(line -> line.split("\\s+")[0]))
+                .containsExactly("CIRCUIT_OPEN", "OK", "ALL");
+        // 1000 requests in 10s
+        assertThat(summary.lines().reduce((first, second) -> second).orElseThrow()).contains(" 100.0 ");
+    }
+
+    @Test
+    void shouldTellFailureReasonsApart() {
+        assertThat(LoadGenerator.outcome(200, "{\"orderNumber\":\"0c70c0c2\"}")).isEqualTo("OK");
+        assertThat(LoadGenerator.outcome(503, "{\"msg\":\"...\",\"reason\":\"CIRCUIT_OPEN\",\"retryable\":true}"))
+                .isEqualTo("CIRCUIT_OPEN");
+        assertThat(LoadGenerator.outcome(500, "<html>error</html>")).isEqualTo("HTTP_500");
+        assertThat(LoadGenerator.outcome(502, "")).isEqualTo("HTTP_502");
+    }
+}
@@ -0,0 +1,185 @@
+package com.edu.orderservice.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+// -------------------------------------------------------------------------
+// Open-loop load generator for resilience experiments
+//
+// Start address-service and order-service (optionally with the chaos
+// profile), then:
+//
+//   ./mvnw test -Ploadgen
+//   ./mvnw test -Ploadgen -Dloadgen.rate=200 -Dloadgen.arrival=CONSTANT
+//
+// Settings (system properties, defaults in the loadgen Maven profile):
+//
+//   loadgen.url       http://localhost:8080/orders
+//   loadgen.rate      requests per second
+//   loadgen.arrival   POISSON or CONSTANT, see ArrivalProcess
+//   loadgen.duration  measured run, e.g. 60s
+//   loadgen.warmup    run before it, sent but not recorded
+//   loadgen.orders    order numbers and weights, see OrderNumberDistribution
+//   loadgen.timeout   client timeout per request
+//   loadgen.seed      random seed of arrivals and order numbers
+//   loadgen.output    directory for the <outcome>.hgrm files
+//
+// Each request is sent on its own virtual thread at its scheduled time,
+// whether or not earlier requests have completed, and its latency is
+// measured from that scheduled time (see LatencyReport). The summary lists
+// throughput and p50/p99/p999 per outcome: OK, each Failure reason of
+// order-service, or a client-side error.
+// -------------------------------------------------------------------------
+public final class LoadGenerator {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public record Settings(
+            URI url,
+            double rate,
+            ArrivalProcess arrival,
+            Duration duration,
+            Duration warmup,
+            OrderNumberDistribution orders,
+            Duration timeout,
+            long seed,
+            Path output
+    ) {
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    URI.create(System.getProperty("loadgen.url", "http://localhost:8080/orders")),
+                    Double.parseDouble(System.getProperty("loadgen.rate", "50")),
+                    ArrivalProcess.valueOf(System.getProperty("loadgen.arrival", "POISSON").trim().toUpperCase()),
+                    DurationStyle.detectAndParse(System.getProperty("loadgen.duration", "60s")),
+                    DurationStyle.detectAndParse(System.getProperty("loadgen.warmup", "10s")),
+                    OrderNumberDistribution.parse(System.getProperty("loadgen.orders", "0c70c0c2,7f8f9f15,394627b2")),
+                    DurationStyle.detectAndParse(System.getProperty("loadgen.timeout", "10s")),
+                    Long.parseLong(System.getProperty("loadgen.seed", "42")),
+                    Path.of(System.getProperty("loadgen.output", "target/loadgen"))
+            );
+        }
+    }
+
+    private final Settings settings;
+    private final HttpClient client;
+
+    public LoadGenerator(Settings settings) {
+        if (!(settings.rate() > 0)) {
+            throw new IllegalArgumentException("loadgen.rate must be > 0: " + settings.rate());
+        }
+        this.settings = settings;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(settings.timeout())
+                .build();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Settings settings = Settings.fromSystemProperties();
+        System.out.printf("Load: %s %.1f req/s for %s (+%s warm-up), orders=%s%n",
+                settings.arrival(), settings.rate(), settings.duration(), settings.warmup(), settings.orders());
+
+        LatencyReport report = new LoadGenerator(settings).run();
+
+        System.out.println();
+        System.out.print(report.summary(settings.duration().toNanos()));
+        report.writePercentileDistributions(settings.output());
+        System.out.println("Percentile distributions written to " + settings.output().toAbsolutePath());
+    }
+
+    public LatencyReport run() {
+        LatencyReport report = new LatencyReport();
+        SplittableRandom random = new SplittableRandom(settings.seed());
+
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        // close() waits for the requests still in flight
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            long intendedStart = start;
+            while (intendedStart < end) {
+                sleepUntil(intendedStart);
+                long scheduled = intendedStart;
+                String orderNumber = settings.orders().sample(random);
+                requests.execute(() -> {
+                    Outcome outcome = call(orderNumber);
+                    if (scheduled >= measureFrom) {
+                        report.record(outcome.name(), scheduled, outcome.sendNanos(), outcome.endNanos());
+                    }
+                });
+                intendedStart += settings.arrival().nextIntervalNanos(random, settings.rate());
+            }
+        }
+        return report;
+    }
+
+    private record Outcome(String name, long sendNanos, long endNanos) {
+    }
+
+    private Outcome call(String orderNumber) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(settings.url()
+                        + "?orderNumber=" + URLEncoder.encode(orderNumber, StandardCharsets.UTF_8)))
+                .timeout(settings.timeout())
+                .GET()
+                .build();
+
+        long send = System.nanoTime();
+        String name;
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            name = outcome(response.statusCode(), response.body());
+        } catch (HttpConnectTimeoutException | ConnectException e) {
+            name = "CONNECTION_ERROR";
+        } catch (HttpTimeoutException e) {
+            name = "CLIENT_TIMEOUT";
+        } catch (IOException e) {
+            name = "IO_ERROR";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            name = "INTERRUPTED";
+        }
+        return new Outcome(name, send, System.nanoTime());
+    }
+
+    // OK, the Failure reason of the body, or HTTP_<status> when there is none
+    static String outcome(int status, String body) {
+        if (status == 200) {
+            return "OK";
+        }
+        try {
+            JsonNode reason = objectMapper.readTree(body).get("reason");
+            if (reason != null && reason.isTextual() && !reason.asText().isBlank()) {
+                return reason.asText();
+            }
+        } catch (IOException e) {
+            // not a Failure body (e.g. a Tomcat error page)
+        }
+        return "HTTP_" + status;
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.edu.orderservice.loadgen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+// -------------------------------------------------------------------------
+// Weighted choice of the order number of each generated request
+//
+//   0c70c0c2:6,7f8f9f15:3,394627b2:1,unknown-order:1
+//
+// A missing weight counts as 1. Order numbers that DataSetup does not
+// create produce ORDER_NOT_FOUND, which is useful as a cheap path that
+// never reaches the address service.
+// -------------------------------------------------------------------------
+public final class OrderNumberDistribution {
+
+    private final String[] orderNumbers;
+    private final double[] cumulativeWeights;
+
+    private OrderNumberDistribution(String[] orderNumbers, double[] cumulativeWeights) {
+        this.orderNumbers = orderNumbers;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    public static OrderNumberDistribution parse(String spec) {
+        List<String> orderNumbers = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":", 2);
+            double weight = parts.length == 2 ? Double.parseDouble(parts[1].trim()) : 1.0;
+            if (parts[0].isBlank() || !(weight > 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid order number weight: " + entry.trim());
+            }
+            orderNumbers.add(parts[0].trim());
+            weights.add(weight);
+        }
+        if (orderNumbers.isEmpty()) {
+            throw new IllegalArgumentException("No order numbers in: " + spec);
+        }
+
+        double[] cumulative = new double[weights.size()];
+        double total = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            total += weights.get(i);
+            cumulative[i] = total;
+        }
+        return new OrderNumberDistribution(orderNumbers.toArray(String[]::new), cumulative);
+    }
+
+    public String sample(RandomGenerator random) {
+        double r = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int i = Arrays.binarySearch(cumulativeWeights, r);
+        // exact hit belongs to the next bucket, otherwise -(insertion point) - 1
+        i = i >= 0 ? i + 1 : -i - 1;
+        return orderNumbers[Math.min(i, orderNumbers.length - 1)];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder spec = new StringBuilder();
+        double previous = 0;
+        for (int i = 0; i < orderNumbers.length; i++) {
+            if (i > 0) {
+                spec.append(',');
+            }
+            spec.append(orderNumbers[i]).append(':').append(cumulativeWeights[i] - previous);
+            previous = cumulativeWeights[i];
+        }
+        return spec.toString();
+    }
+}
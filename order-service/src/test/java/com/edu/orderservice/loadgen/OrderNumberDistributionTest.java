@@ -0,0 +1,39 @@
+package com.edu.orderservice.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderNumberDistributionTest {
+
+    @Test
+    void shouldPickOrderNumbersInProportionToTheirWeights() {
+        OrderNumberDistribution distribution = OrderNumberDistribution.parse("0c70c0c2:6, 7f8f9f15:3, 394627b2");
+        SplittableRandom random = new SplittableRandom(7);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            counts.merge(distribution.sample(random), 1, Integer::sum);
+        }
+
+        assertThat(counts).containsOnlyKeys("0c70c0c2", "7f8f9f15", "394627b2");
+        assertThat(counts.get("0c70c0c2")).isBetween(59_000, 61_000);
+        assertThat(counts.get("7f8f9f15")).isBetween(29_000, 31_000);
+        assertThat(counts.get("394627b2")).isBetween(9_500, 10_500);
+    }
+
+    @Test
+    void shouldRejectInvalidWeights() {
+        assertThatThrownBy(() -> OrderNumberDistribution.parse("0c70c0c2:0"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OrderNumberDistribution.parse(":1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OrderNumberDistribution.parse(" , "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
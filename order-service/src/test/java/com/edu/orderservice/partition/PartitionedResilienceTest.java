@@ -0,0 +1,158 @@
+package com.edu.orderservice.partition;
+
+import com.edu.orderservice.config.OrderMetrics;
+import com.edu.orderservice.config.PartitionProperties;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PartitionedResilienceTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(2)
+            .minimumNumberOfCalls(1)
+            .failureRateThreshold(50)
+            .build());
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+    private PartitionedResilience partitions;
+
+    @BeforeEach
+    void setup() {
+        circuitBreakerRegistry.circuitBreaker("order-service");
+        bulkheadRegistry.bulkhead("order-service");
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        partitions.close();
+    }
+
+    @Test
+    void failingPartitionShouldNotOpenTheOthers() {
+        partitions = partitions(4);
+
+        assertThatThrownBy(() -> partitions.execute("21044", () -> {
+            throw new IllegalStateException("shard 21 down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThatThrownBy(() -> partitions.execute("21999", () -> "never called"))
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(partitions.execute("12345", () -> "ok")).isEqualTo("ok");
+        assertThat(partitions.states())
+                .containsEntry("21", CircuitBreaker.State.OPEN)
+                .containsEntry("12", CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreakerRegistry.find("order-service-21")).isPresent();
+    }
+
+    @Test
+    void partitionsBeyondTheLimitShouldShareTheOtherPartition() {
+        partitions = partitions(2);
+        openCircuit("10000");
+        openCircuit("20000");
+
+        // both partitions are OPEN, neither can be dropped
+        assertThat(partitions.partitionOf("30000").name()).isEqualTo(PartitionedResilience.OVERFLOW);
+        assertThat(partitions.size()).isEqualTo(3);
+        assertThat(meterRegistry.get("address.partition.overflow.total").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("address.partition.count").tag("state", "OPEN").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void leastRecentlyUsedIdlePartitionShouldMakeRoom() {
+        partitions = partitions(2);
+        partitions.partitionOf("10000");
+        now.addAndGet(1);
+        partitions.partitionOf("20000");
+        now.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        partitions.partitionOf("10000");
+
+        assertThat(partitions.partitionOf("30000").name()).isEqualTo("30");
+        assertThat(partitions.states()).containsOnlyKeys("10", "30");
+        assertThat(circuitBreakerRegistry.find("order-service-20")).isEmpty();
+    }
+
+    @Test
+    void recentlyUsedPartitionsShouldNotBeDroppedToMakeRoom() {
+        partitions = partitions(2);
+        assertThatThrownBy(() -> partitions.execute("10000", () -> {
+            throw new IllegalStateException("not enough calls to open yet");
+        })).isInstanceOf(IllegalStateException.class);
+        partitions.partitionOf("20000");
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        // both were used within idle-timeout: the newcomer shares "other"
+        assertThat(partitions.partitionOf("30000").name()).isEqualTo(PartitionedResilience.OVERFLOW);
+        assertThat(circuitBreakerRegistry.find("order-service-10")).isPresent()
+                .get().satisfies(circuitBreaker ->
+                        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1));
+        assertThat(meterRegistry.get("address.partition.evicted.total").counter().count()).isZero();
+    }
+
+    @Test
+    void idlePartitionsShouldBeDroppedWithTheirMeters() {
+        partitions = partitions(4);
+        partitions.execute("10000", () -> "ok");
+        assertThat(meterRegistry.find("resilience4j.circuitbreaker.state").tag("name", "order-service-10").gauges())
+                .isNotEmpty();
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        partitions.evictIdle();
+
+        assertThat(partitions.size()).isZero();
+        assertThat(bulkheadRegistry.find("order-service-10")).isEmpty();
+        assertThat(meterRegistry.find("resilience4j.circuitbreaker.state").tag("name", "order-service-10").gauges())
+                .isEmpty();
+        assertThat(meterRegistry.get("address.partition.evicted.total").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void openPartitionShouldSurviveTheIdleSweep() {
+        partitions = partitions(4);
+        openCircuit("21044");
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        partitions.evictIdle();
+
+        assertThat(partitions.states()).containsEntry("21", CircuitBreaker.State.OPEN);
+    }
+
+    private PartitionedResilience partitions(int maxPartitions) {
+        PartitionProperties properties = new PartitionProperties();
+        properties.setMaxPartitions(maxPartitions);
+        properties.setIdleTimeout(Duration.ofMinutes(10));
+        return new PartitionedResilience(
+                circuitBreakerRegistry,
+                bulkheadRegistry,
+                "order-service",
+                PostalCodePartitioner.prefix(2),
+                properties,
+                now::get,
+                new OrderMetrics(meterRegistry)
+        );
+    }
+
+    private void openCircuit(String postalCode) {
+        partitions.partitionOf(postalCode).circuitBreaker().transitionToOpenState();
+    }
+}
@@ -0,0 +1,197 @@
+package com.edu.orderservice.ratelimit;
+
+import com.edu.orderservice.config.OrderMetrics;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DistributedRateLimiterTest {
+
+    private static final RateLimiterConfig TEN_PER_10S = RateLimiterConfig.custom()
+            .limitForPeriod(10)
+            .limitRefreshPeriod(Duration.ofSeconds(10))
+            .timeoutDuration(Duration.ZERO)
+            .build();
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger storeCalls = new AtomicInteger();
+    private final InMemoryTokenStore store = new InMemoryTokenStore();
+    private final TokenStore countingStore = (key, window, limit, requested) -> {
+        storeCalls.incrementAndGet();
+        return store.take(key, window, limit, requested);
+    };
+
+    @Test
+    void replicasShouldShareOneBudget() {
+        DistributedRateLimiter first = limiter(2);
+        DistributedRateLimiter second = limiter(2);
+
+        int permitted = 0;
+        for (int i = 0; i < 10; i++) {
+            permitted += first.acquirePermission() ? 1 : 0;
+            permitted += second.acquirePermission() ? 1 : 0;
+        }
+
+        assertThat(permitted).isEqualTo(10);
+    }
+
+    @Test
+    void leasedTokensShouldBeServedWithoutCallingTheStore() {
+        DistributedRateLimiter limiter = limiter(5);
+
+        // one lease, the next fetched at half of it, then one that finds the budget spent
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.acquirePermission()).isTrue();
+        }
+        assertThat(storeCalls.get()).isEqualTo(3);
+
+        assertThat(limiter.acquirePermission()).isFalse();
+        assertThat(storeCalls.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("order.rate.limit.lease.total").tag("result", "GRANTED").counter().count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.get("order.rate.limit.lease.total").tag("result", "EXHAUSTED").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void budgetShouldStartOverInTheNextWindow() {
+        DistributedRateLimiter limiter = limiter(10);
+        for (int i = 0; i < 10; i++) {
+            limiter.acquirePermission();
+        }
+        assertThat(limiter.acquirePermission()).isFalse();
+
+        now.addAndGet(10_000);
+
+        assertThat(limiter.acquirePermission()).isTrue();
+        assertThat(limiter.getMetrics().getAvailablePermissions()).isEqualTo(9);
+    }
+
+    @Test
+    void leaseShouldNotOutliveItsWindow() {
+        DistributedRateLimiter first = limiter(10);
+        DistributedRateLimiter second = limiter(1);
+        assertThat(first.acquirePermission()).isTrue();
+
+        // the 9 tokens left in first's lease belong to the window that ended
+        now.addAndGet(10_000);
+        for (int i = 0; i < 10; i++) {
+            assertThat(second.acquirePermission()).isTrue();
+        }
+        assertThat(first.acquirePermission()).isFalse();
+    }
+
+    @Test
+    void leaseShouldBeCappedAtTheLimitForPeriod() {
+        AtomicInteger largestRequest = new AtomicInteger();
+        TokenStore recordingStore = (key, window, limit, requested) -> {
+            largestRequest.accumulateAndGet(requested, Math::max);
+            return store.take(key, window, limit, requested);
+        };
+        DistributedRateLimiter limiter = limiter(recordingStore, 50, Runnable::run);
+
+        assertThat(limiter.acquirePermission()).isTrue();
+
+        assertThat(largestRequest.get()).isEqualTo(10);
+    }
+
+    @Test
+    void refusedCallShouldThrowRequestNotPermitted() {
+        DistributedRateLimiter limiter = limiter(10);
+        for (int i = 0; i < 10; i++) {
+            limiter.executeSupplier(() -> "ok");
+        }
+
+        assertThatThrownBy(() -> limiter.executeSupplier(() -> "ok"))
+                .isInstanceOf(RequestNotPermitted.class);
+        assertThat(limiter.reservePermission()).isEqualTo(-1);
+    }
+
+    @Test
+    void slowStoreShouldNotHoldBackCallsServedFromTheLease() throws Exception {
+        CountDownLatch storeReleased = new CountDownLatch(1);
+        TokenStore slowStore = (key, window, limit, requested) -> {
+            if (storeCalls.incrementAndGet() > 1) {
+                try {
+                    storeReleased.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return store.take(key, window, limit, requested);
+        };
+        DistributedRateLimiter limiter = limiter(slowStore, 4,
+                task -> Thread.ofVirtual().start(task));
+
+        assertThat(limiter.acquirePermission()).isTrue();
+        // half of the lease spent → the next one is fetched in the background, and blocks
+        assertThat(limiter.acquirePermission()).isTrue();
+        assertThat(CompletableFuture.supplyAsync(limiter::acquirePermission).get(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(storeCalls.get()).isEqualTo(2);
+
+        storeReleased.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getMetrics().getAvailablePermissions() != 5 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(limiter.getMetrics().getAvailablePermissions()).isEqualTo(5);
+    }
+
+    @Test
+    void storeFailureShouldRefuseCallsUntilTheNextWindow() {
+        AtomicBoolean storeDown = new AtomicBoolean(true);
+        TokenStore failingStore = (key, window, limit, requested) -> {
+            storeCalls.incrementAndGet();
+            if (storeDown.get()) {
+                throw new IllegalStateException("token store unreachable");
+            }
+            return store.take(key, window, limit, requested);
+        };
+        DistributedRateLimiter limiter = limiter(failingStore, 5, Runnable::run);
+
+        assertThatThrownBy(() -> limiter.executeSupplier(() -> "ok"))
+                .isInstanceOf(RequestNotPermitted.class);
+        assertThat(limiter.acquirePermission()).isFalse();
+        assertThat(storeCalls.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("order.rate.limit.lease.total").tag("result", "FAILED").counter().count())
+                .isEqualTo(1.0);
+
+        storeDown.set(false);
+        now.addAndGet(10_000);
+
+        assertThat(limiter.acquirePermission()).isTrue();
+    }
+
+    private DistributedRateLimiter limiter(int leaseSize) {
+        // lease fetches run inline: store calls happen in a known order
+        return limiter(countingStore, leaseSize, Runnable::run);
+    }
+
+    private DistributedRateLimiter limiter(TokenStore tokenStore, int leaseSize, Executor prefetchExecutor) {
+        return new DistributedRateLimiter(
+                "order-service",
+                TEN_PER_10S,
+                tokenStore,
+                "order-service",
+                leaseSize,
+                now::get,
+                new OrderMetrics(meterRegistry),
+                prefetchExecutor
+        );
+    }
+}
@@ -0,0 +1,124 @@
+package com.edu.orderservice.retry;
+
+import com.edu.orderservice.config.OrderMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.event.RetryEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BudgetedRetryTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final Retry delegate = Retry.of("order-service", RetryConfig.custom()
+            .maxAttempts(3)
+            .waitDuration(Duration.ofMillis(1))
+            .retryExceptions(IllegalStateException.class)
+            .build());
+
+    @Test
+    void shouldRetryWhileTheBudgetLasts() {
+        BudgetedRetry retry = retry(2);
+
+        assertThatThrownBy(() -> Retry.decorateSupplier(retry, failing()).get())
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(budget("PERMITTED")).isEqualTo(2.0);
+        assertThat(retry.getMetrics().getNumberOfFailedCallsWithRetryAttempt()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStopRetryingOnceTheBudgetIsSpent() {
+        BudgetedRetry retry = retry(2);
+        Supplier<String> call = Retry.decorateSupplier(retry, failing());
+
+        assertThatThrownBy(call::get).isInstanceOf(IllegalStateException.class);
+        calls.set(0);
+        assertThatThrownBy(call::get).isInstanceOf(IllegalStateException.class);
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(budget("EXHAUSTED")).isEqualTo(1.0);
+    }
+
+    @Test
+    void refusedRetriesShouldBeRecordedByTheRetry() {
+        BudgetedRetry retry = retry(1);
+        retry.budget().tryWithdraw();
+        List<RetryEvent.Type> events = new ArrayList<>();
+        retry.getEventPublisher().onEvent(event -> events.add(event.getEventType()));
+
+        assertThatThrownBy(() -> Retry.decorateSupplier(retry, failing()).get())
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(retry.getMetrics().getNumberOfFailedCallsWithoutRetryAttempt()).isEqualTo(1);
+        assertThat(events).containsExactly(RetryEvent.Type.IGNORED_ERROR);
+        assertThat(retry.getRetryConfig()).isSameAs(delegate.getRetryConfig());
+    }
+
+    @Test
+    void refusedAsyncRetriesShouldBeRecordedByTheRetry() {
+        BudgetedRetry retry = retry(1);
+        retry.budget().tryWithdraw();
+        Retry.AsyncContext<String> context = retry.asyncContext();
+
+        assertThat(context.onError(new IllegalStateException("address-service down"))).isEqualTo(-1);
+
+        assertThat(retry.getMetrics().getNumberOfFailedCallsWithoutRetryAttempt()).isEqualTo(1);
+    }
+
+    @Test
+    void nonRetryableFailuresShouldNotSpendTheBudget() {
+        BudgetedRetry retry = retry(1);
+        Supplier<String> call = Retry.decorateSupplier(retry, () -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("not retried");
+        });
+
+        assertThatThrownBy(call::get).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(retry.budget().balance()).isEqualTo(1.0);
+    }
+
+    @Test
+    void successfulCallsShouldRefillTheBudget() {
+        BudgetedRetry retry = retry(1);
+        retry.budget().tryWithdraw();
+
+        Retry.decorateSupplier(retry, () -> "ok").get();
+        Retry.decorateSupplier(retry, () -> "ok").get();
+
+        assertThat(retry.budget().balance()).isEqualTo(1.0);
+    }
+
+    private BudgetedRetry retry(double maxBalance) {
+        return new BudgetedRetry(delegate, new RetryBudget(0.5, 0, maxBalance, now::get), new OrderMetrics(meterRegistry));
+    }
+
+    private Supplier<String> failing() {
+        return () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("address-service down");
+        };
+    }
+
+    private double budget(String result) {
+        return meterRegistry.get("order.retry.budget.total").tag("result", result).counter().count();
+    }
+}
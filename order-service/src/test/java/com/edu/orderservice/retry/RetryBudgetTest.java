@@ -0,0 +1,68 @@
+package com.edu.orderservice.retry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void shouldStartFullAndRefuseOnceSpent() {
+        RetryBudget budget = new RetryBudget(0.2, 0, 3, now::get);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void successesShouldEarnRetriesInProportion() {
+        RetryBudget budget = new RetryBudget(0.2, 0, 3, now::get);
+        drain(budget);
+
+        for (int i = 0; i < 4; i++) {
+            budget.deposit();
+        }
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void shouldRefillOverTimeWithoutTraffic() {
+        RetryBudget budget = new RetryBudget(0.2, 2, 3, now::get);
+        drain(budget);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertThat(budget.balance()).isEqualTo(3.0);
+    }
+
+    @Test
+    void balanceShouldNotExceedMaximum() {
+        RetryBudget budget = new RetryBudget(1, 0, 3, now::get);
+
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+
+        assertThat(budget.balance()).isEqualTo(3.0);
+    }
+
+    private static void drain(RetryBudget budget) {
+        while (budget.tryWithdraw()) {
+            // spend the initial balance
+        }
+    }
+}
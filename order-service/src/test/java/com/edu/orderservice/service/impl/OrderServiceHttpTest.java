@@ -0,0 +1,165 @@
+package com.edu.orderservice.service.impl;
+
+import com.edu.orderservice.config.OrderMetrics;
+import com.edu.orderservice.model.Failure;
+import com.edu.orderservice.model.Order;
+import com.edu.orderservice.model.Type;
+import com.edu.orderservice.service.OrderService;
+import com.edu.orderservice.stub.AddressServiceStub;
+import com.edu.orderservice.stub.AddressServiceStub.Action;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// -------------------------------------------------------------------------
+// getOrderByPostCode over real HTTP, against AddressServiceStub
+//
+// Unlike the MockRestServiceServer tests, the pooled Apache client, JSON
+// mapping, read timeouts and retry backoff all run for real, so the
+// request log of the stub shows the actual attempts and their timing.
+// Own H2 database, so DataSetup's orders are there whatever other test
+// contexts do to theirs.
+// -------------------------------------------------------------------------
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-service-http;DB_CLOSE_DELAY=-1",
+        "address-service.coalesce-requests=false",
+        "address-service.http-client.cache-enabled=false",
+        "address-service.http-client.read-timeout=300ms",
+        "orders.retry-budget.enabled=false",
+        "resilience4j.ratelimiter.instances.order-service.limit-for-period=1000",
+        "resilience4j.retry.instances.order-service.wait-duration=100ms",
+        "resilience4j.retry.instances.order-service.exponential-backoff-multiplier=2",
+        "resilience4j.circuitbreaker.instances.order-service.sliding-window-size=6",
+        "resilience4j.circuitbreaker.instances.order-service.minimum-number-of-calls=6",
+        "resilience4j.circuitbreaker.instances.order-service.wait-duration-in-open-state=10s"
+})
+@ActiveProfiles("test")
+class OrderServiceHttpTest {
+
+    private static final String ORDER_NUMBER = "0c70c0c2";
+
+    private static final AddressServiceStub addressService = AddressServiceStub.start();
+
+    @DynamicPropertySource
+    static void addressServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("address-service.url", addressService::url);
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        addressService.clear();
+        circuitBreakerRegistry.circuitBreaker("order-service").reset();
+    }
+
+    @AfterAll
+    static void stopAddressService() {
+        addressService.close();
+    }
+
+    @Test
+    void shouldRetryConnectionResetsWithBackoff() {
+        addressService.script(Action.RESET, Action.RESET, Action.RESPOND);
+
+        Type result = orderService.getOrderByPostCode(ORDER_NUMBER);
+
+        assertThat(result).isInstanceOf(Order.class);
+        assertThat(((Order) result).getShippingCity()).isEqualTo("Chiyoda");
+        List<AddressServiceStub.Request> attempts = addressService.requests();
+        assertThat(attempts).extracting(AddressServiceStub.Request::action)
+                .containsExactly(Action.RESET, Action.RESET, Action.RESPOND);
+        // wait-duration 100ms, multiplier 2
+        assertThat(gapMillis(attempts, 1)).isGreaterThanOrEqualTo(100);
+        assertThat(gapMillis(attempts, 2)).isGreaterThanOrEqualTo(200);
+    }
+
+    @Test
+    void shouldGiveUpOnASlowAddressServiceAfterTheReadTimeouts() {
+        addressService.latency(1_000);
+
+        long start = System.nanoTime();
+        Type result = orderService.getOrderByPostCode(ORDER_NUMBER);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(result).isInstanceOf(Failure.class);
+        assertThat(((Failure) result).getReason()).isEqualTo("RETRY_EXHAUSTED");
+        assertThat(addressService.requestCount()).isEqualTo(3);
+        // 3 read timeouts of 300ms and backoffs of 100ms and 200ms, far less than 3 x 1s
+        assertThat(elapsedMillis).isBetween(1_200L, 2_500L);
+    }
+
+    @Test
+    void shouldOpenTheCircuitOnServerErrorsAndStopCallingTheAddressService() {
+        addressService.errorRate(1.0);
+
+        // 3 attempts each, the 6th failed call opens the breaker
+        assertThat(reason(orderService.getOrderByPostCode(ORDER_NUMBER))).isEqualTo("RETRY_EXHAUSTED");
+        assertThat(reason(orderService.getOrderByPostCode(ORDER_NUMBER))).isIn("RETRY_EXHAUSTED", "CIRCUIT_OPEN");
+        assertThat(addressService.requestCount()).isEqualTo(6);
+        assertThat(circuitBreakerRegistry.circuitBreaker("order-service").getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThat(reason(orderService.getOrderByPostCode(ORDER_NUMBER))).isEqualTo("CIRCUIT_OPEN");
+        assertThat(addressService.requestCount()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldTimeEachStageInHistogramsWithTheConfiguredSloBuckets() {
+        addressService.latency(120).script(Action.FAIL, Action.RESPOND);
+        long retries = stage(OrderMetrics.Stage.RETRY).count();
+        long attempts = stage(OrderMetrics.Stage.CIRCUIT_BREAKER).count();
+        long admissions = stage(OrderMetrics.Stage.ADMISSION).count();
+
+        assertThat(orderService.getOrderByPostCode(ORDER_NUMBER)).isInstanceOf(Order.class);
+
+        assertThat(stage(OrderMetrics.Stage.ADMISSION).count()).isEqualTo(admissions + 1);
+        assertThat(stage(OrderMetrics.Stage.CIRCUIT_BREAKER).count()).isEqualTo(attempts + 2);
+        assertThat(stage(OrderMetrics.Stage.RETRY).count()).isEqualTo(retries + 1);
+        // two attempts of 120ms and a 100ms backoff
+        assertThat(stage(OrderMetrics.Stage.RETRY).max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(340);
+        assertThat(meterRegistry.get("address.remote.duration").tag("result", "FAILURE").timer().count())
+                .isPositive();
+
+        // management.metrics.distribution.slo boundaries are among the buckets
+        Timer processing = meterRegistry.get("order.processing.duration").timer();
+        assertThat(Arrays.stream(processing.takeSnapshot().histogramCounts())
+                .map(bucket -> bucket.bucket(TimeUnit.MILLISECONDS)))
+                .contains(100.0, 250.0, 500.0, 1_000.0, 2_000.0);
+    }
+
+    private Timer stage(OrderMetrics.Stage stage) {
+        return meterRegistry.get("order.stage.duration").tag("stage", stage.name()).timer();
+    }
+
+    private static String reason(Type result) {
+        assertThat(result).isInstanceOf(Failure.class);
+        return ((Failure) result).getReason();
+    }
+
+    private static long gapMillis(List<AddressServiceStub.Request> requests, int index) {
+        return TimeUnit.NANOSECONDS.toMillis(requests.get(index).arrivalNanos() - requests.get(index - 1).arrivalNanos());
+    }
+}
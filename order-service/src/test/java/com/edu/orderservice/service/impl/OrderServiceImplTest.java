@@ -1,11 +1,34 @@
 package com.edu.orderservice.service.impl;
 
 import com.edu.orderservice.chaos.ChaosFaultInjector;
+import com.edu.orderservice.config.OrderMetrics;
+import com.edu.orderservice.model.BulkOrderResult;
 import com.edu.orderservice.model.Failure;
 import com.edu.orderservice.model.Order;
+import com.edu.orderservice.model.OrderResult;
 import com.edu.orderservice.model.Type;
+import com.edu.orderservice.ratelimit.DistributedRateLimiter;
+import com.edu.orderservice.ratelimit.InMemoryTokenStore;
 import com.edu.orderservice.repository.OrderRepository;
 import com.edu.orderservice.service.OrderService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -14,15 +37,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
@@ -45,10 +74,51 @@ class OrderServiceImplTest {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private RateLimiterRegistry rateLimiterRegistry;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private RetryRegistry retryRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderMetrics orderMetrics;
+
     private MockRestServiceServer mockServer;
 
+    // As configured by the test profile, before any test replaced them
+    private RateLimiterConfig rateLimiterConfig;
+    private BulkheadConfig bulkheadConfig;
+    private Retry retry;
+
+    @BeforeAll
+    void keepConfiguredInstances() {
+        rateLimiterConfig = rateLimiterRegistry.rateLimiter("order-service").getRateLimiterConfig();
+        bulkheadConfig = bulkheadRegistry.bulkhead("order-service").getBulkheadConfig();
+        retry = retryRegistry.retry("order-service");
+    }
+
     @BeforeEach
     void setup() {
+        // Each test starts from a CLOSED circuit, a full rate limiter period,
+        // an empty bulkhead and the configured retry, whatever the previous
+        // test replaced
+        circuitBreakerRegistry.circuitBreaker("order-service").reset();
+        rateLimiterRegistry.replace("order-service", RateLimiter.of("order-service", rateLimiterConfig));
+        bulkheadRegistry.replace("order-service", Bulkhead.of("order-service", bulkheadConfig));
+        retryRegistry.replace("order-service", retry);
+
         orderRepository.deleteAll();
         orderRepository.save(
                 Order.builder()
@@ -108,15 +178,15 @@ class OrderServiceImplTest {
     }
 
     @Test
-    void shouldReturnCircuitOpenWhenCircuitBreakerIsOpen() throws InterruptedException {
-        // Given
+    void shouldReturnCircuitOpenWhenCircuitBreakerIsOpen() {
+        // Given: opened by the failures, and asked again within the 1s
+        // wait-duration-in-open-state (no half-open call reaches the server)
+        allowEveryRequest();
         chaosFaultInjector.setEnabled(true);
         chaosFaultInjector.setConnectionError(true);
         orderService.getOrderByPostCode("ORDER-1");
         orderService.getOrderByPostCode("ORDER-1");
 
-        Thread.sleep(1100);
-
         chaosFaultInjector.setEnabled(false);
         chaosFaultInjector.setConnectionError(false);
 
@@ -133,6 +203,11 @@ class OrderServiceImplTest {
     void shouldReturnBulkheadWhenBulkheadIsFull() throws InterruptedException {
         // Given
         int numberOfThreads = 5;
+        allowEveryRequest();
+        // slow remote part, so the callers hold their bulkhead slot together
+        chaosFaultInjector.setEnabled(true);
+        chaosFaultInjector.setLatency(true);
+        chaosFaultInjector.setLatencyMS(200);
         ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
         CountDownLatch latch = new CountDownLatch(numberOfThreads);
 
@@ -200,4 +275,305 @@ class OrderServiceImplTest {
         }
         assertThat(foundRateLimitFailure).isTrue();
     }
+
+    @Test
+    void shouldReturnRateLimitWhenAnotherReplicaSpentTheSharedBudget() {
+        // Given: two replicas sharing one store, the other one used every token
+        RateLimiterConfig config = rateLimiterRegistry.rateLimiter("order-service").getRateLimiterConfig();
+        InMemoryTokenStore tokenStore = new InMemoryTokenStore();
+        long now = System.currentTimeMillis();
+        DistributedRateLimiter otherReplica = new DistributedRateLimiter(
+                "order-service", config, tokenStore, "order-service", 1, () -> now, orderMetrics);
+        while (otherReplica.acquirePermission()) {
+            // drain the budget of the current period
+        }
+        rateLimiterRegistry.replace("order-service", new DistributedRateLimiter(
+                "order-service", config, tokenStore, "order-service", 1, () -> now, orderMetrics));
+
+        // When
+        Type result = orderService.getOrderByPostCode("ORDER-1");
+
+        // Then: refused before any address call
+        assertThat(result).isInstanceOf(Failure.class);
+        assertThat(((Failure) result).getReason()).isEqualTo("RATE_LIMIT");
+        mockServer.verify();
+    }
+
+    @Test
+    void shouldResolveBulkLookupWithOneBatchCall() {
+        // Given
+        orderRepository.save(Order.builder().orderNumber("ORDER-2").postalCode("12345").build());
+        orderRepository.save(Order.builder().orderNumber("ORDER-3").postalCode("54321").build());
+
+        mockServer.expect(requestTo("http://localhost:9090/addresses/batch"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().json("[\"12345\",\"54321\"]", true))
+                .andRespond(withSuccess()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("""
+                                [
+                                  {"id":1,"postalCode":"12345","state":"TX","city":"Austin"},
+                                  {"id":2,"postalCode":"54321","state":"CA","city":"Fresno"}
+                                ]
+                                """));
+
+        // When
+        Type result = orderService.getOrdersByOrderNumbers(
+                List.of("ORDER-1", "ORDER-2", "ORDER-3", "ORDER-1", "MISSING"));
+
+        // Then
+        assertThat(result).isInstanceOf(BulkOrderResult.class);
+        List<OrderResult> results = ((BulkOrderResult) result).getResults();
+        assertThat(results).extracting(OrderResult::getOrderNumber)
+                .containsExactly("ORDER-1", "ORDER-2", "ORDER-3", "MISSING");
+        assertThat(results.get(0).getOrder().getShippingCity()).isEqualTo("Austin");
+        assertThat(results.get(1).getOrder().getShippingCity()).isEqualTo("Austin");
+        assertThat(results.get(2).getOrder().getShippingCity()).isEqualTo("Fresno");
+        assertThat(results.get(3).getFailure().getReason()).isEqualTo("ORDER_NOT_FOUND");
+        mockServer.verify();
+    }
+
+    @Test
+    void shouldFailBulkOrdersWhoseAddressIsUnknown() {
+        // Given: address-service leaves out the postal code it does not know
+        orderRepository.save(Order.builder().orderNumber("ORDER-2").postalCode("54321").build());
+        mockServer.expect(requestTo("http://localhost:9090/addresses/batch"))
+                .andRespond(withSuccess()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("[{\"id\":1,\"postalCode\":\"12345\",\"state\":\"TX\",\"city\":\"Austin\"}]"));
+        double failedBefore = meterRegistry.get("order.failed.total").tag("reason", "ADDRESS_NOT_FOUND").counter().count();
+        double successfulBefore = meterRegistry.get("order.successful.total").counter().count();
+
+        // When
+        Type result = orderService.getOrdersByOrderNumbers(List.of("ORDER-1", "ORDER-2"));
+
+        // Then
+        List<OrderResult> results = ((BulkOrderResult) result).getResults();
+        assertThat(results.get(0).getOrder().getShippingCity()).isEqualTo("Austin");
+        assertThat(results.get(1).getOrder()).isNull();
+        assertThat(results.get(1).getFailure().getReason()).isEqualTo("ADDRESS_NOT_FOUND");
+        assertThat(meterRegistry.get("order.failed.total").tag("reason", "ADDRESS_NOT_FOUND").counter().count())
+                .isEqualTo(failedBefore + 1);
+        assertThat(meterRegistry.get("order.successful.total").counter().count()).isEqualTo(successfulBefore + 1);
+        mockServer.verify();
+    }
+
+    @Test
+    void shouldReturnPerOrderFailuresWhenBulkRetriesAreExhausted() {
+        // Given
+        chaosFaultInjector.setEnabled(true);
+        chaosFaultInjector.setConnectionError(true);
+
+        // When
+        Type result = orderService.getOrdersByOrderNumbers(List.of("ORDER-1", "MISSING"));
+
+        // Then
+        assertThat(result).isInstanceOf(BulkOrderResult.class);
+        List<OrderResult> results = ((BulkOrderResult) result).getResults();
+        assertThat(results.get(0).getFailure().getReason()).isEqualTo("RETRY_EXHAUSTED");
+        assertThat(results.get(1).getFailure().getReason()).isEqualTo("ORDER_NOT_FOUND");
+    }
+
+    @Test
+    void shouldRecordOneDurationPerCallForConcurrentIdenticalOrderNumbers() throws Exception {
+        // Given: room for every caller, and a slow remote part so the calls overlap
+        int callers = 8;
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead("order-service");
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter("order-service");
+        bulkheadRegistry.replace("order-service", Bulkhead.of("order-service",
+                BulkheadConfig.from(bulkhead.getBulkheadConfig()).maxConcurrentCalls(callers).build()));
+        rateLimiterRegistry.replace("order-service", RateLimiter.of("order-service",
+                RateLimiterConfig.from(rateLimiter.getRateLimiterConfig()).limitForPeriod(callers).build()));
+
+        chaosFaultInjector.setEnabled(true);
+        chaosFaultInjector.setLatency(true);
+        chaosFaultInjector.setLatencyMS(100);
+
+        mockServer.expect(ExpectedCount.manyTimes(), requestTo("http://localhost:9090/addresses/12345"))
+                .andRespond(withSuccess()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"id\":1,\"postalCode\":\"12345\",\"state\":\"TX\",\"city\":\"Austin\"}"));
+
+        Timer timer = meterRegistry.get("order.processing.duration").timer();
+        long recordedBefore = timer.count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            // When
+            List<Future<Type>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> orderService.getOrderByPostCode("ORDER-1")));
+            }
+
+            // Then
+            for (Future<Type> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isInstanceOf(Order.class);
+            }
+            assertThat(timer.count() - recordedBefore).isEqualTo(callers);
+            assertThat(timer.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(100);
+        } finally {
+            executor.shutdownNow();
+            bulkheadRegistry.replace("order-service", bulkhead);
+            rateLimiterRegistry.replace("order-service", rateLimiter);
+        }
+    }
+
+    @Test
+    void shouldSendConcurrentLookupsOfOnePostalCodeThroughTheCircuitBreakerOnce() throws Exception {
+        // Given: room for every caller, and an address call held until all
+        // the other callers joined it
+        int callers = 6;
+        allowEveryRequest();
+        bulkheadRegistry.replace("order-service", Bulkhead.of("order-service",
+                BulkheadConfig.from(bulkheadConfig).maxConcurrentCalls(callers).build()));
+        CountDownLatch joined = new CountDownLatch(1);
+        mockServer.expect(ExpectedCount.once(), requestTo("http://localhost:9090/addresses/12345"))
+                .andRespond(request -> {
+                    try {
+                        joined.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return withSuccess()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body("{\"id\":1,\"postalCode\":\"12345\",\"state\":\"TX\",\"city\":\"Austin\"}")
+                            .createResponse(request);
+                });
+        Counter coalesced = meterRegistry.get("address.lookup.coalesced.total").counter();
+        double coalescedBefore = coalesced.count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            // When
+            List<Future<Type>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> orderService.getOrderByPostCode("ORDER-1")));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (coalesced.count() - coalescedBefore < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            joined.countDown();
+
+            // Then: one remote call, recorded once by the circuit breaker
+            for (Future<Type> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isInstanceOf(Order.class);
+            }
+            assertThat(coalesced.count() - coalescedBefore).isEqualTo(callers - 1);
+            assertThat(circuitBreakerRegistry.circuitBreaker("order-service").getMetrics().getNumberOfBufferedCalls())
+                    .isEqualTo(1);
+            mockServer.verify();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldQueryTheOrderOnceWhenTheAddressCallIsRetried() {
+        // Given: every attempt fails, the circuit stays out of the way
+        Retry retry = retryWithShortWait();
+        circuitBreakerRegistry.circuitBreaker("order-service").transitionToDisabledState();
+        mockServer.expect(ExpectedCount.times(3), requestTo("http://localhost:9090/addresses/12345"))
+                .andRespond(withServerError());
+
+        long queriesBefore = orderQueries();
+        double processedBefore = meterRegistry.get("order.processed.total").counter().count();
+        double attemptsBefore = remoteAttempts("FAILURE");
+
+        try {
+            // When
+            Type result = orderService.getOrderByPostCode("ORDER-1");
+
+            // Then: three remote attempts, one order processed, one query
+            assertThat(((Failure) result).getReason()).isEqualTo("RETRY_EXHAUSTED");
+            assertThat(orderQueries() - queriesBefore).isEqualTo(1);
+            assertThat(meterRegistry.get("order.processed.total").counter().count() - processedBefore).isEqualTo(1);
+            assertThat(remoteAttempts("FAILURE") - attemptsBefore).isEqualTo(3);
+            mockServer.verify();
+        } finally {
+            retryRegistry.replace("order-service", retry);
+        }
+    }
+
+    @Test
+    void shouldQueryTheOrderOnceWhenTheCircuitIsOpen() {
+        // Given
+        circuitBreakerRegistry.circuitBreaker("order-service").transitionToOpenState();
+        long queriesBefore = orderQueries();
+        double attemptsBefore = remoteAttempts("SUCCESS") + remoteAttempts("FAILURE");
+
+        // When
+        Type result = orderService.getOrderByPostCode("ORDER-1");
+
+        // Then
+        assertThat(((Failure) result).getReason()).isEqualTo("CIRCUIT_OPEN");
+        assertThat(orderQueries() - queriesBefore).isEqualTo(1);
+        assertThat(remoteAttempts("SUCCESS") + remoteAttempts("FAILURE")).isEqualTo(attemptsBefore);
+        mockServer.verify();
+    }
+
+    @Test
+    void shouldReturnOrderNotFoundWithoutCallingAddressService() {
+        // When
+        Type result = orderService.getOrderByPostCode("MISSING");
+
+        // Then: answered before retry and circuit breaker
+        assertThat(((Failure) result).getReason()).isEqualTo("ORDER_NOT_FOUND");
+        assertThat(circuitBreakerRegistry.circuitBreaker("order-service").getMetrics().getNumberOfBufferedCalls())
+                .isZero();
+        mockServer.verify();
+    }
+
+    @Test
+    void shouldQueryBulkOrdersOnceWhenTheBatchCallIsRetried() {
+        // Given
+        Retry retry = retryWithShortWait();
+        circuitBreakerRegistry.circuitBreaker("order-service").transitionToDisabledState();
+        mockServer.expect(ExpectedCount.times(3), requestTo("http://localhost:9090/addresses/batch"))
+                .andRespond(withServerError());
+
+        long queriesBefore = orderQueries();
+
+        try {
+            // When
+            Type result = orderService.getOrdersByOrderNumbers(List.of("ORDER-1", "MISSING"));
+
+            // Then
+            List<OrderResult> results = ((BulkOrderResult) result).getResults();
+            assertThat(results.get(0).getFailure().getReason()).isEqualTo("RETRY_EXHAUSTED");
+            assertThat(results.get(1).getFailure().getReason()).isEqualTo("ORDER_NOT_FOUND");
+            assertThat(orderQueries() - queriesBefore).isEqualTo(1);
+            mockServer.verify();
+        } finally {
+            retryRegistry.replace("order-service", retry);
+        }
+    }
+
+    // The bulkhead and circuit breaker tests make more calls than the test
+    // profile's limit-for-period of 2: without this the rate limiter refuses
+    // them first. Replaced again by setup() before the next test
+    private void allowEveryRequest() {
+        rateLimiterRegistry.replace("order-service", RateLimiter.of("order-service",
+                RateLimiterConfig.from(rateLimiterConfig).limitForPeriod(Integer.MAX_VALUE).build()));
+    }
+
+    // The test profile's 0s wait is rejected by the exponential backoff once
+    // a retry is actually scheduled: 1ms between attempts, previous instance returned
+    private Retry retryWithShortWait() {
+        Retry retry = retryRegistry.retry("order-service");
+        retryRegistry.replace("order-service", Retry.of("order-service", RetryConfig.from(retry.getRetryConfig())
+                .intervalFunction(IntervalFunction.of(Duration.ofMillis(1)))
+                .build()));
+        return retry;
+    }
+
+    // Repository queries, whether answered by the database or the query cache
+    private long orderQueries() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return statistics.getQueryExecutionCount() + statistics.getQueryCacheHitCount();
+    }
+
+    private double remoteAttempts(String result) {
+        return meterRegistry.get("address.remote.attempt.total").tag("result", result).counter().count();
+    }
 }
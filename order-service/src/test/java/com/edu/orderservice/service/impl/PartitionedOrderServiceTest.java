@@ -0,0 +1,129 @@
+package com.edu.orderservice.service.impl;
+
+import com.edu.orderservice.model.Order;
+import com.edu.orderservice.model.Type;
+import com.edu.orderservice.repository.OrderRepository;
+import com.edu.orderservice.service.OrderService;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@SpringBootTest(properties = {
+        "orders.partitions.enabled=true",
+        "resilience4j.ratelimiter.instances.order-service.limit-for-period=100"
+})
+@ActiveProfiles("test")
+class PartitionedOrderServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    private MockRestServiceServer mockServer;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+        orderRepository.save(Order.builder().orderNumber("ORDER-1").postalCode("12345").build());
+        orderRepository.save(Order.builder().orderNumber("ORDER-2").postalCode("98765").build());
+
+        mockServer = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+    }
+
+    @Test
+    void shouldServeOtherPartitionsWhileOnePartitionIsSlow() throws Exception {
+        // Given: more callers waiting on partition "12" than the test
+        // profile's max-concurrent-calls of 2 for the order-service bulkhead
+        int callers = 3;
+        CountDownLatch released = new CountDownLatch(1);
+        mockServer.expect(ExpectedCount.once(), requestTo("http://localhost:9090/addresses/12345"))
+                .andRespond(request -> {
+                    try {
+                        released.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return withSuccess()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body("{\"id\":1,\"postalCode\":\"12345\",\"state\":\"TX\",\"city\":\"Austin\"}")
+                            .createResponse(request);
+                });
+        mockServer.expect(ExpectedCount.once(), requestTo("http://localhost:9090/addresses/98765"))
+                .andRespond(withSuccess()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"id\":2,\"postalCode\":\"98765\",\"state\":\"CA\",\"city\":\"Fresno\"}"));
+        Counter coalesced = meterRegistry.get("address.lookup.coalesced.total").counter();
+        double coalescedBefore = coalesced.count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Type>> slow = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                slow.add(executor.submit(() -> orderService.getOrderByPostCode("ORDER-1")));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (coalesced.count() - coalescedBefore < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // When: partition "98" is asked while every "12" caller is waiting
+            Type result = orderService.getOrderByPostCode("ORDER-2");
+
+            // Then
+            assertThat(result).isInstanceOf(Order.class);
+            assertThat(((Order) result).getShippingCity()).isEqualTo("Fresno");
+            assertThat(bulkheadRegistry.bulkhead("partitioned-lookup").getMetrics().getAvailableConcurrentCalls())
+                    .isEqualTo(10 * (100 + 1) - callers);
+            released.countDown();
+            for (Future<Type> order : slow) {
+                assertThat(order.get(5, TimeUnit.SECONDS)).isInstanceOf(Order.class);
+            }
+            mockServer.verify();
+        } finally {
+            released.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldKeepTheSharedBulkheadLimitForBulkAndReactiveLookups() {
+        // single lookups have their own admission bulkhead, the shared one
+        // keeps the test profile's max-concurrent-calls
+        assertThat(bulkheadRegistry.bulkhead("order-service").getBulkheadConfig().getMaxConcurrentCalls())
+                .isEqualTo(2);
+        assertThat(bulkheadRegistry.bulkhead("partitioned-lookup").getBulkheadConfig().getMaxConcurrentCalls())
+                .isEqualTo(10 * (100 + 1));
+    }
+}
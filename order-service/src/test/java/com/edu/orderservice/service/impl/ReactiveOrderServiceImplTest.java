@@ -0,0 +1,367 @@
+package com.edu.orderservice.service.impl;
+
+import com.edu.orderservice.concurrency.AdaptiveBulkhead;
+import com.edu.orderservice.model.Failure;
+import com.edu.orderservice.model.Order;
+import com.edu.orderservice.model.Type;
+import com.edu.orderservice.repository.OrderRepository;
+import com.edu.orderservice.service.ReactiveOrderService;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// -------------------------------------------------------------------------
+// Reactive equivalents of the OrderController scenarios. WebClient does not
+// go through MockRestServiceServer, so the Address Service is a local HTTP
+// stub answering with the scripted status codes (200 once the script is empty,
+// a negative status drops the connection without answering).
+// -------------------------------------------------------------------------
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReactiveOrderServiceImplTest {
+
+    private static final String ADDRESS =
+            "{\"id\":1,\"postalCode\":\"12345\",\"state\":\"TX\",\"city\":\"Austin\"}";
+
+    private static HttpServer addressService;
+    private static final Queue<Integer> scriptedStatuses = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger addressCalls = new AtomicInteger();
+    private static volatile CountDownLatch holdResponses = new CountDownLatch(0);
+
+    @Autowired
+    private ReactiveOrderService reactiveOrderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private RateLimiterRegistry rateLimiterRegistry;
+
+    @Autowired
+    private RetryRegistry retryRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private RateLimiterConfig rateLimiterConfig;
+
+    @DynamicPropertySource
+    static void addressServiceUrl(DynamicPropertyRegistry registry) throws IOException {
+        addressService = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        addressService.setExecutor(Executors.newCachedThreadPool());
+        addressService.createContext("/addresses/", exchange -> {
+            addressCalls.incrementAndGet();
+            try {
+                holdResponses.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            Integer scripted = scriptedStatuses.poll();
+            int status = scripted == null ? 200 : scripted;
+            if (status < 0) {
+                exchange.close();
+                return;
+            }
+            byte[] body = (status == 200 ? ADDRESS : "{}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        addressService.start();
+
+        registry.add("address-service.url",
+                () -> "http://localhost:" + addressService.getAddress().getPort() + "/addresses/");
+    }
+
+    @AfterAll
+    static void stopAddressService() {
+        addressService.stop(0);
+    }
+
+    @BeforeAll
+    void prepareInstances() {
+        rateLimiterConfig = rateLimiterRegistry.rateLimiter("order-service").getRateLimiterConfig();
+
+        // the test profile's 0s wait is rejected by the exponential backoff
+        // once a retry is actually scheduled, so wait 1ms between attempts
+        RetryConfig retryConfig = retryRegistry.retry("order-service").getRetryConfig();
+        retryRegistry.replace("order-service", Retry.of("order-service", RetryConfig.from(retryConfig)
+                .intervalFunction(IntervalFunction.of(Duration.ofMillis(1)))
+                .build()));
+    }
+
+    @BeforeEach
+    void setup() {
+        circuitBreakerRegistry.circuitBreaker("order-service").reset();
+        replaceRateLimiter(rateLimiterConfig);
+
+        scriptedStatuses.clear();
+        addressCalls.set(0);
+        holdResponses = new CountDownLatch(0);
+
+        orderRepository.deleteAll();
+        orderRepository.save(
+                Order.builder()
+                        .id(1)
+                        .orderNumber("ORDER-1")
+                        .postalCode("12345")
+                        .build()
+        );
+    }
+
+    @Test
+    void shouldReturnOrderWhenAddressServiceIsOk() {
+        StepVerifier.create(reactiveOrderService.getOrderByPostCode("ORDER-1"))
+                .assertNext(result -> {
+                    assertThat(result).isInstanceOf(Order.class);
+                    assertThat(((Order) result).getShippingState()).isEqualTo("TX");
+                    assertThat(((Order) result).getShippingCity()).isEqualTo("Austin");
+                })
+                .verifyComplete();
+
+        assertThat(addressCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRetryOnceAndSucceedOnSecondAttempt() {
+        // test profile: the circuit would open on the first failure
+        circuitBreakerRegistry.circuitBreaker("order-service").transitionToDisabledState();
+        scriptedStatuses.add(500);
+
+        StepVerifier.create(reactiveOrderService.getOrderByPostCode("ORDER-1"))
+                .assertNext(result -> assertThat(result).isInstanceOf(Order.class))
+                .verifyComplete();
+
+        assertThat(addressCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFailIfRetryAttemptsExceedThree() {
+        double failedBefore = failedCount("RETRY_EXHAUSTED");
+        circuitBreakerRegistry.circuitBreaker("order-service").transitionToDisabledState();
+        scriptedStatuses.add(500);
+        scriptedStatuses.add(500);
+        scriptedStatuses.add(500);
+
+        StepVerifier.create(reactiveOrderService.getOrderByPostCode("ORDER-1"))
+                .assertNext(result -> assertThat(reason(result)).isEqualTo("RETRY_EXHAUSTED"))
+                .verifyComplete();
+
+        assertThat(addressCalls.get()).isEqualTo(3);
+        assertThat(failedCount("RETRY_EXHAUSTED")).isEqualTo(failedBefore + 1);
+    }
+
+    @Test
+    void shouldQueryTheOrderOnceWhenTheAddressCallIsRetried() {
+        circuitBreakerRegistry.circuitBreaker("order-service").transitionToDisabledState();
+        scriptedStatuses.add(500);
+        scriptedStatuses.add(500);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long queriesBefore = statistics.getQueryExecutionCount() + statistics.getQueryCacheHitCount();
+
+        StepVerifier.create(reactiveOrderService.getOrderByPostCode("ORDER-1"))
+                .assertNext(result -> assertThat(result).isInstanceOf(Order.class))
+                .verifyComplete();
+
+        assertThat(addressCalls.get()).isEqualTo(3);
+        assertThat(statistics.getQueryExecutionCount() + statistics.getQueryCacheHitCount() - queriesBefore)
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnCircuitOpenWithoutCallingAddressService() {
+        circuitBreakerRegistry.circuitBreaker("order-service").transitionToOpenState();
+
+        StepVerifier.create(reactiveOrderService.getOrderByPostCode("ORDER-1"))
+                .assertNext(result -> assertThat(reason(result)).isEqualTo("CIRCUIT_OPEN"))
+                .verifyComplete();
+
+        assertThat(addressCalls.get()).isZero();
+    }
+
+    @Test
+    void shouldReturnBulkheadFullWhenAllSlotsAreBusy() throws Exception {
+        // test profile: 2 concurrent calls, rate limiter raised so it does not reject first
+        replaceRateLimiter(RateLimiterConfig.from(rateLimiterConfig).limitForPeriod(10).build());
+        holdResponses = new CountDownLatch(1);
+
+        Mono<Type> first = reactiveOrderService.getOrderByPostCode("ORDER-1").cache();
+        Mono<Type> second = reactiveOrderService.getOrderByPostCode("ORDER-1").cache();
+        first.subscribe();
+        second.subscribe();
+        waitForAddressCalls(2);
+
+        StepVerifier.create(reactiveOrderService.getOrderByPostCode("ORDER-1"))
+                .assertNext(result -> assertThat(reason(result)).isEqualTo("BULKHEAD_FULL"))
+                .verifyComplete();
+
+        holdResponses.countDown();
+        assertThat(first.block(Duration.ofSeconds(5))).isInstanceOf(Order.class);
+        assertThat(second.block(Duration.ofSeconds(5))).isInstanceOf(Order.class);
+    }
+
+    @Test
+    void shouldReturnRateLimitWhenNoPermitIsLeft() {
+        // test profile: 2 permits per period
+        reactiveOrderService.getOrderByPostCode("ORDER-1").block(Duration.ofSeconds(5));
+        reactiveOrderService.getOrderByPostCode("ORDER-1").block(Duration.ofSeconds(5));
+
+        StepVerifier.create(reactiveOrderService.getOrderByPostCode("ORDER-1"))
+                .assertNext(result -> assertThat(reason(result)).isEqualTo("RATE_LIMIT"))
+                .verifyComplete();
+
+        assertThat(addressCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void reactiveEndpointShouldReturn200() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/orders/reactive").param("orderNumber", "ORDER-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shippingState").value("TX"))
+                .andExpect(jsonPath("$.shippingCity").value("Austin"));
+    }
+
+    @Test
+    void reactiveEndpointShouldReturn503WhenCircuitIsOpen() throws Exception {
+        circuitBreakerRegistry.circuitBreaker("order-service").transitionToOpenState();
+
+        MvcResult pending = mockMvc.perform(get("/orders/reactive").param("orderNumber", "ORDER-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.reason").value("CIRCUIT_OPEN"));
+    }
+
+    @Test
+    void shouldFeedEveryAttemptToTheAdaptiveBulkhead() {
+        AdaptiveBulkhead adaptiveBulkhead = mock(AdaptiveBulkhead.class);
+        Object target = AopTestUtils.getTargetObject(reactiveOrderService);
+        ReflectionTestUtils.setField(target, "adaptiveBulkhead", adaptiveBulkhead);
+        try {
+            circuitBreakerRegistry.circuitBreaker("order-service").transitionToDisabledState();
+            // dropped connection, 503, then 200: one drop, one sample
+            scriptedStatuses.add(-1);
+            scriptedStatuses.add(503);
+
+            StepVerifier.create(reactiveOrderService.getOrderByPostCode("ORDER-1"))
+                    .assertNext(result -> assertThat(result).isInstanceOf(Order.class))
+                    .verifyComplete();
+
+            assertThat(addressCalls.get()).isEqualTo(3);
+            verify(adaptiveBulkhead, times(1)).onDrop();
+            verify(adaptiveBulkhead, times(1)).onSample(anyLong());
+        } finally {
+            ReflectionTestUtils.setField(target, "adaptiveBulkhead", null);
+        }
+    }
+
+    @Test
+    void shouldNotSampleTheAdaptiveBulkheadOnHttpErrors() {
+        AdaptiveBulkhead adaptiveBulkhead = mock(AdaptiveBulkhead.class);
+        Object target = AopTestUtils.getTargetObject(reactiveOrderService);
+        ReflectionTestUtils.setField(target, "adaptiveBulkhead", adaptiveBulkhead);
+        try {
+            scriptedStatuses.add(404);
+
+            reactiveOrderService.getOrderByPostCode("ORDER-1").block(Duration.ofSeconds(5));
+
+            verify(adaptiveBulkhead, never()).onDrop();
+            verify(adaptiveBulkhead, never()).onSample(anyLong());
+        } finally {
+            ReflectionTestUtils.setField(target, "adaptiveBulkhead", null);
+        }
+    }
+
+    private void replaceRateLimiter(RateLimiterConfig config) {
+        rateLimiterRegistry.replace("order-service", RateLimiter.of("order-service", config));
+    }
+
+    private double failedCount(String reason) {
+        var counter = meterRegistry.find("order.failed.total").tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static String reason(Type result) {
+        assertThat(result).isInstanceOf(Failure.class);
+        return ((Failure) result).getReason();
+    }
+
+    private static void waitForAddressCalls(int calls) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (addressCalls.get() < calls && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(addressCalls.get()).isEqualTo(calls);
+    }
+}
@@ -0,0 +1,439 @@
+package com.edu.orderservice.stub;
+
+import com.edu.orderservice.chaos.LatencyDistribution;
+import com.edu.orderservice.dto.AddressDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// -------------------------------------------------------------------------
+// In-process stand-in for address-service, over real HTTP/1.1 on loopback
+//
+//   GET  /addresses/{postalCode}  → 200 address JSON, unknown code → 500
+//   POST /addresses/batch         → 200 JSON array, unknown codes left out
+//
+// Same contract and error shape as AddressController, minus the ETag and
+// Cache-Control headers so that HTTP caching never hides a call. The data
+// starts with the postal codes of DataSetup.
+//
+// Every request is decided in arrival order under one lock, so with a
+// seed a sequential client sees the same sequence on every run:
+//
+//   1. the next scripted action, if any:  stub.script(RESET, FAIL, RESPOND)
+//   2. otherwise RESET with resetRate, FAIL with errorRate (errorStatus,
+//      500 by default), else RESPOND
+//   3. latency drawn from a chaos LatencyDistribution, slept before the
+//      action, so it also delays resets and errors
+//
+// RESET closes the socket with SO_LINGER 0: the client gets a TCP RST
+// ("Connection reset") instead of a response. Connections are kept alive
+// like a servlet container and served on platform threads, so the stub
+// never competes with virtual threads of the code under test.
+//
+//   try (AddressServiceStub stub = AddressServiceStub.start()) {
+//       stub.latency(LatencyDistribution.LOG_NORMAL, 20, 500).errorRate(0.1);
+//       ... --address-service.url=stub.url() ...
+//       assertThat(stub.requestCount()).isEqualTo(3);
+//   }
+// -------------------------------------------------------------------------
+public final class AddressServiceStub implements AutoCloseable {
+
+    public enum Action {
+        RESPOND,
+        FAIL,
+        RESET
+    }
+
+    // What the stub received and what it did about it
+    public record Request(String method, String path, long arrivalNanos, long latencyMS, Action action) {
+    }
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String PREFIX = "/addresses/";
+
+    private final ServerSocket serverSocket;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final Map<String, AddressDTO> addresses = new ConcurrentHashMap<>();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    // guarded by this
+    private final Deque<Action> script = new ArrayDeque<>();
+    private SplittableRandom random = new SplittableRandom(42);
+    private LatencyDistribution latencyDistribution = LatencyDistribution.FIXED;
+    private long latencyMS;
+    private long latencyMaxMS;
+    private double latencySigma = 1.0;
+    private double latencyShape = 1.16;
+    private double errorRate;
+    private int errorStatus = 500;
+    private double resetRate;
+
+    private volatile boolean closed;
+
+    private AddressServiceStub(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+        address(1, "1000001", "Tokyo", "Chiyoda");
+        address(2, "1100000", "Tokyo", "Taito");
+        address(3, "2100001", "Kanagawa", "Kawasaki");
+    }
+
+    public static AddressServiceStub start() {
+        try {
+            ServerSocket serverSocket = new ServerSocket();
+            serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1000);
+            AddressServiceStub stub = new AddressServiceStub(serverSocket);
+            Thread acceptor = new Thread(stub::accept, "address-stub-accept");
+            acceptor.setDaemon(true);
+            acceptor.start();
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the address-service stub", e);
+        }
+    }
+
+    // Value for address-service.url
+    public String url() {
+        return "http://localhost:" + port() + PREFIX;
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    // ---------------------------------------------------------------------
+    // Data and behaviour, can be changed while requests are running
+    // ---------------------------------------------------------------------
+
+    public AddressServiceStub address(Integer id, String postalCode, String state, String city) {
+        addresses.put(postalCode, new AddressDTO(id, postalCode, state, city));
+        return this;
+    }
+
+    public synchronized AddressServiceStub seed(long seed) {
+        random = new SplittableRandom(seed);
+        return this;
+    }
+
+    public AddressServiceStub latency(long latencyMS) {
+        return latency(LatencyDistribution.FIXED, latencyMS, 0);
+    }
+
+    // latencyMS and latencyMaxMS have the meaning of the fault.* settings, see LatencyDistribution
+    public synchronized AddressServiceStub latency(LatencyDistribution distribution, long latencyMS, long latencyMaxMS) {
+        if (latencyMS < 0 || latencyMaxMS < 0) {
+            throw new IllegalArgumentException("Latency must be >= 0");
+        }
+        this.latencyDistribution = distribution;
+        this.latencyMS = latencyMS;
+        this.latencyMaxMS = latencyMaxMS;
+        return this;
+    }
+
+    public synchronized AddressServiceStub latencyShape(double sigma, double shape) {
+        this.latencySigma = sigma;
+        this.latencyShape = shape;
+        return this;
+    }
+
+    public synchronized AddressServiceStub errorRate(double probability) {
+        this.errorRate = probability(probability);
+        return this;
+    }
+
+    public synchronized AddressServiceStub errorStatus(int status) {
+        if (status < 400 || status > 599) {
+            throw new IllegalArgumentException("Error status must be 4xx or 5xx: " + status);
+        }
+        this.errorStatus = status;
+        return this;
+    }
+
+    public synchronized AddressServiceStub resetRate(double probability) {
+        this.resetRate = probability(probability);
+        return this;
+    }
+
+    // Actions for the next requests, taken before the rates apply
+    public synchronized AddressServiceStub script(Action... actions) {
+        Collections.addAll(script, actions);
+        return this;
+    }
+
+    // Back to instant, error-free responses with an empty script and request log
+    public synchronized AddressServiceStub clear() {
+        script.clear();
+        random = new SplittableRandom(42);
+        latencyDistribution = LatencyDistribution.FIXED;
+        latencyMS = 0;
+        latencyMaxMS = 0;
+        latencySigma = 1.0;
+        latencyShape = 1.16;
+        errorRate = 0;
+        errorStatus = 500;
+        resetRate = 0;
+        requests.clear();
+        return this;
+    }
+
+    public List<Request> requests() {
+        return List.copyOf(requests);
+    }
+
+    public int requestCount() {
+        return requests.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // already closed
+        }
+        for (Socket connection : connections) {
+            closeQuietly(connection);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // HTTP/1.1 server
+    // ---------------------------------------------------------------------
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Socket connection = serverSocket.accept();
+                connections.add(connection);
+                Thread handler = new Thread(() -> serve(connection), "address-stub-" + threadNumber.incrementAndGet());
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    throw new UncheckedIOException("address-service stub stopped accepting connections", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket connection) {
+        try (connection) {
+            connection.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(connection.getInputStream());
+            OutputStream out = connection.getOutputStream();
+
+            String requestLine;
+            while ((requestLine = readLine(in)) != null && !requestLine.isEmpty()) {
+                long arrival = System.nanoTime();
+                Map<String, String> headers = readHeaders(in);
+                byte[] body = readBody(in, headers);
+
+                String[] parts = requestLine.split(" ");
+                String method = parts[0];
+                String path = parts.length > 1 ? parts[1] : "/";
+
+                Action action;
+                long delay;
+                synchronized (this) {
+                    action = !script.isEmpty() ? script.poll() : draw();
+                    delay = latencyDistribution.sampleMillis(random, latencyMS, latencyMaxMS, latencySigma, latencyShape);
+                }
+                requests.add(new Request(method, path, arrival, delay, action));
+
+                if (delay > 0) {
+                    Thread.sleep(delay);
+                }
+                if (action == Action.RESET) {
+                    // RST instead of FIN
+                    connection.setSoLinger(true, 0);
+                    return;
+                }
+
+                Response response = action == Action.FAIL
+                        ? error(errorStatus(), path)
+                        : route(method, path, body);
+                out.write(response.bytes());
+                out.flush();
+                if ("close".equalsIgnoreCase(headers.get("connection"))) {
+                    return;
+                }
+            }
+        } catch (SocketException e) {
+            // client went away or the stub was closed
+        } catch (IOException e) {
+            // malformed request, drop the connection
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    // guarded by this
+    private Action draw() {
+        if (resetRate + errorRate == 0) {
+            return Action.RESPOND;
+        }
+        double r = random.nextDouble();
+        if (r < resetRate) {
+            return Action.RESET;
+        }
+        return r < resetRate + errorRate ? Action.FAIL : Action.RESPOND;
+    }
+
+    private synchronized int errorStatus() {
+        return errorStatus;
+    }
+
+    private Response route(String method, String path, byte[] body) throws IOException {
+        if (!path.startsWith(PREFIX)) {
+            return error(404, path);
+        }
+        String postalCode = path.substring(PREFIX.length());
+
+        if ("POST".equals(method) && "batch".equals(postalCode)) {
+            List<String> postalCodes = objectMapper.readValue(body, new TypeReference<List<String>>() {
+            });
+            List<AddressDTO> found = new ArrayList<>();
+            for (String code : postalCodes) {
+                AddressDTO address = addresses.get(code);
+                if (address != null) {
+                    found.add(address);
+                }
+            }
+            return new Response(200, objectMapper.writeValueAsBytes(found));
+        }
+
+        if (!"GET".equals(method) || postalCode.isEmpty() || postalCode.contains("/")) {
+            return error(404, path);
+        }
+        AddressDTO address = addresses.get(postalCode);
+        // address-service throws for unknown codes, which Spring answers with a 500
+        return address == null
+                ? error(500, path)
+                : new Response(200, objectMapper.writeValueAsBytes(address));
+    }
+
+    // Spring Boot's default error body
+    private static Response error(int status, String path) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("status", status);
+        body.put("error", reasonPhrase(status));
+        body.put("path", path);
+        return new Response(status, objectMapper.writeValueAsBytes(body));
+    }
+
+    private record Response(int status, byte[] body) {
+
+        byte[] bytes() {
+            String head = "HTTP/1.1 " + status + " " + reasonPhrase(status) + "\r\n"
+                    + "Content-Type: application/json\r\n"
+                    + "Content-Length: " + body.length + "\r\n"
+                    + "\r\n";
+            byte[] headBytes = head.getBytes(StandardCharsets.ISO_8859_1);
+            byte[] bytes = new byte[headBytes.length + body.length];
+            System.arraycopy(headBytes, 0, bytes, 0, headBytes.length);
+            System.arraycopy(body, 0, bytes, headBytes.length, body.length);
+            return bytes;
+        }
+    }
+
+    private static String reasonPhrase(int status) {
+        return switch (status) {
+            case 200 -> "OK";
+            case 404 -> "Not Found";
+            case 429 -> "Too Many Requests";
+            case 500 -> "Internal Server Error";
+            case 502 -> "Bad Gateway";
+            case 503 -> "Service Unavailable";
+            case 504 -> "Gateway Timeout";
+            default -> status < 500 ? "Client Error" : "Server Error";
+        };
+    }
+
+    private static Map<String, String> readHeaders(InputStream in) throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        String line;
+        while ((line = readLine(in)) != null && !line.isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+        }
+        return headers;
+    }
+
+    private static byte[] readBody(InputStream in, Map<String, String> headers) throws IOException {
+        if (!"chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+            return in.readNBytes(Integer.parseInt(headers.getOrDefault("content-length", "0")));
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        String sizeLine;
+        while ((sizeLine = readLine(in)) != null) {
+            int size = Integer.parseInt(sizeLine.split(";", 2)[0].trim(), 16);
+            if (size == 0) {
+                readHeaders(in); // trailers
+                break;
+            }
+            body.write(in.readNBytes(size));
+            readLine(in);
+        }
+        return body.toByteArray();
+    }
+
+    // One CRLF terminated line, null at end of stream
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                return line.toString(StandardCharsets.ISO_8859_1).stripTrailing();
+            }
+            line.write(b);
+        }
+        return line.size() == 0 ? null : line.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static double probability(double probability) {
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1: " + probability);
+        }
+        return probability;
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // nothing left to do
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.edu.orderservice.stub;
+
+import com.edu.orderservice.chaos.LatencyDistribution;
+import com.edu.orderservice.stub.AddressServiceStub.Action;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AddressServiceStubTest {
+
+    private final AddressServiceStub stub = AddressServiceStub.start();
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @AfterEach
+    void stop() {
+        stub.close();
+    }
+
+    @Test
+    void shouldServeTheAddressServiceContract() throws Exception {
+        HttpResponse<String> found = get("1000001");
+        assertThat(found.statusCode()).isEqualTo(200);
+        assertThat(found.body()).isEqualTo("{\"id\":1,\"postalCode\":\"1000001\",\"state\":\"Tokyo\",\"city\":\"Chiyoda\"}");
+
+        HttpResponse<String> unknown = get("9999999");
+        assertThat(unknown.statusCode()).isEqualTo(500);
+        assertThat(unknown.body()).contains("\"path\":\"/addresses/9999999\"");
+
+        HttpResponse<String> batch = client.send(HttpRequest.newBuilder(URI.create(stub.url() + "batch"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("[\"1100000\",\"9999999\",\"2100001\"]"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(batch.statusCode()).isEqualTo(200);
+        assertThat(batch.body()).contains("\"1100000\"", "\"2100001\"").doesNotContain("9999999");
+
+        assertThat(stub.requests()).extracting(AddressServiceStub.Request::path)
+                .containsExactly("/addresses/1000001", "/addresses/9999999", "/addresses/batch");
+    }
+
+    @Test
+    void shouldPlayTheScriptBeforeTheRates() throws Exception {
+        stub.errorStatus(503).script(Action.FAIL, Action.RESET, Action.RESPOND);
+
+        assertThat(get("1000001").statusCode()).isEqualTo(503);
+        // a raw socket, the JDK client would silently retry the GET
+        try (Socket socket = new Socket("localhost", stub.port())) {
+            socket.getOutputStream().write("GET /addresses/1000001 HTTP/1.1\r\nHost: localhost\r\n\r\n"
+                    .getBytes(StandardCharsets.ISO_8859_1));
+            assertThatThrownBy(() -> socket.getInputStream().read())
+                    .isInstanceOf(SocketException.class)
+                    .hasMessageContaining("reset");
+        }
+        assertThat(get("1000001").statusCode()).isEqualTo(200);
+
+        assertThat(stub.requests()).extracting(AddressServiceStub.Request::action)
+                .containsExactly(Action.FAIL, Action.RESET, Action.RESPOND);
+    }
+
+    @Test
+    void shouldDrawTheSameFaultsForTheSameSeed() throws Exception {
+        List<Action> first = run(7);
+        stub.clear();
+        List<Action> second = run(7);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(first).contains(Action.RESPOND, Action.FAIL, Action.RESET);
+        assertThat(first.stream().filter(action -> action == Action.FAIL).count()).isBetween(20L, 60L);
+    }
+
+    @Test
+    void shouldDelayResponses() throws Exception {
+        stub.latency(LatencyDistribution.UNIFORM, 50, 80);
+
+        long start = System.nanoTime();
+        assertThat(get("1000001").statusCode()).isEqualTo(200);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(50);
+        assertThat(stub.requests().get(0).latencyMS()).isBetween(50L, 80L);
+    }
+
+    private List<Action> run(long seed) throws Exception {
+        stub.seed(seed).errorRate(0.2).resetRate(0.1);
+        List<Action> actions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            try {
+                actions.add(get("1000001").statusCode() == 200 ? Action.RESPOND : Action.FAIL);
+            } catch (IOException e) {
+                actions.add(Action.RESET);
+            }
+        }
+        return actions;
+    }
+
+    private HttpResponse<String> get(String postalCode) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(stub.url() + postalCode)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,162 @@
+package com.edu.orderservice.tuning;
+
+import com.edu.orderservice.chaos.ChaosFaultInjector;
+import com.edu.orderservice.chaos.LatencyDistribution;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoint.tuning.enabled=true",
+        "management.endpoints.web.exposure.include=health,tuning"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ResilienceTuningEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChaosFaultInjector chaosFaultInjector;
+
+    @Autowired
+    private RetryRegistry retryRegistry;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Retry retry;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setup() {
+        retry = retryRegistry.retry("order-service");
+        circuitBreaker = circuitBreakerRegistry.circuitBreaker("order-service");
+    }
+
+    @AfterEach
+    void tearDown() {
+        retryRegistry.replace("order-service", retry);
+        circuitBreakerRegistry.replace("order-service", circuitBreaker);
+        circuitBreaker.transitionToClosedState();
+        chaosFaultInjector.update(injector -> {
+            injector.setEnabled(false);
+            injector.setLatencyProbability(0);
+            injector.setLatencyMS(0);
+            injector.setLatencyDistribution(LatencyDistribution.FIXED);
+        });
+    }
+
+    @Test
+    void shouldListEveryComponent() throws Exception {
+        mockMvc.perform(get("/actuator/tuning"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chaos.enabled").value(false))
+                .andExpect(jsonPath("$.ratelimiter.limitForPeriod").value(2))
+                .andExpect(jsonPath("$.bulkhead.maxConcurrentCalls").value(2))
+                .andExpect(jsonPath("$.retry.maxAttempts").value(3))
+                .andExpect(jsonPath("$.circuitbreaker.slidingWindowSize").value(2));
+
+        mockMvc.perform(get("/actuator/tuning/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldChangeChaosSettingsTogether() throws Exception {
+        mockMvc.perform(post("/actuator/tuning/chaos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"settings\": \"latencyProbability=0.5, latencyMS=40, latencyDistribution=PARETO\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.latencyDistribution").value("PARETO"));
+
+        assertThat(chaosFaultInjector.getLatencyProbability()).isEqualTo(0.5);
+        assertThat(chaosFaultInjector.getLatencyMS()).isEqualTo(40);
+        assertThat(chaosFaultInjector.getLatencyDistribution()).isEqualTo(LatencyDistribution.PARETO);
+        assertThat(changes("chaos", "APPLIED")).isEqualTo(1);
+    }
+
+    @Test
+    void invalidValueShouldRejectTheWholeChange() throws Exception {
+        mockMvc.perform(post("/actuator/tuning/chaos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"settings\": \"enabled=true,http500Probability=2\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/actuator/tuning/bulkhead")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"settings\": \"maxConcurrentCalls=5,queueSize=1\"}"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(chaosFaultInjector.isEnabled()).isFalse();
+        assertThat(chaosFaultInjector.isActive()).isFalse();
+        assertThat(bulkheadRegistry.bulkhead("order-service").getBulkheadConfig().getMaxConcurrentCalls())
+                .isEqualTo(2);
+        assertThat(changes("chaos", "REJECTED")).isEqualTo(1);
+        assertThat(changes("bulkhead", "REJECTED")).isEqualTo(1);
+    }
+
+    @Test
+    void retryChangeShouldSwapTheRegistryInstance() throws Exception {
+        mockMvc.perform(post("/actuator/tuning/retry")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"settings\": \"maxAttempts=2, waitDuration=10ms, "
+                                + "exponentialBackoffMultiplier=2, exponentialMaxWaitDuration=50ms\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maxAttempts").value(2))
+                .andExpect(jsonPath("$.waitDuration").value("PT0.01S"))
+                .andExpect(jsonPath("$.exponentialBackoffMultiplier").value(2.0))
+                .andExpect(jsonPath("$.exponentialMaxWaitDuration").value("PT0.05S"));
+
+        assertThat(retryRegistry.retry("order-service").getRetryConfig().getMaxAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void circuitBreakerChangeShouldKeepTheOpenState() throws Exception {
+        circuitBreakerRegistry.circuitBreaker("order-service").transitionToOpenState();
+
+        mockMvc.perform(post("/actuator/tuning/circuitbreaker")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"settings\": \"failureRateThreshold=80, waitDurationInOpenState=2s\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("OPEN"))
+                .andExpect(jsonPath("$.waitDurationInOpenState").value("PT2S"));
+
+        CircuitBreaker replaced = circuitBreakerRegistry.circuitBreaker("order-service");
+        assertThat(replaced).isNotSameAs(circuitBreaker);
+        assertThat(replaced.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(replaced.getCircuitBreakerConfig().getFailureRateThreshold()).isEqualTo(80);
+    }
+
+    private double changes(String component, String result) {
+        return meterRegistry.get("order.tuning.change.total")
+                .tag("component", component)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}